@@ -0,0 +1,80 @@
+package com.idoit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.idoit.data.ObjectData;
+import com.idoit.data.TestDataGenerator;
+
+/**
+ * JMH benchmark of the test data for one object: a title and the five model fields, generated with the
+ * former shared {@link SecureRandom} and with {@link TestDataGenerator}, at increasing thread counts.
+ * <p>
+ * Run with {@code mvn -Pjmh compile exec:exec}; the main method prints the throughput per thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataGeneratorBenchmark {
+    private static final String ALPHA_NUMERIC_STRING = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final int[] THREADS = {1, 2, 4, 8};
+
+    // The former RandomUtils: one SecureRandom for all threads and a StringBuilder per value
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private String legacyString(int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHA_NUMERIC_STRING.charAt(secureRandom.nextInt(ALPHA_NUMERIC_STRING.length())));
+        }
+        return builder.toString();
+    }
+
+    @Benchmark
+    public ObjectData secureRandom() {
+        return new ObjectData("test_" + legacyString(5), null, null, legacyString(12), legacyString(8),
+                legacyString(15), legacyString(10), legacyString(20));
+    }
+
+    @Benchmark
+    public ObjectData generator() {
+        return TestDataGenerator.current().objectData(TestDataGenerator.uniqueTitle("test"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        List<String> lines = new ArrayList<>();
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(DataGeneratorBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            for (RunResult result : new Runner(options).run()) {
+                String benchmark = result.getParams().getBenchmark();
+                lines.add(String.format("%-14s threads=%d  %,12.0f objects/ms", benchmark.substring(benchmark.lastIndexOf('.') + 1),
+                        threads, result.getPrimaryResult().getScore()));
+            }
+        }
+        System.out.println();
+        lines.forEach(System.out::println);
+    }
+}
@@ -0,0 +1,256 @@
+package com.idoit.api;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.idoit.config.Config;
+import com.idoit.config.RunOptions;
+import com.idoit.data.ObjectData;
+import com.idoit.metrics.StepMetrics;
+
+/**
+ * Small client for the i-doit JSON-RPC API, used to create objects without the browser.
+ * <p>
+ * Objects are created in JSON-RPC batches of {@link RunOptions#API_BATCH_SIZE} calls: first one
+ * {@code cmdb.object.create} per object, then one {@code cmdb.category.save} per object for the model
+ * category with the values the new object form would get. Authentication uses the API key and, if the
+ * API requires a user login, the credentials of {@link Config}.
+ */
+public class IdoitApiClient {
+    private static final Logger logger = LoggerFactory.getLogger(IdoitApiClient.class);
+    private static final Json JSON = new Json();
+
+    public static final String CLIENT_TYPE = "C__OBJTYPE__CLIENT";
+    public static final String MODEL_CATEGORY = "C__CATG__MODEL";
+
+    private final URI endpoint;
+    private final String apiKey;
+    private final String username;
+    private final String password;
+    private final int batchSize;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    /**
+     * Entry of a dialog field, such as a manufacturer or a model.
+     */
+    public static class DialogEntry {
+        private final String id;
+        private final String title;
+        private final String parentId;
+
+        private DialogEntry(String id, String title, String parentId) {
+            this.id = id;
+            this.title = title;
+            this.parentId = parentId;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        /**
+         * ID of the entry this one depends on, e.g. the manufacturer of a model.
+         *
+         * @return The parent ID, or null if the entry has no parent
+         */
+        public String getParentId() {
+            return parentId;
+        }
+    }
+
+    /**
+     * Constructor for the IdoitApiClient.
+     *
+     * @param endpoint URL of the JSON-RPC endpoint, e.g. http://idoit/src/jsonrpc.php
+     * @param apiKey API key of the i-doit installation
+     * @param username User to log in with, or null if the API does not require a login
+     * @param password Password of the user
+     * @param batchSize Number of calls sent in one request
+     */
+    public IdoitApiClient(URI endpoint, String apiKey, String username, String password, int batchSize) {
+        this.endpoint = endpoint;
+        this.apiKey = apiKey;
+        this.username = username;
+        this.password = password;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Create a client with the endpoint, API key and batch size of the run options.
+     *
+     * @return The client
+     */
+    public static IdoitApiClient fromOptions() {
+        return new IdoitApiClient(URI.create(RunOptions.apiUrl()), RunOptions.API_KEY, Config.USERNAME, Config.PASSWORD,
+                RunOptions.API_BATCH_SIZE);
+    }
+
+    /**
+     * Create Client objects and save their model category.
+     *
+     * @param objects Values of the objects; manufacturer and model must be set
+     * @return IDs of the created objects, in the order of the given values
+     */
+    public List<Integer> createClients(List<ObjectData> objects) {
+        List<Integer> ids = new ArrayList<>(objects.size());
+        for (int from = 0; from < objects.size(); from += batchSize) {
+            List<ObjectData> chunk = objects.subList(from, Math.min(from + batchSize, objects.size()));
+            List<Map<String, Object>> creates = new ArrayList<>();
+            for (ObjectData data : chunk) {
+                Map<String, Object> params = new LinkedHashMap<>();
+                params.put("type", CLIENT_TYPE);
+                params.put("title", data.getTitle());
+                creates.add(params);
+            }
+            List<Object> created = StepMetrics.global().time("IdoitApiClient.createObjects",
+                    () -> callBatch("cmdb.object.create", creates));
+
+            List<Map<String, Object>> saves = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                int id = Integer.parseInt(String.valueOf(((Map<?, ?>) created.get(i)).get("id")));
+                ids.add(id);
+                Map<String, Object> params = new LinkedHashMap<>();
+                params.put("object", id);
+                params.put("category", MODEL_CATEGORY);
+                params.put("data", modelData(chunk.get(i)));
+                saves.add(params);
+            }
+            StepMetrics.global().time("IdoitApiClient.saveModels", () -> callBatch("cmdb.category.save", saves));
+            logger.info("Created {} objects through the API, {} in total.", chunk.size(), ids.size());
+        }
+        return ids;
+    }
+
+    /**
+     * Read the entries of a dialog field.
+     *
+     * @param category Constant of the category, e.g. {@link #MODEL_CATEGORY}
+     * @param property Property of the field, e.g. manufacturer or title
+     * @return The entries of the field
+     */
+    public List<DialogEntry> readDialog(String category, String property) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("category", category);
+        params.put("property", property);
+        Object result = StepMetrics.global().time("IdoitApiClient.readDialog",
+                () -> callBatch("cmdb.dialog.read", List.of(params)).get(0));
+
+        List<DialogEntry> entries = new ArrayList<>();
+        for (Object item : (List<?>) result) {
+            Map<?, ?> entry = (Map<?, ?>) item;
+            Object parent = entry.get("parent");
+            String parentId = parent instanceof Map ? String.valueOf(((Map<?, ?>) parent).get("id")) : null;
+            entries.add(new DialogEntry(String.valueOf(entry.get("id")), String.valueOf(entry.get("title")), parentId));
+        }
+        return entries;
+    }
+
+    private static Map<String, Object> modelData(ObjectData data) {
+        // Property names of the model category, matching the fields of the new object form
+        Map<String, Object> values = new LinkedHashMap<>();
+        putIfPresent(values, "manufacturer", data.getManufacturer());
+        putIfPresent(values, "title", data.getModel());
+        putIfPresent(values, "productid", data.getProductId());
+        putIfPresent(values, "service_tag", data.getServiceTag());
+        putIfPresent(values, "serial", data.getSerial());
+        putIfPresent(values, "firmware", data.getFirmware());
+        putIfPresent(values, "description", data.getComment());
+        return values;
+    }
+
+    private static void putIfPresent(Map<String, Object> values, String key, String value) {
+        if (value != null) {
+            values.put(key, value);
+        }
+    }
+
+    /**
+     * Call a method once per parameter set in a single batch request.
+     *
+     * @return The results, in the order of the parameter sets
+     */
+    private List<Object> callBatch(String method, List<Map<String, Object>> paramSets) {
+        List<Map<String, Object>> requests = new ArrayList<>();
+        for (int i = 0; i < paramSets.size(); i++) {
+            Map<String, Object> params = new LinkedHashMap<>(paramSets.get(i));
+            params.put("apikey", apiKey);
+            params.put("language", "en");
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("jsonrpc", "2.0");
+            request.put("method", method);
+            request.put("params", params);
+            request.put("id", i + 1);
+            requests.add(request);
+        }
+
+        Object response = post(JSON.toJson(requests));
+        if (response instanceof Map) {
+            // A single response to a batch is an error of the whole request
+            throw new RuntimeException("JSON-RPC batch " + method + " failed: " + errorText((Map<?, ?>) response));
+        }
+        Map<Integer, Object> results = new HashMap<>();
+        for (Object item : (List<?>) response) {
+            Map<?, ?> entry = (Map<?, ?>) item;
+            if (entry.get("error") != null) {
+                throw new RuntimeException("JSON-RPC call " + method + " failed: " + errorText(entry));
+            }
+            results.put(((Number) entry.get("id")).intValue(), entry.get("result"));
+        }
+        List<Object> ordered = new ArrayList<>(paramSets.size());
+        for (int i = 0; i < paramSets.size(); i++) {
+            if (!results.containsKey(i + 1)) {
+                throw new RuntimeException("JSON-RPC call " + method + " returned no result for call " + (i + 1));
+            }
+            ordered.add(results.get(i + 1));
+        }
+        return ordered;
+    }
+
+    private Object post(String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(endpoint)
+                .timeout(Duration.ofSeconds(Config.LONG_TIMEOUT))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (username != null) {
+            request.header("X-RPC-Auth-Username", username).header("X-RPC-Auth-Password", password);
+        }
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new RuntimeException("JSON-RPC endpoint " + endpoint + " returned HTTP " + response.statusCode());
+            }
+            return JSON.toType(response.body(), Object.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not reach JSON-RPC endpoint " + endpoint, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while calling the JSON-RPC API", e);
+        }
+    }
+
+    private static String errorText(Map<?, ?> response) {
+        Object error = response.get("error");
+        if (error instanceof Map) {
+            Map<?, ?> details = (Map<?, ?>) error;
+            return details.get("message") + " (" + details.get("code") + ")";
+        }
+        return String.valueOf(error);
+    }
+}
@@ -0,0 +1,79 @@
+package com.idoit.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.idoit.data.ObjectData;
+import com.idoit.data.TestDataGenerator;
+
+/**
+ * The manufacturers and models known to i-doit, read once through the API.
+ * <p>
+ * Completes object data the way the new object form does: a missing manufacturer is picked at random,
+ * then a missing model at random among the models of that manufacturer.
+ */
+public class ModelCatalog {
+    private final List<IdoitApiClient.DialogEntry> manufacturers;
+    private final Map<String, List<IdoitApiClient.DialogEntry>> modelsByManufacturer = new HashMap<>();
+
+    /**
+     * Constructor for the ModelCatalog.
+     *
+     * @param manufacturers Entries of the manufacturer field
+     * @param models Entries of the model field, with their manufacturer as parent
+     */
+    public ModelCatalog(List<IdoitApiClient.DialogEntry> manufacturers, List<IdoitApiClient.DialogEntry> models) {
+        this.manufacturers = new ArrayList<>(manufacturers);
+        for (IdoitApiClient.DialogEntry model : models) {
+            modelsByManufacturer.computeIfAbsent(model.getParentId(), k -> new ArrayList<>()).add(model);
+        }
+    }
+
+    /**
+     * Read the catalog through the API.
+     *
+     * @param client API client
+     * @return The catalog
+     */
+    public static ModelCatalog read(IdoitApiClient client) {
+        return new ModelCatalog(client.readDialog(IdoitApiClient.MODEL_CATEGORY, "manufacturer"),
+                client.readDialog(IdoitApiClient.MODEL_CATEGORY, "title"));
+    }
+
+    /**
+     * Fill in a random manufacturer and model where the data has none.
+     *
+     * @param data Object data
+     * @param random Generator of the calling thread
+     * @return Object data with manufacturer and model; the model stays null if the manufacturer has none
+     */
+    public ObjectData complete(ObjectData data, TestDataGenerator random) {
+        if (data.getManufacturer() != null && data.getModel() != null) {
+            return data;
+        }
+        String manufacturer = data.getManufacturer();
+        String manufacturerId = null;
+        if (manufacturer == null && !manufacturers.isEmpty()) {
+            IdoitApiClient.DialogEntry picked = manufacturers.get(random.nextInt(manufacturers.size()));
+            manufacturer = picked.getTitle();
+            manufacturerId = picked.getId();
+        } else {
+            for (IdoitApiClient.DialogEntry entry : manufacturers) {
+                if (entry.getTitle().equals(manufacturer)) {
+                    manufacturerId = entry.getId();
+                }
+            }
+        }
+
+        String model = data.getModel();
+        List<IdoitApiClient.DialogEntry> models = modelsByManufacturer.getOrDefault(manufacturerId, Collections.emptyList());
+        if (model == null && !models.isEmpty()) {
+            model = models.get(random.nextInt(models.size())).getTitle();
+        }
+        return new ObjectData(data.getTitle(), manufacturer, model, data.getProductId(), data.getServiceTag(),
+                data.getSerial(), data.getFirmware(), data.getComment());
+    }
+}
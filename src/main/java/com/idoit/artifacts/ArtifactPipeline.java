@@ -0,0 +1,288 @@
+package com.idoit.artifacts;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import com.idoit.config.RunOptions;
+
+/**
+ * Captures screenshots and page sources without holding up the workers.
+ * <p>
+ * Only the capture itself runs on the calling thread, because a driver must not be used by two threads.
+ * Decoding, downscaling, compressing and writing happen on a small background executor. Files are written
+ * to a temporary name and moved into place, so a crash never leaves half-written artifacts. After every few
+ * writes, and on {@link #close()}, files beyond the configured count or age are deleted.
+ * <p>
+ * If the background queue is full, new artifacts are dropped with a warning rather than blocking a worker.
+ */
+public class ArtifactPipeline implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactPipeline.class);
+    // Names given by fileName(), with the temporary suffix of write(); the only files the retention deletes
+    private static final Pattern ARTIFACT_NAME = Pattern.compile("[\\w.-]+_\\d+_\\d+\\.(png|jpg|html\\.gz)(\\.tmp)?");
+    private static final int QUEUE_CAPACITY = 64;
+    private static final int RETENTION_INTERVAL = 20;
+
+    /**
+     * When artifacts are captured.
+     */
+    public enum Capture {
+        /** After every workflow, successful or not. */
+        ALWAYS,
+        /** Only when a workflow failed. */
+        ON_FAILURE,
+        /** Never. */
+        NEVER
+    }
+
+    private final Path directory;
+    private final Capture capture;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    /**
+     * Constructor for the ArtifactPipeline with the settings of the run options.
+     */
+    public ArtifactPipeline() {
+        this(Paths.get(RunOptions.ARTIFACT_DIR), Capture.valueOf(RunOptions.ARTIFACT_CAPTURE));
+    }
+
+    /**
+     * Constructor for the ArtifactPipeline.
+     *
+     * @param directory Directory the artifacts are written to
+     * @param capture When artifacts are captured
+     */
+    public ArtifactPipeline(Path directory, Capture capture) {
+        this.directory = directory;
+        this.capture = capture;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(RunOptions.ARTIFACT_THREADS, RunOptions.ARTIFACT_THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+                    Thread thread = new Thread(r, "artifact-writer-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, (r, e) -> logger.warn("Artifact queue is full, dropping an artifact."));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Capture artifacts of a workflow that completed, if artifacts are captured for every workflow.
+     *
+     * @param driver Driver showing the final state
+     * @param name Name of the workflow, used in the file names
+     */
+    public void onSuccess(WebDriver driver, String name) {
+        if (capture == Capture.ALWAYS) {
+            captureScreenshot(driver, name);
+        }
+    }
+
+    /**
+     * Capture the screenshot and page source of a failed workflow, unless capturing is switched off.
+     *
+     * @param driver Driver showing the state at the failure
+     * @param name Name of the workflow, used in the file names
+     */
+    public void onFailure(WebDriver driver, String name) {
+        if (capture != Capture.NEVER) {
+            captureScreenshot(driver, name + "_failed");
+            capturePageSource(driver, name + "_failed");
+        }
+    }
+
+    /**
+     * Take a screenshot and hand it to the background writer.
+     *
+     * @param driver Driver to capture
+     * @param name Base name of the file
+     */
+    public void captureScreenshot(WebDriver driver, String name) {
+        byte[] png;
+        try {
+            png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (RuntimeException e) {
+            logger.warn("Could not take screenshot {}: {}", name, e.getMessage());
+            return;
+        }
+        String fileName = fileName(name, "jpg".equals(RunOptions.SCREENSHOT_FORMAT) ? "jpg" : "png");
+        executor.execute(() -> write(fileName, out -> encodeScreenshot(png, out)));
+    }
+
+    /**
+     * Read the page source and hand it to the background writer, which stores it gzip-compressed.
+     *
+     * @param driver Driver to capture
+     * @param name Base name of the file
+     */
+    public void capturePageSource(WebDriver driver, String name) {
+        String source;
+        try {
+            source = driver.getPageSource();
+        } catch (RuntimeException e) {
+            logger.warn("Could not read page source {}: {}", name, e.getMessage());
+            return;
+        }
+        String fileName = fileName(name, "html.gz");
+        executor.execute(() -> write(fileName, out -> {
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8)) {
+                writer.write(source);
+            }
+        }));
+    }
+
+    private interface Encoder {
+        void encode(OutputStream out) throws IOException;
+    }
+
+    private void write(String fileName, Encoder encoder) {
+        Path target = directory.resolve(fileName);
+        Path temp = directory.resolve(fileName + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                encoder.encode(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Artifact saved: {}", target);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not write artifact {}: {}", target, e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Left to a later retention pass, which also matches temporary files
+            }
+        }
+        if (written.incrementAndGet() % RETENTION_INTERVAL == 0) {
+            applyRetention();
+        }
+    }
+
+    private static void encodeScreenshot(byte[] png, OutputStream out) throws IOException {
+        double scale = RunOptions.SCREENSHOT_SCALE;
+        boolean jpeg = "jpg".equals(RunOptions.SCREENSHOT_FORMAT);
+        if (scale >= 1.0 && !jpeg) {
+            // Nothing to re-encode, keep the PNG from the browser
+            out.write(png);
+            return;
+        }
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("the screenshot is not a readable image");
+        }
+        int width = Math.max(1, (int) (image.getWidth() * Math.min(scale, 1.0)));
+        int height = Math.max(1, (int) (image.getHeight() * Math.min(scale, 1.0)));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(jpeg ? "jpeg" : "png").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        if (param.canWriteCompressed()) {
+            // For PNG the lowest quality means the strongest, still lossless, deflate level
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpeg ? RunOptions.SCREENSHOT_QUALITY : 0f);
+        }
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(scaled, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Delete artifacts older than the maximum age, then the oldest ones beyond the maximum count. Other files
+     * in the directory are left alone.
+     */
+    public void applyRetention() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Instant oldest = Instant.now().minus(Duration.ofHours(RunOptions.ARTIFACT_MAX_AGE_HOURS));
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> artifacts = files.filter(Files::isRegularFile)
+                    .filter(file -> ARTIFACT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing(ArtifactPipeline::lastModified).reversed())
+                    .collect(Collectors.toList());
+            for (int i = 0; i < artifacts.size(); i++) {
+                Path file = artifacts.get(i);
+                if (i >= RunOptions.ARTIFACT_MAX_FILES || lastModified(file).toInstant().isBefore(oldest)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not apply artifact retention in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private String fileName(String name, String extension) {
+        return name.replaceAll("[^\\w.-]", "_") + "_" + System.currentTimeMillis() + "_"
+                + sequence.incrementAndGet() + "." + extension;
+    }
+
+    /**
+     * Wait for the pending artifacts to be written and apply the retention policy.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.warn("Artifact writer did not finish within a minute, {} artifacts lost.", executor.getQueue().size());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        applyRetention();
+    }
+}
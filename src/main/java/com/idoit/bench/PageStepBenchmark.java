@@ -0,0 +1,160 @@
+package com.idoit.bench;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.idoit.config.RunOptions;
+import com.idoit.data.ObjectData;
+import com.idoit.data.TestDataGenerator;
+import com.idoit.driver.DriverFactory;
+import com.idoit.driver.DriverProfile;
+import com.idoit.navigation.FormPrewarmer;
+import com.idoit.navigation.NavigationMode;
+import com.idoit.navigation.NewObjectNavigator;
+import com.idoit.pages.ClientPage;
+import com.idoit.pages.DashboardPage;
+import com.idoit.pages.HardwarePage;
+import com.idoit.pages.LoginPage;
+import com.idoit.pages.NewObjectPage;
+import com.idoit.runner.StepStats;
+
+/**
+ * Repeatable timing benchmark of every page-object step, run under headless Chrome against the
+ * {@link StandInServer}. Each step is prepared untimed, then measured after a number of warm-up rounds.
+ * <p>
+ * Usage: {@code PageStepBenchmark [iterations] [warmup] [responseDelayMillis]}
+ * <p>
+ * Run once more with {@code -Didoit.compiledLocators=false -Didoit.elementCache=false} to compare against
+ * plain XPath lookups without cached element handles.
+ */
+public class PageStepBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(PageStepBenchmark.class);
+    private static final Path REPORT = Paths.get("target", "bench", "page-steps.csv");
+
+    private final WebDriver driver;
+    private final int iterations;
+    private final int warmup;
+    private final Map<String, long[]> results = new LinkedHashMap<>();
+
+    /**
+     * Constructor for the PageStepBenchmark.
+     *
+     * @param driver Driver pointed at the stand-in server through the idoit.url property
+     * @param iterations Number of measured iterations per step
+     * @param warmup Number of unmeasured iterations per step
+     */
+    public PageStepBenchmark(WebDriver driver, int iterations, int warmup) {
+        this.driver = driver;
+        this.iterations = iterations;
+        this.warmup = warmup;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long delay = args.length > 2 ? Long.parseLong(args[2]) : 0;
+
+        try (StandInServer server = new StandInServer(0, delay)) {
+            System.setProperty("idoit.url", server.getBaseUrl());
+            WebDriver driver = new DriverFactory(
+                    DriverProfile.fromOption(RunOptions.DRIVER_PROFILE, DriverProfile.HEADLESS)).create();
+            try {
+                PageStepBenchmark benchmark = new PageStepBenchmark(driver, iterations, warmup);
+                benchmark.runAll();
+                benchmark.report();
+            } finally {
+                driver.quit();
+            }
+        }
+    }
+
+    /**
+     * Measure every step of the object creation flow.
+     */
+    public void runAll() {
+        measure("login",
+                d -> d.manage().deleteAllCookies(),
+                d -> new LoginPage(d).navigateTo().loginWithDefaultCredentials());
+        measure("navigateToHardware",
+                d -> new DashboardPage(d).navigateTo(),
+                d -> new DashboardPage(d).navigateToHardware());
+        measure("navigateToClientSection",
+                d -> new DashboardPage(d).navigateTo().navigateToHardware(),
+                d -> new HardwarePage(d).navigateToClientSection());
+        measure("clickNewObject",
+                d -> new DashboardPage(d).navigateTo().navigateToHardware().navigateToClientSection(),
+                d -> new ClientPage(d).clickNewObject().waitUntilLoaded());
+        measure("createNewObject",
+                d -> new DashboardPage(d).navigateTo().navigateToHardware().navigateToClientSection()
+                        .clickNewObject().waitUntilLoaded(),
+                d -> new NewObjectPage(d).createNewObject(TestDataGenerator.uniqueTitle("bench")));
+        measure("fullFlow",
+                d -> new DashboardPage(d).navigateTo(),
+                d -> new DashboardPage(d).navigateToHardware().navigateToClientSection().clickNewObject()
+                        .waitUntilLoaded().createNewObject(TestDataGenerator.uniqueTitle("bench")));
+        FormPrewarmer prewarmer = FormPrewarmer.forDriver(driver, new NewObjectNavigator(NavigationMode.DIRECT, new StepStats()));
+        measure("prewarmedLoop",
+                d -> { },
+                d -> prewarmer.openNextForm(d).createNewObject(
+                        ObjectData.random(TestDataGenerator.uniqueTitle("bench")), () -> prewarmer.prewarm(d)));
+    }
+
+    private void measure(String step, Consumer<WebDriver> setup, Function<WebDriver, ?> action) {
+        long[] samples = new long[iterations];
+        for (int i = -warmup; i < iterations; i++) {
+            setup.accept(driver);
+            long start = System.nanoTime();
+            action.apply(driver);
+            long elapsed = System.nanoTime() - start;
+            if (i >= 0) {
+                samples[i] = elapsed;
+            }
+        }
+        Arrays.sort(samples);
+        results.put(step, samples);
+        logger.info("{}: p50={} ms, p95={} ms, p99={} ms", step,
+                millis(percentile(samples, 50)), millis(percentile(samples, 95)), millis(percentile(samples, 99)));
+    }
+
+    /**
+     * Log the results and write them as CSV to target/bench/page-steps.csv.
+     *
+     * @throws IOException if the report cannot be written
+     */
+    public void report() throws IOException {
+        Files.createDirectories(REPORT.getParent());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(REPORT, StandardCharsets.UTF_8))) {
+            out.println("step,iterations,min_ms,p50_ms,p95_ms,p99_ms,max_ms,mean_ms");
+            for (Map.Entry<String, long[]> entry : results.entrySet()) {
+                long[] samples = entry.getValue();
+                double mean = Arrays.stream(samples).average().orElse(0);
+                out.printf("%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f%n", entry.getKey(), samples.length,
+                        millis(samples[0]), millis(percentile(samples, 50)), millis(percentile(samples, 95)),
+                        millis(percentile(samples, 99)), millis(samples[samples.length - 1]), millis((long) mean));
+            }
+        }
+        logger.info("Benchmark report written to {}", REPORT);
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
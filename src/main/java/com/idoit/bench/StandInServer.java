@@ -0,0 +1,369 @@
+package com.idoit.bench;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.idoit.wait.WaitTimings;
+
+/**
+ * Embedded HTTP server that stands in for i-doit. It serves static copies of the login, dashboard,
+ * hardware tree, Client list and new object pages with the element IDs the page objects target,
+ * plus the few AJAX endpoints those pages call. The list shows all saved objects, whatever their type,
+ * in pages of 50.
+ * <p>
+ * It also answers the JSON-RPC methods {@code cmdb.object.create}, {@code cmdb.category.save} (model
+ * category only) and {@code cmdb.dialog.read} on {@code /src/jsonrpc.php}, single or batched. Objects
+ * created there are stored like those saved through the form and shown on their object page.
+ * <p>
+ * Usage: {@code StandInServer [port] [responseDelayMillis]}
+ */
+public final class StandInServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(StandInServer.class);
+    private static final Json JSON = new Json();
+    private static final String SESSION_COOKIE = "PHPSESSID";
+    private static final int MANUFACTURERS = 300;
+    private static final int MODELS_PER_MANUFACTURER = 200;
+    // The API lists fewer models than the form offers, as a dialog read returns the models of all manufacturers at once
+    private static final int API_MODELS_PER_MANUFACTURER = 10;
+    private static final String API_PATH = "/src/jsonrpc.php";
+    // Properties of the model category and the form fields they are shown in
+    private static final Map<String, String> MODEL_FIELDS = Map.of(
+            "manufacturer", "C__CATG__MODEL_MANUFACTURER",
+            "title", "C__CATG__MODEL_TITLE_ID",
+            "productid", "C__CATG__MODEL_PRODUCTID",
+            "service_tag", "C__CATG__MODEL_SERVICE_TAG",
+            "serial", "C__CATG__MODEL_SERIAL",
+            "firmware", "C__CATG__MODEL_FIRMWARE",
+            "description", "C__CMDB__CAT__COMMENTARY_02");
+    private static final int LIST_PAGE_SIZE = 50;
+    // Columns of the object list and the form fields they show
+    private static final String[][] LIST_COLUMNS = {
+            {"Title", "C__CATG__GLOBAL_TITLE"},
+            {"Manufacturer", "C__CATG__MODEL_MANUFACTURER"},
+            {"Model", "C__CATG__MODEL_TITLE_ID"},
+            {"Serial number", "C__CATG__MODEL_SERIAL"}};
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final long responseDelayMillis;
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, Map<String, String>> objects = new ConcurrentHashMap<>();
+    private final AtomicInteger nextObjectId = new AtomicInteger(1000);
+
+    /**
+     * Start the stand-in server.
+     *
+     * @param port Port to listen on, 0 for any free port
+     * @param responseDelayMillis Delay added to every response to imitate server processing time
+     * @throws IOException if the server cannot be started
+     */
+    public StandInServer(int port, long responseDelayMillis) throws IOException {
+        this.responseDelayMillis = responseDelayMillis;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+        // Every stand-in gets another port; its learned wait timings are kept under one key nonetheless
+        WaitTimings.registerStandIn(getBaseUrl());
+        logger.info("i-doit stand-in listening on {}", getBaseUrl());
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        long delay = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        new StandInServer(port, delay);
+    }
+
+    /**
+     * Base URL to use instead of the i-doit URL.
+     *
+     * @return The URL of the server root
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Objects saved through the new object form or the JSON-RPC API so far.
+     *
+     * @return Field values by element ID, keyed by object ID
+     */
+    public Map<Integer, Map<String, String>> getSavedObjects() {
+        return Collections.unmodifiableMap(objects);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (responseDelayMillis > 0) {
+                Thread.sleep(responseDelayMillis);
+            }
+            route(exchange);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            send(exchange, 503, "text/plain", "Interrupted");
+        } catch (RuntimeException e) {
+            logger.error("Stand-in failed to handle {}: {}", exchange.getRequestURI(), e.getMessage());
+            send(exchange, 500, "text/plain", String.valueOf(e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> query = parseForm(exchange.getRequestURI().getRawQuery());
+
+        if (path.equals("/standin.js")) {
+            sendResource(exchange, "standin.js", "application/javascript");
+        } else if (path.equals("/login") && "POST".equals(exchange.getRequestMethod())) {
+            String session = UUID.randomUUID().toString();
+            sessions.add(session);
+            exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + session + "; Path=/");
+            exchange.getResponseHeaders().add("Location", "/");
+            send(exchange, 302, "text/plain", "");
+        } else if (path.equals(API_PATH) && "POST".equals(exchange.getRequestMethod())) {
+            Object calls = JSON.toType(readBody(exchange), Object.class);
+            Object responses;
+            if (calls instanceof List) {
+                List<Object> batch = new ArrayList<>();
+                for (Object call : (List<?>) calls) {
+                    batch.add(rpc((Map<?, ?>) call));
+                }
+                responses = batch;
+            } else {
+                responses = rpc((Map<?, ?>) calls);
+            }
+            send(exchange, 200, "application/json", JSON.toJson(responses));
+        } else if (!isLoggedIn(exchange)) {
+            sendResource(exchange, "login.html", "text/html");
+        } else if (path.equals("/tree")) {
+            List<Map<String, Object>> nodes = new ArrayList<>();
+            nodes.add(node(10, "Client"));
+            nodes.add(node(5, "Server"));
+            nodes.add(node(9, "Monitor"));
+            nodes.add(node(6, "Switch"));
+            send(exchange, 200, "application/json", JSON.toJson(nodes));
+        } else if (path.equals("/manufacturers")) {
+            send(exchange, 200, "application/json", JSON.toJson(titles("Manufacturer", MANUFACTURERS)));
+        } else if (path.equals("/models")) {
+            String prefix = "Model " + query.getOrDefault("manufacturer", "0");
+            send(exchange, 200, "application/json", JSON.toJson(titles(prefix, MODELS_PER_MANUFACTURER)));
+        } else if (path.equals("/save") && "POST".equals(exchange.getRequestMethod())) {
+            Map<String, String> fields = parseForm(readBody(exchange));
+            String objectId = fields.remove("objID");
+            int id = objectId == null ? nextObjectId.incrementAndGet() : Integer.parseInt(objectId);
+            objects.merge(id, fields, (saved, update) -> {
+                saved.putAll(update);
+                return saved;
+            });
+            send(exchange, 200, "application/json", JSON.toJson(Collections.singletonMap("id", id)));
+        } else if (path.equals("/objectData")) {
+            Map<String, String> fields = objects.get(Integer.parseInt(query.getOrDefault("objID", "0")));
+            send(exchange, 200, "application/json", JSON.toJson(fields == null ? Collections.emptyMap() : fields));
+        } else if (path.equals("/objectList")) {
+            send(exchange, 200, "application/json", JSON.toJson(listPage(Integer.parseInt(query.getOrDefault("page", "0")))));
+        } else if (path.equals("/hardware")) {
+            sendResource(exchange, "hardware.html", "text/html");
+        } else if (query.containsKey("objID")) {
+            sendResource(exchange, "object.html", "text/html");
+        } else if ("1".equals(query.get("navMode"))) {
+            sendResource(exchange, "form.html", "text/html");
+        } else if (query.containsKey("objTypeID")) {
+            sendResource(exchange, "list.html", "text/html");
+        } else if (path.equals("/")) {
+            sendResource(exchange, "dashboard.html", "text/html");
+        } else {
+            send(exchange, 404, "text/plain", "Not found");
+        }
+    }
+
+    private Map<String, Object> rpc(Map<?, ?> call) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("jsonrpc", "2.0");
+        response.put("id", call.get("id"));
+        Map<?, ?> params = call.get("params") instanceof Map ? (Map<?, ?>) call.get("params") : Collections.emptyMap();
+        if (params.get("apikey") == null || String.valueOf(params.get("apikey")).isEmpty()) {
+            response.put("error", rpcError(-32099, "Missing API key"));
+            return response;
+        }
+
+        String method = String.valueOf(call.get("method"));
+        if (method.equals("cmdb.object.create")) {
+            int id = nextObjectId.incrementAndGet();
+            Map<String, String> fields = new ConcurrentHashMap<>();
+            fields.put("C__CATG__GLOBAL_TITLE", String.valueOf(params.get("title")));
+            objects.put(id, fields);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("id", String.valueOf(id));
+            result.put("message", "Object was successfully created");
+            result.put("success", true);
+            response.put("result", result);
+        } else if (method.equals("cmdb.category.save")) {
+            int id = Integer.parseInt(String.valueOf(params.get("object")));
+            Map<String, String> fields = objects.get(id);
+            if (fields == null || !"C__CATG__MODEL".equals(params.get("category"))) {
+                response.put("error", rpcError(-32602, "Unknown object or category"));
+                return response;
+            }
+            Map<?, ?> data = (Map<?, ?>) params.get("data");
+            data.forEach((property, value) -> {
+                String field = MODEL_FIELDS.get(String.valueOf(property));
+                if (field != null) {
+                    fields.put(field, String.valueOf(value));
+                }
+            });
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("success", true);
+            result.put("message", "Category entry successfully saved");
+            result.put("entry", id);
+            response.put("result", result);
+        } else if (method.equals("cmdb.dialog.read")) {
+            List<Map<String, Object>> entries = new ArrayList<>();
+            for (int m = 1; m <= MANUFACTURERS; m++) {
+                Map<String, Object> manufacturer = node(m, "Manufacturer-" + m);
+                if ("title".equals(params.get("property"))) {
+                    for (int i = 1; i <= API_MODELS_PER_MANUFACTURER; i++) {
+                        Map<String, Object> model = node(m * MODELS_PER_MANUFACTURER + i, "Model " + m + "-" + i);
+                        model.put("parent", manufacturer);
+                        entries.add(model);
+                    }
+                } else {
+                    entries.add(manufacturer);
+                }
+            }
+            response.put("result", entries);
+        } else {
+            response.put("error", rpcError(-32601, "Method not found: " + method));
+        }
+        return response;
+    }
+
+    private Map<String, Object> listPage(int page) {
+        List<Integer> ids = new ArrayList<>(objects.keySet());
+        Collections.sort(ids);
+        List<List<String>> rows = new ArrayList<>();
+        int end = Math.min(ids.size(), (page + 1) * LIST_PAGE_SIZE);
+        for (int i = page * LIST_PAGE_SIZE; i < end; i++) {
+            Map<String, String> fields = objects.get(ids.get(i));
+            List<String> row = new ArrayList<>();
+            for (String[] column : LIST_COLUMNS) {
+                row.add(fields.getOrDefault(column[1], ""));
+            }
+            rows.add(row);
+        }
+        List<String> headers = new ArrayList<>();
+        for (String[] column : LIST_COLUMNS) {
+            headers.add(column[0]);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("headers", headers);
+        result.put("rows", rows);
+        result.put("hasNext", end < ids.size());
+        return result;
+    }
+
+    private static Map<String, Object> rpcError(int code, String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("code", code);
+        error.put("message", message);
+        return error;
+    }
+
+    private boolean isLoggedIn(HttpExchange exchange) {
+        List<String> cookieHeaders = exchange.getRequestHeaders().get("Cookie");
+        if (cookieHeaders == null) {
+            return false;
+        }
+        for (String header : cookieHeaders) {
+            for (String cookie : header.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && pair[0].equals(SESSION_COOKIE) && sessions.contains(pair[1])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, Object> node(int id, String title) {
+        Map<String, Object> node = new LinkedHashMap<>();
+        node.put("id", id);
+        node.put("title", title);
+        return node;
+    }
+
+    private static List<String> titles(String prefix, int count) {
+        List<String> titles = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            titles.add(prefix + "-" + i);
+        }
+        return titles;
+    }
+
+    private static Map<String, String> parseForm(String encoded) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return values;
+        }
+        for (String pair : encoded.split("&")) {
+            String[] parts = pair.split("=", 2);
+            values.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                    parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+        }
+        return values;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void sendResource(HttpExchange exchange, String name, String contentType) throws IOException {
+        try (InputStream in = StandInServer.class.getResourceAsStream("/standin/" + name)) {
+            if (in == null) {
+                send(exchange, 404, "text/plain", "Missing stand-in resource " + name);
+                return;
+            }
+            send(exchange, 200, contentType, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.idoit.bench;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.idoit.config.RunOptions;
+import com.idoit.data.TestDataGenerator;
+import com.idoit.driver.DriverPool;
+import com.idoit.driver.DriverProfile;
+import com.idoit.pages.DashboardPage;
+import com.idoit.runner.LoggedInDrivers;
+import com.idoit.runner.StepStats;
+import com.idoit.runner.WorkflowOrchestrator;
+
+/**
+ * Compares virtual threads with a fixed pool of platform threads for the object creation workflow, at the
+ * same number of browsers, against the {@link StandInServer}.
+ * <p>
+ * For each threading the workflow (dashboard, Hardware, Client list, new object form, save) is run once
+ * per browser to warm up, then the given number of times. Reported are the throughput and the peak number
+ * of live platform threads of the JVM.
+ * <p>
+ * Usage: {@code ThreadingBenchmark [browsers] [objects] [responseDelayMillis]}
+ */
+public class ThreadingBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingBenchmark.class);
+    private static final Path REPORT = Paths.get("target", "bench", "threading.csv");
+
+    private final int browsers;
+    private final int objects;
+    private final List<String> rows = new ArrayList<>();
+
+    /**
+     * Constructor for the ThreadingBenchmark.
+     *
+     * @param browsers Number of browsers for both threadings
+     * @param objects Number of measured workflows per threading
+     */
+    public ThreadingBenchmark(int browsers, int objects) {
+        this.browsers = browsers;
+        this.objects = objects;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int browsers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int objects = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+        long delay = args.length > 2 ? Long.parseLong(args[2]) : 50;
+
+        try (StandInServer server = new StandInServer(0, delay)) {
+            System.setProperty("idoit.url", server.getBaseUrl());
+            ThreadingBenchmark benchmark = new ThreadingBenchmark(browsers, objects);
+            benchmark.measure(WorkflowOrchestrator.Threading.PLATFORM);
+            benchmark.measure(WorkflowOrchestrator.Threading.VIRTUAL);
+            benchmark.report();
+        }
+    }
+
+    /**
+     * Run the workflows with one threading and record the results.
+     *
+     * @param threading Threading to measure
+     * @throws InterruptedException if interrupted while the workflows run
+     */
+    public void measure(WorkflowOrchestrator.Threading threading) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        AtomicInteger failed = new AtomicInteger();
+        WorkflowOrchestrator.Workflow workflow = driver -> createObject(driver, failed);
+        DriverProfile profile = DriverProfile.fromOption(RunOptions.DRIVER_PROFILE, DriverProfile.HEADLESS);
+
+        try (DriverPool pool = new DriverPool(browsers, new LoggedInDrivers(profile, new StepStats()));
+             WorkflowOrchestrator orchestrator = new WorkflowOrchestrator(threading, pool, browsers,
+                     Duration.ofMillis(RunOptions.WORKFLOW_TIMEOUT_MILLIS))) {
+            // Starts and logs in every browser
+            orchestrator.runAll(browsers, workflow);
+            failed.set(0);
+
+            threads.resetPeakThreadCount();
+            long start = System.nanoTime();
+            orchestrator.runAll(objects, workflow);
+            long elapsed = System.nanoTime() - start;
+
+            double perMinute = objects / (elapsed / 60_000_000_000.0);
+            int peakThreads = threads.getPeakThreadCount();
+            logger.info("{}: {} objects ({} failed, {} timed out) in {} ms, {} objects/minute, peak {} platform threads",
+                    threading, objects, failed.get(), orchestrator.getTimedOut(), elapsed / 1_000_000,
+                    String.format("%.1f", perMinute), peakThreads);
+            rows.add(String.format("%s,%d,%d,%d,%d,%.1f,%d", threading, browsers, objects, failed.get(),
+                    elapsed / 1_000_000, perMinute, peakThreads));
+        }
+    }
+
+    private static boolean createObject(WebDriver driver, AtomicInteger failed) {
+        try {
+            new DashboardPage(driver).navigateTo().navigateToHardware().navigateToClientSection().clickNewObject()
+                    .waitUntilLoaded().createNewObject(TestDataGenerator.uniqueTitle("bench"));
+            return true;
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            logger.error("Workflow failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Write the results as CSV to target/bench/threading.csv.
+     *
+     * @throws IOException if the report cannot be written
+     */
+    public void report() throws IOException {
+        Files.createDirectories(REPORT.getParent());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(REPORT, StandardCharsets.UTF_8))) {
+            out.println("threading,browsers,objects,failed,elapsed_ms,objects_per_minute,peak_platform_threads");
+            rows.forEach(out::println);
+        }
+        logger.info("Benchmark report written to {}", REPORT);
+    }
+}
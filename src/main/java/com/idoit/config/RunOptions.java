@@ -0,0 +1,148 @@
+package com.idoit.config;
+
+/**
+ * Run options that can be switched per run with {@code -D} system properties.
+ */
+public class RunOptions {
+    /**
+     * Base URL of i-doit. Defaults to {@link Config#URL} and can be pointed at a stand-in server.
+     *
+     * @return The base URL to open
+     */
+    public static String baseUrl() {
+        return System.getProperty("idoit.url", Config.URL);
+    }
+
+    /** Keep the browser open for a moment at the end of a run to inspect the final state. */
+    public static final boolean DEBUG_PAUSE = Boolean.getBoolean("idoit.debugPause");
+    public static final long DEBUG_PAUSE_MILLIS = Long.getLong("idoit.debugPauseMillis", 10000);
+
+    /** Use the former fixed sleeps instead of readiness waits, to compare timings before and after. */
+    public static final boolean FIXED_WAITS = Boolean.getBoolean("idoit.fixedWaits");
+
+    /** Reuse the i-doit session cookies of an earlier login instead of typing credentials for every driver. */
+    public static final boolean SESSION_CACHE = Boolean.parseBoolean(System.getProperty("idoit.sessionCache", "true"));
+    public static final String SESSION_FILE = System.getProperty("idoit.sessionFile", ".idoit-session.json");
+    public static final long SESSION_TTL_MINUTES = Long.getLong("idoit.sessionTtlMinutes", 30);
+
+    /** DIRECT opens the cached "new object" URL, CLICK_THROUGH goes through the menus to verify them. */
+    public static final String NAVIGATION_MODE = System.getProperty("idoit.navigation", "DIRECT");
+    /** Path of the "new object" form relative to {@link Config#URL}; {objTypeID} is replaced with the resolved ID. */
+    public static final String NEW_OBJECT_URL_TEMPLATE =
+            System.getProperty("idoit.newObjectUrl", "?objTypeID={objTypeID}&viewMode=1001&navMode=1");
+
+    /** Load the next object's form in a second tab while the current object is saved; not with NETWORK save detection. */
+    public static final boolean PREWARM_FORMS = Boolean.getBoolean("idoit.prewarmForms");
+
+    /** SCRIPT fills the new object form with one script call, TYPING types key by key for fidelity tests. */
+    public static final String FILL_MODE = System.getProperty("idoit.fillMode", "SCRIPT");
+
+    /** How long dropdown option lists are cached before they are read from the page again. */
+    public static final long OPTION_CACHE_TTL_MILLIS = Long.getLong("idoit.optionCacheTtlMillis", 60000);
+    /** Look XPath locators up as IDs or CSS selectors where possible; false keeps them all XPath, for comparison. */
+    public static final boolean COMPILED_LOCATORS = Boolean.parseBoolean(System.getProperty("idoit.compiledLocators", "true"));
+    /** Reuse the elements a page found earlier while they are still attached instead of looking them up again. */
+    public static final boolean ELEMENT_CACHE = Boolean.parseBoolean(System.getProperty("idoit.elementCache", "true"));
+
+    /** File the page-object step metrics are written to at the end of a run. */
+    public static final String METRICS_FILE = System.getProperty("idoit.metricsFile", "target/metrics/step-metrics.json");
+    /** Port of the Prometheus-style metrics endpoint during a run, 0 to disable it. */
+    public static final int METRICS_PORT = Integer.getInteger("idoit.metricsPort", 0);
+
+    /** Browser profile (DESKTOP, HEADLESS or LEAN); every entry point has its own default. */
+    public static final String DRIVER_PROFILE = System.getProperty("idoit.driverProfile");
+    /** Page-load strategy (normal, eager or none) overriding the one of the driver profile. */
+    public static final String PAGE_LOAD_STRATEGY = System.getProperty("idoit.pageLoadStrategy");
+    /** File remembering the resolved chromedriver binary, and how long it is trusted before a new lookup. */
+    public static final String DRIVER_CACHE_FILE = System.getProperty("idoit.driverCacheFile", ".idoit-chromedriver");
+    public static final long DRIVER_CACHE_TTL_HOURS = Long.getLong("idoit.driverCacheTtlHours", 24);
+
+    /** Poll waits tightly at first and back off, with timeouts learned from earlier runs; false polls every 500 ms. */
+    public static final boolean ADAPTIVE_WAITS = Boolean.parseBoolean(System.getProperty("idoit.adaptiveWaits", "true"));
+    public static final long WAIT_INITIAL_POLL_MILLIS = Long.getLong("idoit.waitInitialPollMillis", 10);
+    public static final long WAIT_MAX_POLL_MILLIS = Long.getLong("idoit.waitMaxPollMillis", 250);
+    /** File the learned wait timings are loaded from and written back to. */
+    public static final String WAIT_TIMINGS_FILE = System.getProperty("idoit.waitTimingsFile", "target/metrics/wait-timings.json");
+
+    /** UI waits for the page after a save, NETWORK waits for the save request's response from the DevTools network events. */
+    public static final String SAVE_DETECTION = System.getProperty("idoit.saveDetection", "UI");
+    /** Regular expression matched against the URL of POST requests to recognise the save request. */
+    public static final String SAVE_REQUEST_PATTERN = System.getProperty("idoit.saveRequestPattern", ".*");
+
+    /** Attempts per workflow step, including the first, before a stale element, blocked click or timeout fails it. */
+    public static final int RETRY_ATTEMPTS = Integer.getInteger("idoit.retryAttempts", 3);
+    public static final long RETRY_BACKOFF_MILLIS = Long.getLong("idoit.retryBackoffMillis", 500);
+    /** Consecutive failed steps after which all workers pause, and for how long, while i-doit itself is failing. */
+    public static final int CIRCUIT_FAILURE_THRESHOLD = Integer.getInteger("idoit.circuitFailureThreshold", 5);
+    public static final long CIRCUIT_COOL_DOWN_MILLIS = Long.getLong("idoit.circuitCoolDownMillis", 30000);
+
+    /** When screenshots and page sources are captured: ALWAYS, ON_FAILURE or NEVER. */
+    public static final String ARTIFACT_CAPTURE = System.getProperty("idoit.artifacts", "ON_FAILURE");
+    public static final String ARTIFACT_DIR = System.getProperty("idoit.artifactDir", "target/artifacts");
+    public static final int ARTIFACT_THREADS = Integer.getInteger("idoit.artifactThreads", 2);
+    /** Screenshot format (png or jpg), scale factor and JPEG quality between 0 and 1. */
+    public static final String SCREENSHOT_FORMAT = System.getProperty("idoit.screenshotFormat", "jpg");
+    public static final double SCREENSHOT_SCALE = Double.parseDouble(System.getProperty("idoit.screenshotScale", "0.5"));
+    public static final float SCREENSHOT_QUALITY = Float.parseFloat(System.getProperty("idoit.screenshotQuality", "0.7"));
+    /** Artifacts beyond this count or age are deleted. */
+    public static final int ARTIFACT_MAX_FILES = Integer.getInteger("idoit.artifactMaxFiles", 200);
+    public static final long ARTIFACT_MAX_AGE_HOURS = Long.getLong("idoit.artifactMaxAgeHours", 72);
+
+    /** VIRTUAL runs every workflow on its own virtual thread, PLATFORM on a fixed pool of one thread per browser. */
+    public static final String THREADING = System.getProperty("idoit.threading", "VIRTUAL");
+    /** Time after which a workflow is cancelled and its browser discarded. */
+    public static final long WORKFLOW_TIMEOUT_MILLIS = Long.getLong("idoit.workflowTimeoutMillis", 180000);
+
+    /** Comma-separated Selenium Grid URLs; when set, drivers are remote sessions spread over their free slots. */
+    public static final String GRID_URLS = System.getProperty("idoit.gridUrls");
+
+    /** Workflow file describing the object types a mixed run creates; the bundled workflows.json when not set. */
+    public static final String WORKFLOW_FILE = System.getProperty("idoit.workflowFile");
+
+    /** Run journal of actions and steps: JSONL, BINARY or OFF, and the directory its files are written to. */
+    public static final String JOURNAL = System.getProperty("idoit.journal", "JSONL");
+    public static final String JOURNAL_DIR = System.getProperty("idoit.journalDir", "target/journal");
+    /** Lowest level the run journal records (DEBUG, INFO, WARN, ERROR), and the share of successful events kept. */
+    public static final String JOURNAL_LEVEL = System.getProperty("idoit.journalLevel", "INFO");
+    public static final double JOURNAL_SAMPLE_RATE = Double.parseDouble(System.getProperty("idoit.journalSampleRate", "1.0"));
+    /** Events the run journal buffers before it drops new ones. */
+    public static final int JOURNAL_BUFFER_SIZE = Integer.getInteger("idoit.journalBufferSize", 65536);
+
+    /** Seed of the generated test data; runs with the same seed generate the same values. */
+    public static final Long DATA_SEED = Long.getLong("idoit.seed");
+
+    /** Load test: concurrent users at steady state, how many start per second, and how long the steady state lasts. */
+    public static final int LOAD_USERS = Integer.getInteger("idoit.loadUsers", 10);
+    public static final double LOAD_USERS_PER_SECOND = Double.parseDouble(System.getProperty("idoit.loadUsersPerSecond", "0.5"));
+    public static final long LOAD_STEADY_SECONDS = Long.getLong("idoit.loadSteadySeconds", 120);
+    /** Load test: time over which the users stop again, and the mean think time between steps (jittered by +/-50 %). */
+    public static final long LOAD_RAMP_DOWN_SECONDS = Long.getLong("idoit.loadRampDownSeconds", 30);
+    public static final long LOAD_THINK_MILLIS = Long.getLong("idoit.loadThinkMillis", 3000);
+    /** Load test SLOs: server time per step in ms at the given percentile, and the highest acceptable error rate. */
+    public static final String LOAD_SLO = System.getProperty("idoit.loadSlo",
+            "login=2000,navigateToHardware=1500,navigateToClientSection=1500,clickNewObject=1500,createNewObject=3000");
+    public static final double LOAD_SLO_PERCENTILE = Double.parseDouble(System.getProperty("idoit.loadSloPercentile", "95"));
+    public static final double LOAD_MAX_ERROR_RATE = Double.parseDouble(System.getProperty("idoit.loadMaxErrorRate", "0.01"));
+    public static final String LOAD_REPORT_FILE = System.getProperty("idoit.loadReportFile", "target/load/summary.json");
+
+    /** API key of the i-doit JSON-RPC API, used by the hybrid mode to create objects without the browser. */
+    public static final String API_KEY = System.getProperty("idoit.apiKey", "");
+    /** Number of JSON-RPC calls sent in one batch request. */
+    public static final int API_BATCH_SIZE = Integer.getInteger("idoit.apiBatchSize", 50);
+    /** Number of objects created through the API that are opened in the browser to verify their data. */
+    public static final int VERIFY_SAMPLE = Integer.getInteger("idoit.verifySample", 5);
+    /** Compare the created objects with the object list once the run is done. */
+    public static final boolean VERIFY_LIST = Boolean.getBoolean("idoit.verifyList");
+    /** Values compared by the list verification, as value=column header pairs; the list must show these columns. */
+    public static final String VERIFY_COLUMNS = System.getProperty("idoit.verifyColumns",
+            "title=Title,manufacturer=Manufacturer,model=Model,serial=Serial number");
+
+    /**
+     * URL of the JSON-RPC API, by default {@code src/jsonrpc.php} below the base URL.
+     *
+     * @return The API endpoint
+     */
+    public static String apiUrl() {
+        return System.getProperty("idoit.apiUrl", baseUrl() + "src/jsonrpc.php");
+    }
+}
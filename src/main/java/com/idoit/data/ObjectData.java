@@ -0,0 +1,83 @@
+package com.idoit.data;
+
+/**
+ * Values of a Client object as entered in the new object form.
+ * A null manufacturer or model means a random option is selected.
+ */
+public class ObjectData {
+    private final String title;
+    private final String manufacturer;
+    private final String model;
+    private final String productId;
+    private final String serviceTag;
+    private final String serial;
+    private final String firmware;
+    private final String comment;
+
+    /**
+     * Constructor for the ObjectData.
+     *
+     * @param title Object title
+     * @param manufacturer Manufacturer option text, or null for a random one
+     * @param model Model option text, or null for a random one
+     * @param productId Product ID, or null to leave the field empty
+     * @param serviceTag Service tag, or null to leave the field empty
+     * @param serial Serial number, or null to leave the field empty
+     * @param firmware Firmware version, or null to leave the field empty
+     * @param comment Comment, or null to leave the field empty
+     */
+    public ObjectData(String title, String manufacturer, String model, String productId, String serviceTag,
+                      String serial, String firmware, String comment) {
+        this.title = title;
+        this.manufacturer = manufacturer;
+        this.model = model;
+        this.productId = productId;
+        this.serviceTag = serviceTag;
+        this.serial = serial;
+        this.firmware = firmware;
+        this.comment = comment;
+    }
+
+    /**
+     * Object data with random field values and a random manufacturer and model, from the generator of the
+     * calling thread. Workers that run side by side use {@link TestDataGenerator#forObject(long)} instead.
+     *
+     * @param title Object title
+     * @return ObjectData filled with random values
+     */
+    public static ObjectData random(String title) {
+        return TestDataGenerator.current().objectData(title);
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getManufacturer() {
+        return manufacturer;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public String getServiceTag() {
+        return serviceTag;
+    }
+
+    public String getSerial() {
+        return serial;
+    }
+
+    public String getFirmware() {
+        return firmware;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+}
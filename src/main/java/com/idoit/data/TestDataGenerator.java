@@ -0,0 +1,186 @@
+package com.idoit.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.idoit.config.RunOptions;
+
+/**
+ * Fast, seedable generator of test data for the object forms.
+ * <p>
+ * Every generator is a SplitMix64 stream owned by a single thread, so no locks or shared state are
+ * involved and no entropy is drawn from the operating system. With {@code -Didoit.seed} the data is
+ * reproducible: {@link #forObject(long)} always returns the same values for the same object number,
+ * regardless of which worker creates it. {@link #current()} gives the n-th thread that uses it the same
+ * stream, which is only reproducible when the threads start in the same order, so workers running side by
+ * side, in particular on virtual threads, use {@link #forObject(long)}. The titles of
+ * {@link #uniqueTitle(String)} differ in every run, also with the same seed, since i-doit keeps the
+ * objects of earlier runs.
+ * <p>
+ * Field generators take a pattern in which {@code #} is a digit, {@code A} an upper-case letter,
+ * {@code a} a lower-case letter, {@code X} an upper-case letter or digit and {@code *} any letter or digit;
+ * all other characters are copied as they are.
+ */
+public final class TestDataGenerator {
+    private static final byte[] ALPHANUMERIC =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] UPPER_ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long SEED = RunOptions.DATA_SEED != null ? RunOptions.DATA_SEED : System.nanoTime();
+    private static final AtomicLong THREADS = new AtomicLong();
+    private static final AtomicLong TITLES = new AtomicLong();
+    private static final ThreadLocal<TestDataGenerator> CURRENT =
+            ThreadLocal.withInitial(() -> new TestDataGenerator(mix(SEED + THREADS.incrementAndGet() * GOLDEN_GAMMA)));
+    // Distinguishes the titles of this run from those of earlier runs, whatever their seed
+    private static final String RUN_TAG = new TestDataGenerator(mix(System.nanoTime())).pattern("aaaa");
+
+    private long state;
+    // Reused for every generated value; only the returned string is allocated
+    private byte[] buffer = new byte[32];
+
+    private TestDataGenerator(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * The generator of the calling thread.
+     *
+     * @return The generator, to be used by the calling thread only
+     */
+    public static TestDataGenerator current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * A generator for a single object, giving the same values for the same object number and seed.
+     *
+     * @param sequence Number of the object within the run
+     * @return A new generator
+     */
+    public static TestDataGenerator forObject(long sequence) {
+        return new TestDataGenerator(mix(SEED ^ mix(sequence + GOLDEN_GAMMA)));
+    }
+
+    /**
+     * A title that no other worker of this run generates, e.g. {@code test_kqzd_1b}. The counter is
+     * shared by all threads but advanced without a lock.
+     *
+     * @param prefix Prefix of the title
+     * @return The unique title
+     */
+    public static String uniqueTitle(String prefix) {
+        return prefix + "_" + RUN_TAG + "_" + Long.toString(TITLES.incrementAndGet(), 36);
+    }
+
+    /**
+     * Random values for every model field of a Client object.
+     *
+     * @param title Title of the object
+     * @return The object data, without manufacturer and model so that they are picked from the form
+     */
+    public ObjectData objectData(String title) {
+        return new ObjectData(title, null, null, productId(), serviceTag(), serialNumber(), firmwareVersion(),
+                alphanumeric(20));
+    }
+
+    public String serialNumber() {
+        return pattern("XXXX-XXXX-XXXX");
+    }
+
+    public String serviceTag() {
+        return pattern("XXXXXXX");
+    }
+
+    public String productId() {
+        return pattern("AA###AA#A");
+    }
+
+    public String firmwareVersion() {
+        return (1 + nextInt(9)) + "." + nextInt(20) + "." + nextInt(1000);
+    }
+
+    /**
+     * Generate an alphanumeric string.
+     *
+     * @param length Length of the string
+     * @return A string of upper- and lower-case letters and digits
+     */
+    public String alphanumeric(int length) {
+        byte[] chars = buffer(length);
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHANUMERIC[nextInt(ALPHANUMERIC.length)];
+        }
+        return new String(chars, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Generate a string following a pattern, see the class description.
+     *
+     * @param pattern The pattern
+     * @return The generated string
+     */
+    public String pattern(String pattern) {
+        int length = pattern.length();
+        byte[] chars = buffer(length);
+        for (int i = 0; i < length; i++) {
+            char c = pattern.charAt(i);
+            switch (c) {
+                case '#':
+                    chars[i] = (byte) ('0' + nextInt(10));
+                    break;
+                case 'A':
+                    chars[i] = (byte) ('A' + nextInt(26));
+                    break;
+                case 'a':
+                    chars[i] = (byte) ('a' + nextInt(26));
+                    break;
+                case 'X':
+                    chars[i] = UPPER_ALPHANUMERIC[nextInt(UPPER_ALPHANUMERIC.length)];
+                    break;
+                case '*':
+                    chars[i] = ALPHANUMERIC[nextInt(ALPHANUMERIC.length)];
+                    break;
+                default:
+                    chars[i] = (byte) c;
+            }
+        }
+        return new String(chars, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Next random number between 0 (inclusive) and the bound (exclusive).
+     *
+     * @param bound Upper bound, must be positive
+     * @return The random number
+     */
+    public int nextInt(int bound) {
+        // Lemire's multiply-shift reduction; the bias for the small bounds used here is negligible
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Next random number between 0 (inclusive) and 1 (exclusive).
+     *
+     * @return The random number
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    public long nextLong() {
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    private byte[] buffer(int length) {
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+        return buffer;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,97 @@
+package com.idoit.driver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+
+import com.idoit.config.RunOptions;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+/**
+ * Remembers the chromedriver binary resolved by WebDriverManager in a local file, so that later runs
+ * can start Chrome without a driver version lookup.
+ */
+public class DriverBinaryCache {
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryCache.class);
+    private static final String DRIVER_PROPERTY = "webdriver.chrome.driver";
+
+    private static volatile boolean resolved;
+
+    private DriverBinaryCache() {
+    }
+
+    /**
+     * Make sure the chromedriver binary is known, using the cached path while it is fresh.
+     */
+    public static synchronized void resolveChromeDriver() {
+        if (resolved) {
+            return;
+        }
+        Path cacheFile = Paths.get(RunOptions.DRIVER_CACHE_FILE);
+        String cachedPath = readFreshPath(cacheFile);
+        if (cachedPath != null) {
+            System.setProperty(DRIVER_PROPERTY, cachedPath);
+            logger.info("Using cached chromedriver {}", cachedPath);
+        } else {
+            long start = System.nanoTime();
+            WebDriverManager manager = WebDriverManager.chromedriver();
+            manager.setup();
+            String driverPath = manager.getDownloadedDriverPath();
+            logger.info("Resolved chromedriver {} in {} ms", driverPath, Duration.ofNanos(System.nanoTime() - start).toMillis());
+            write(cacheFile, driverPath);
+        }
+        resolved = true;
+    }
+
+    /**
+     * Forget the cached binary, e.g. after Chrome was updated and the driver no longer matches it.
+     */
+    public static synchronized void invalidate() {
+        resolved = false;
+        System.clearProperty(DRIVER_PROPERTY);
+        try {
+            Files.deleteIfExists(Paths.get(RunOptions.DRIVER_CACHE_FILE));
+        } catch (IOException e) {
+            logger.warn("Could not delete driver cache file: {}", e.getMessage());
+        }
+    }
+
+    private static String readFreshPath(Path cacheFile) {
+        try {
+            if (!Files.isRegularFile(cacheFile)) {
+                return null;
+            }
+            Instant modified = Files.getLastModifiedTime(cacheFile).toInstant();
+            if (modified.plus(Duration.ofHours(RunOptions.DRIVER_CACHE_TTL_HOURS)).isBefore(Instant.now())) {
+                return null;
+            }
+            String path = new String(Files.readAllBytes(cacheFile), StandardCharsets.UTF_8).trim();
+            return Files.isExecutable(Paths.get(path)) ? path : null;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable driver cache file {}: {}", cacheFile, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void write(Path cacheFile, String driverPath) {
+        if (driverPath == null) {
+            return;
+        }
+        try {
+            if (cacheFile.getParent() != null) {
+                Files.createDirectories(cacheFile.getParent());
+            }
+            Files.write(cacheFile, driverPath.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.warn("Could not write driver cache file {}: {}", cacheFile, e.getMessage());
+        }
+    }
+}
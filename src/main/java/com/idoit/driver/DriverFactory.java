@@ -0,0 +1,173 @@
+package com.idoit.driver;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.idoit.config.RunOptions;
+import com.idoit.metrics.StepMetrics;
+
+/**
+ * Creates Chrome drivers for a {@link DriverProfile}, logging startup time and resident memory per driver.
+ */
+public class DriverFactory implements DriverProvider {
+    private static final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
+    private static final String VIEWPORT = "--window-size=1920,1080";
+    // Injected into every document of lean drivers so that CSS animations and transitions finish instantly
+    private static final String NO_ANIMATIONS_SCRIPT =
+            "document.addEventListener('DOMContentLoaded', function () {"
+            + "  var style = document.createElement('style');"
+            + "  style.textContent = '*, *::before, *::after { animation: none !important; transition: none !important; }';"
+            + "  document.head.appendChild(style);"
+            + "});";
+
+    private final DriverProfile profile;
+
+    /**
+     * Constructor for the DriverFactory.
+     *
+     * @param profile Profile of the drivers to create
+     */
+    public DriverFactory(DriverProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Start a new driver of the configured profile.
+     *
+     * @return The started driver
+     */
+    @Override
+    public WebDriver create() {
+        DriverBinaryCache.resolveChromeDriver();
+        return StepMetrics.global().time("DriverFactory.create(" + profile + ")", () -> {
+            long start = System.nanoTime();
+            ChromeDriver driver;
+            try {
+                driver = start();
+            } catch (SessionNotCreatedException e) {
+                // Most likely the cached chromedriver no longer matches the installed Chrome
+                logger.warn("Could not start Chrome with the cached driver, resolving it again: {}", e.getMessage());
+                DriverBinaryCache.invalidate();
+                DriverBinaryCache.resolveChromeDriver();
+                driver = start();
+            }
+            long startupMillis = (System.nanoTime() - start) / 1_000_000;
+
+            Set<Long> processes = driverProcesses(driver);
+            if (processes.isEmpty()) {
+                logger.info("Started {} driver in {} ms, its processes were not found.", profile, startupMillis);
+            } else {
+                logger.info("Started {} driver in {} ms, resident memory {} MB in {} processes.",
+                        profile, startupMillis, residentMemoryKb(processes) / 1024, processes.size());
+            }
+            return driver;
+        });
+    }
+
+    private ChromeDriver start() {
+        ChromeDriver driver = new ChromeDriver(chromeOptions(profile));
+        if (profile.isLean()) {
+            driver.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                    Collections.singletonMap("source", NO_ANIMATIONS_SCRIPT));
+        }
+        if (!profile.isHeadless()) {
+            driver.manage().window().maximize();
+        }
+        return driver;
+    }
+
+    /**
+     * Chrome options of a profile, shared by local and remote drivers.
+     *
+     * @param profile Driver profile
+     * @return The options to start Chrome with
+     */
+    static ChromeOptions chromeOptions(DriverProfile profile) {
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(pageLoadStrategy(profile));
+        options.addArguments("--disable-extensions", "--disable-dev-shm-usage", "--mute-audio");
+        if (profile.isHeadless()) {
+            options.addArguments("--headless=new", VIEWPORT);
+        }
+        if (profile.isLean()) {
+            Map<String, Object> prefs = new HashMap<>();
+            prefs.put("profile.managed_default_content_settings.images", 2);
+            options.setExperimentalOption("prefs", prefs);
+            options.addArguments("--blink-settings=imagesEnabled=false", "--disable-remote-fonts",
+                    "--force-prefers-reduced-motion", "--disable-gpu", "--disable-background-networking");
+        }
+        return options;
+    }
+
+    private static PageLoadStrategy pageLoadStrategy(DriverProfile profile) {
+        String option = RunOptions.PAGE_LOAD_STRATEGY;
+        return option == null || option.isEmpty() ? profile.getPageLoadStrategy() : PageLoadStrategy.fromString(option);
+    }
+
+    /**
+     * The chromedriver process of a driver and its descendants, the browser processes. The chromedriver is
+     * recognised by the port of the driver's service among the children of this JVM, so that browsers
+     * started by other workers at the same time are not counted.
+     *
+     * @param driver A local Chrome driver
+     * @return Process IDs, empty if the chromedriver process cannot be found
+     */
+    private static Set<Long> driverProcesses(ChromeDriver driver) {
+        CommandExecutor executor = driver.getCommandExecutor();
+        if (!(executor instanceof HttpCommandExecutor)) {
+            return Collections.emptySet();
+        }
+        String portArgument = "--port=" + ((HttpCommandExecutor) executor).getAddressOfRemoteServer().getPort();
+        return ProcessHandle.current().children()
+                .filter(process -> process.info().arguments()
+                        .map(arguments -> Arrays.asList(arguments).contains(portArgument))
+                        .orElse(false))
+                .findFirst()
+                .map(service -> Stream.concat(Stream.of(service), service.descendants())
+                        .map(ProcessHandle::pid)
+                        .collect(Collectors.toSet()))
+                .orElse(Collections.emptySet());
+    }
+
+    /**
+     * Sum of the resident memory of the given processes, read from /proc on Linux.
+     *
+     * @param pids Process IDs
+     * @return Resident memory in KB, 0 where it cannot be read
+     */
+    private static long residentMemoryKb(Set<Long> pids) {
+        long total = 0;
+        for (long pid : pids) {
+            try {
+                List<String> status = Files.readAllLines(Paths.get("/proc", Long.toString(pid), "status"));
+                for (String line : status) {
+                    if (line.startsWith("VmRSS:")) {
+                        total += Long.parseLong(line.replaceAll("\\D", ""));
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // Process already gone or no /proc on this platform
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,106 @@
+package com.idoit.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of WebDriver instances shared between worker threads.
+ * Drivers are created lazily by the given factory, up to the pool size.
+ */
+public class DriverPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    private final Supplier<WebDriver> factory;
+    private final Semaphore permits;
+    private final Queue<WebDriver> idle = new ConcurrentLinkedQueue<>();
+    private final Set<WebDriver> all = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor for the DriverPool.
+     *
+     * @param size Maximum number of drivers alive at the same time
+     * @param factory Creates a new, ready to use driver
+     */
+    public DriverPool(int size, Supplier<WebDriver> factory) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1, was " + size);
+        }
+        this.factory = factory;
+        this.permits = new Semaphore(size, true);
+    }
+
+    /**
+     * Take a driver from the pool, creating one if no idle driver is available.
+     * Blocks while all drivers are in use.
+     *
+     * @return WebDriver reserved for the caller
+     * @throws InterruptedException if interrupted while waiting for a free driver
+     */
+    public WebDriver borrow() throws InterruptedException {
+        permits.acquire();
+        WebDriver driver = idle.poll();
+        if (driver != null) {
+            return driver;
+        }
+        try {
+            driver = factory.get();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        all.add(driver);
+        logger.info("Created driver {} of the pool.", all.size());
+        return driver;
+    }
+
+    /**
+     * Return a healthy driver to the pool.
+     *
+     * @param driver Driver previously obtained from {@link #borrow()}
+     */
+    public void release(WebDriver driver) {
+        idle.offer(driver);
+        permits.release();
+    }
+
+    /**
+     * Quit a broken driver and free its slot so that a fresh one can be created.
+     *
+     * @param driver Driver previously obtained from {@link #borrow()}
+     */
+    public void invalidate(WebDriver driver) {
+        all.remove(driver);
+        quitQuietly(driver);
+        permits.release();
+        logger.info("Discarded a driver, {} left in the pool.", all.size());
+    }
+
+    /**
+     * Quit every driver created by this pool.
+     */
+    @Override
+    public void close() {
+        for (WebDriver driver : all) {
+            quitQuietly(driver);
+        }
+        all.clear();
+        idle.clear();
+        logger.info("Driver pool closed.");
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.warn("Error while quitting driver: {}", e.getMessage());
+        }
+    }
+}
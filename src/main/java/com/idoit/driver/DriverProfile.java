@@ -0,0 +1,48 @@
+package com.idoit.driver;
+
+import org.openqa.selenium.PageLoadStrategy;
+
+/**
+ * Browser profiles the {@link DriverFactory} can start.
+ */
+public enum DriverProfile {
+    /** Headed and maximized, for watching a run. */
+    DESKTOP(false, false, PageLoadStrategy.NORMAL),
+    /** Headless with a fixed viewport. */
+    HEADLESS(true, false, PageLoadStrategy.NORMAL),
+    /** Headless without images, web fonts and CSS animations, returning as soon as the DOM is ready. */
+    LEAN(true, true, PageLoadStrategy.EAGER);
+
+    private final boolean headless;
+    private final boolean lean;
+    private final PageLoadStrategy pageLoadStrategy;
+
+    DriverProfile(boolean headless, boolean lean, PageLoadStrategy pageLoadStrategy) {
+        this.headless = headless;
+        this.lean = lean;
+        this.pageLoadStrategy = pageLoadStrategy;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public boolean isLean() {
+        return lean;
+    }
+
+    public PageLoadStrategy getPageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    /**
+     * Parse a profile name, falling back to a default when none is given.
+     *
+     * @param name Profile name, case insensitive, may be null
+     * @param defaultProfile Profile to use when no name is given
+     * @return The selected profile
+     */
+    public static DriverProfile fromOption(String name, DriverProfile defaultProfile) {
+        return name == null || name.isEmpty() ? defaultProfile : valueOf(name.toUpperCase());
+    }
+}
@@ -0,0 +1,32 @@
+package com.idoit.driver;
+
+import org.openqa.selenium.WebDriver;
+
+import com.idoit.config.RunOptions;
+
+/**
+ * Source of new browser sessions, either local Chrome or a Selenium Grid.
+ */
+public interface DriverProvider {
+    /**
+     * Start a new driver.
+     *
+     * @return The started driver
+     */
+    WebDriver create();
+
+    /**
+     * The provider selected by the run options: the Grid endpoints of idoit.gridUrls when set,
+     * local Chrome otherwise.
+     *
+     * @param defaultProfile Driver profile used unless another one is selected with idoit.driverProfile
+     * @return The driver provider
+     */
+    static DriverProvider fromOptions(DriverProfile defaultProfile) {
+        DriverProfile profile = DriverProfile.fromOption(RunOptions.DRIVER_PROFILE, defaultProfile);
+        if (RunOptions.GRID_URLS != null && !RunOptions.GRID_URLS.isEmpty()) {
+            return GridScheduler.fromUrls(RunOptions.GRID_URLS, profile);
+        }
+        return new DriverFactory(profile);
+    }
+}
@@ -0,0 +1,248 @@
+package com.idoit.driver;
+
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.idoit.config.Config;
+import com.idoit.config.RunOptions;
+import com.idoit.metrics.StepMetrics;
+
+/**
+ * Starts remote Chrome sessions on one or more Selenium Grid endpoints, spreading them by free slots.
+ * <p>
+ * Before each session the {@code /status} of every endpoint is read and the free Chrome slots of its
+ * nodes that are up are counted, less the sessions this scheduler is starting there at that moment.
+ * The session goes to the endpoint with the most free slots; if there is none, the scheduler polls until
+ * a slot frees up or {@link Config#LONG_TIMEOUT} has passed. An endpoint can be a standalone Grid or a hub.
+ * <p>
+ * Lean drivers lose the no-animation script on remote sessions, as CDP is not always reachable through
+ * the Grid; all other profile settings are passed on as Chrome options.
+ */
+public class GridScheduler implements DriverProvider {
+    private static final Logger logger = LoggerFactory.getLogger(GridScheduler.class);
+    private static final Json JSON = new Json();
+    private static final long POLL_MILLIS = 1000;
+
+    private final List<Endpoint> endpoints;
+    private final DriverProfile profile;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    // Guards the slot counts; not synchronized, as the status is read over HTTP while holding it
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private static class Endpoint {
+        private final URL url;
+        private final AtomicInteger starting = new AtomicInteger();
+        private int totalSlots;
+        private int freeSlots;
+
+        private Endpoint(URL url) {
+            this.url = url;
+        }
+    }
+
+    /**
+     * Constructor for the GridScheduler.
+     *
+     * @param gridUrls Grid endpoints, e.g. http://localhost:4444
+     * @param profile Profile of the sessions to start
+     */
+    public GridScheduler(List<URL> gridUrls, DriverProfile profile) {
+        List<Endpoint> list = new ArrayList<>();
+        for (URL url : gridUrls) {
+            list.add(new Endpoint(url));
+        }
+        this.endpoints = Collections.unmodifiableList(list);
+        this.profile = profile;
+    }
+
+    /**
+     * Create a scheduler from a comma-separated list of Grid URLs.
+     *
+     * @param gridUrls Comma-separated Grid endpoints
+     * @param profile Profile of the sessions to start
+     * @return The scheduler
+     */
+    public static GridScheduler fromUrls(String gridUrls, DriverProfile profile) {
+        List<URL> urls = new ArrayList<>();
+        for (String url : gridUrls.split(",")) {
+            if (!url.trim().isEmpty()) {
+                try {
+                    urls.add(URI.create(url.trim()).toURL());
+                } catch (MalformedURLException | IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid Grid URL: " + url, e);
+                }
+            }
+        }
+        return new GridScheduler(urls, profile);
+    }
+
+    /**
+     * Total number of Chrome slots on all nodes that are up, busy or not. A good worker count for a run.
+     *
+     * @return Number of Chrome slots
+     */
+    public int capacity() {
+        lock.lock();
+        try {
+            refreshStatus();
+            int total = 0;
+            for (Endpoint endpoint : endpoints) {
+                total += endpoint.totalSlots;
+            }
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Start a session on the endpoint with the most free slots, waiting for a free slot if necessary.
+     *
+     * @return The remote driver
+     */
+    @Override
+    public WebDriver create() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Config.LONG_TIMEOUT);
+        while (true) {
+            Endpoint endpoint = reserveEndpoint();
+            if (endpoint != null) {
+                try {
+                    return StepMetrics.global().time("GridScheduler.create(" + profile + ")", () -> start(endpoint));
+                } finally {
+                    endpoint.starting.decrementAndGet();
+                }
+            }
+            if (System.nanoTime() > deadline) {
+                throw new SessionNotCreatedException("No free Chrome slot on " + endpointUrls() + " within "
+                        + Config.LONG_TIMEOUT + " s");
+            }
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SessionNotCreatedException("Interrupted while waiting for a free Grid slot");
+            }
+        }
+    }
+
+    private Endpoint reserveEndpoint() {
+        lock.lock();
+        try {
+            refreshStatus();
+            Endpoint best = null;
+            int bestFree = 0;
+            for (Endpoint endpoint : endpoints) {
+                int free = endpoint.freeSlots - endpoint.starting.get();
+                if (free > bestFree) {
+                    best = endpoint;
+                    bestFree = free;
+                }
+            }
+            if (best != null) {
+                best.starting.incrementAndGet();
+            }
+            return best;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private WebDriver start(Endpoint endpoint) {
+        long start = System.nanoTime();
+        RemoteWebDriver driver = new RemoteWebDriver(endpoint.url, DriverFactory.chromeOptions(profile));
+        if (!profile.isHeadless()) {
+            driver.manage().window().maximize();
+        }
+        logger.info("Started {} session on {} in {} ms.", profile, endpoint.url,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return driver;
+    }
+
+    private void refreshStatus() {
+        for (Endpoint endpoint : endpoints) {
+            try {
+                readStatus(endpoint);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Could not read status of Grid {}: {}", endpoint.url, e.getMessage());
+                endpoint.totalSlots = 0;
+                endpoint.freeSlots = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readStatus(Endpoint endpoint) throws IOException, InterruptedException {
+        URI statusUri = URI.create(endpoint.url.toString().replaceAll("/+$", "") + "/status");
+        HttpRequest request = HttpRequest.newBuilder(statusUri).timeout(Duration.ofSeconds(5)).GET().build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        Map<String, Object> status = JSON.toType(response.body(), Json.MAP_TYPE);
+        Map<String, Object> value = (Map<String, Object>) status.get("value");
+
+        int total = 0;
+        int free = 0;
+        List<Map<String, Object>> nodes = (List<Map<String, Object>>) value.get("nodes");
+        for (Map<String, Object> node : nodes == null ? Collections.<Map<String, Object>>emptyList() : nodes) {
+            if (!"UP".equals(node.get("availability"))) {
+                continue;
+            }
+            int chromeSlots = 0;
+            int freeChromeSlots = 0;
+            int busySlots = 0;
+            for (Map<String, Object> slot : (List<Map<String, Object>>) node.get("slots")) {
+                Map<String, Object> stereotype = (Map<String, Object>) slot.get("stereotype");
+                boolean busy = slot.get("session") != null;
+                if (busy) {
+                    busySlots++;
+                }
+                if (stereotype != null && "chrome".equals(stereotype.get("browserName"))) {
+                    chromeSlots++;
+                    if (!busy) {
+                        freeChromeSlots++;
+                    }
+                }
+            }
+            // A node runs at most maxSessions sessions at once, even if it offers more slots
+            Object maxSessions = node.get("maxSessions");
+            if (maxSessions instanceof Number) {
+                int max = ((Number) maxSessions).intValue();
+                chromeSlots = Math.min(chromeSlots, max);
+                freeChromeSlots = Math.min(freeChromeSlots, Math.max(0, max - busySlots));
+            }
+            total += chromeSlots;
+            free += freeChromeSlots;
+        }
+        endpoint.totalSlots = total;
+        endpoint.freeSlots = free;
+    }
+
+    private String endpointUrls() {
+        List<String> urls = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            urls.add(endpoint.url.toString());
+        }
+        return String.join(", ", urls);
+    }
+}
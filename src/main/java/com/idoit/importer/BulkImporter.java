@@ -0,0 +1,279 @@
+package com.idoit.importer;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.idoit.artifacts.ArtifactPipeline;
+import com.idoit.config.RunOptions;
+import com.idoit.data.TestDataGenerator;
+import com.idoit.driver.DriverPool;
+import com.idoit.driver.DriverProfile;
+import com.idoit.navigation.NavigationMode;
+import com.idoit.navigation.NewObjectNavigator;
+import com.idoit.pages.NewObjectPage;
+import com.idoit.recovery.CircuitOpenException;
+import com.idoit.recovery.Recovery;
+import com.idoit.recovery.RetryPolicy;
+import com.idoit.recovery.SavedObjectException;
+import com.idoit.runner.LoggedInDrivers;
+import com.idoit.runner.StepStats;
+import com.idoit.runner.WorkflowOrchestrator;
+import com.idoit.verify.ListVerifier;
+
+/**
+ * Imports Client objects from a CSV or JSON Lines file through the new object form.
+ * <p>
+ * The file is streamed row by row into a small queue that feeds the workers, so memory use does not
+ * grow with the file. Every created row is written to a checkpoint file; running the import again with
+ * the same file skips those rows, so a crash resumes where it stopped. Rows that failed before their
+ * object was saved are not checkpointed and are retried by the next run; malformed rows are logged
+ * and skipped. A worker that repeatedly cannot start a logged in browser stops, and the import stops
+ * once no worker is left. With {@code -Didoit.verifyList=true} the rows imported by this run are compared
+ * with the Client list at the end.
+ * <p>
+ * Usage: {@code BulkImporter <file> [workers] [checkpointFile]}
+ */
+public class BulkImporter {
+    private static final Logger logger = LoggerFactory.getLogger(BulkImporter.class);
+    private static final ImportRecord END = new ImportRecord(-1, null);
+    private static final int DEFAULT_WORKERS = 4;
+    private static final int MAX_BORROW_FAILURES = 3;
+
+    private final Path input;
+    private final Path checkpointFile;
+    private final int workers;
+    private final StepStats stepStats = new StepStats();
+    private final NewObjectPage.FillMode fillMode = NewObjectPage.FillMode.valueOf(RunOptions.FILL_MODE);
+    private final NewObjectNavigator navigator =
+            new NewObjectNavigator(NavigationMode.valueOf(RunOptions.NAVIGATION_MODE), stepStats);
+    private final Recovery recovery = new Recovery();
+    private final ArtifactPipeline artifacts = new ArtifactPipeline();
+    private final ListVerifier listVerifier = new ListVerifier("Hardware", "Client");
+    private final AtomicInteger imported = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger liveWorkers = new AtomicInteger();
+    private volatile boolean aborted;
+
+    /**
+     * Constructor for the BulkImporter.
+     *
+     * @param input CSV or JSON Lines file to import
+     * @param checkpointFile File recording the completed rows
+     * @param workers Number of parallel workers, which is also the number of browsers
+     */
+    public BulkImporter(Path input, Path checkpointFile, int workers) {
+        this.input = input;
+        this.checkpointFile = checkpointFile;
+        this.workers = workers;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Usage: BulkImporter <file.csv|file.jsonl> [workers] [checkpointFile]");
+            System.exit(1);
+        }
+        Path input = Paths.get(args[0]);
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_WORKERS;
+        Path checkpoint = args.length > 2 ? Paths.get(args[2]) : Paths.get(args[0] + ".checkpoint");
+        new BulkImporter(input, checkpoint, workers).run();
+    }
+
+    /**
+     * Import all rows that are not completed yet and log a report at the end.
+     *
+     * @throws IOException if the import or checkpoint file cannot be read
+     * @throws InterruptedException if interrupted while feeding the workers
+     */
+    public void run() throws IOException, InterruptedException {
+        logger.info("Importing {} with {} workers, checkpoint {}", input, workers, checkpointFile);
+        long start = System.nanoTime();
+        long skipped = 0;
+        long malformed;
+        BlockingQueue<ImportRecord> queue = new ArrayBlockingQueue<>(workers * 4);
+        ExecutorService executor = WorkflowOrchestrator.Threading.fromOptions().newExecutor(workers);
+
+        try (RecordReader reader = RecordReader.open(input);
+             Checkpoint checkpoint = new Checkpoint(checkpointFile);
+             DriverPool pool = new DriverPool(workers, new LoggedInDrivers(DriverProfile.LEAN, stepStats))) {
+            try {
+                for (int i = 0; i < workers; i++) {
+                    liveWorkers.incrementAndGet();
+                    executor.submit(() -> work(queue, pool, checkpoint));
+                }
+
+                ImportRecord record;
+                while (!aborted && (record = reader.next()) != null) {
+                    if (checkpoint.isCompleted(record.getRow())) {
+                        skipped++;
+                        continue;
+                    }
+                    offer(queue, record);
+                }
+                for (int i = 0; i < workers; i++) {
+                    if (!offer(queue, END)) {
+                        break;
+                    }
+                }
+            } catch (IOException | InterruptedException | RuntimeException e) {
+                aborted = true;
+                throw e;
+            } finally {
+                // The workers use the pool and the checkpoint, so they must be done before those are closed
+                awaitWorkers(executor);
+            }
+            malformed = reader.getSkipped();
+            verifyList(pool);
+        } finally {
+            executor.shutdownNow();
+            artifacts.close();
+        }
+
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+        logger.info("Imported {} rows ({} failed, {} skipped as already completed, {} skipped as malformed) in {} s.",
+                imported.get(), failed.get(), skipped, malformed, seconds);
+        stepStats.report(logger);
+        recovery.report(logger);
+    }
+
+    /**
+     * Hand a row to the workers, waiting while the queue is full.
+     *
+     * @return false if the import was aborted or no worker is left to take the row
+     */
+    private boolean offer(BlockingQueue<ImportRecord> queue, ImportRecord record) throws InterruptedException {
+        while (!queue.offer(record, 1, TimeUnit.SECONDS)) {
+            if (aborted) {
+                return false;
+            }
+            if (liveWorkers.get() == 0) {
+                logger.error("All workers stopped, stopping the import.");
+                aborted = true;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void awaitWorkers(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        try {
+            // Aborted workers stop after their current row
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+            throw e;
+        }
+    }
+
+    private void work(BlockingQueue<ImportRecord> queue, DriverPool pool, Checkpoint checkpoint) {
+        WebDriver driver = null;
+        int borrowFailures = 0;
+        try {
+            while (!aborted) {
+                ImportRecord record = queue.poll(1, TimeUnit.SECONDS);
+                if (record == null) {
+                    continue;
+                }
+                if (record == END) {
+                    return;
+                }
+                if (driver == null) {
+                    try {
+                        driver = pool.borrow();
+                        borrowFailures = 0;
+                    } catch (RuntimeException e) {
+                        // The row was not started, so it is not checkpointed and the next run imports it
+                        failed.incrementAndGet();
+                        logger.error("Could not start a logged in browser for row {}: {}", record.getRow(), e.getMessage());
+                        if (++borrowFailures >= MAX_BORROW_FAILURES) {
+                            logger.error("Stopping a worker after {} failed browser starts.", borrowFailures);
+                            return;
+                        }
+                        continue;
+                    }
+                }
+                if (importRow(driver, record)) {
+                    try {
+                        checkpoint.markCompleted(record.getRow());
+                    } catch (IOException e) {
+                        // Without a checkpoint a resumed run would create the rows again, so stop here
+                        logger.error("Could not write checkpoint for row {}, stopping the import: {}",
+                                record.getRow(), e.getMessage());
+                        aborted = true;
+                        return;
+                    }
+                } else {
+                    pool.invalidate(driver);
+                    driver = null;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (driver != null) {
+                pool.release(driver);
+            }
+            liveWorkers.decrementAndGet();
+        }
+    }
+
+    private void verifyList(DriverPool pool) throws InterruptedException {
+        if (!RunOptions.VERIFY_LIST) {
+            return;
+        }
+        WebDriver driver = pool.borrow();
+        try {
+            stepStats.time("verifyList", () -> listVerifier.verify(driver));
+            pool.release(driver);
+        } catch (Exception e) {
+            logger.error("Could not verify the Client list: {}", e.getMessage());
+            artifacts.onFailure(driver, "verifyList");
+            pool.invalidate(driver);
+        }
+    }
+
+    private boolean importRow(WebDriver driver, ImportRecord record) {
+        try {
+            NewObjectPage newObjectPage = recovery.run("importRow", RetryPolicy.objectCreation(), driver, d -> {
+                // Manufacturer and model missing from the row are picked the same way for a given seed
+                NewObjectPage page = recovery.run("openNewClientForm", RetryPolicy.navigation(), d,
+                        navigator::openNewClientForm).withFillMode(fillMode)
+                        .withGenerator(TestDataGenerator.forObject(record.getRow()));
+                return stepStats.time("createNewObject", () -> page.createNewObject(record.getData()));
+            });
+            if (RunOptions.VERIFY_LIST) {
+                listVerifier.record(newObjectPage.getLastSubmitted());
+            }
+            imported.incrementAndGet();
+            return true;
+        } catch (SavedObjectException e) {
+            // The object exists, importing the row again would create it twice; it is checkpointed as done
+            failed.incrementAndGet();
+            logger.error("Row {} was saved incompletely, fix the object in i-doit: {}", record.getRow(), e.getMessage());
+            artifacts.onFailure(driver, "row" + record.getRow());
+            return true;
+        } catch (CircuitOpenException e) {
+            // i-doit itself is failing; stop feeding rows, a later run resumes from the checkpoint
+            failed.incrementAndGet();
+            logger.error("Stopping the import at row {}: {}", record.getRow(), e.getMessage());
+            aborted = true;
+            return false;
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            logger.error("Failed to import row {} ('{}'): {}", record.getRow(), record.getData().getTitle(), e.getMessage());
+            artifacts.onFailure(driver, "row" + record.getRow());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.idoit.importer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only record of the import rows that were created successfully.
+ * <p>
+ * Workers finish rows out of order, so every completed row number is written, one per line, and flushed
+ * right away. On resume the file is read back into a bit set and those rows are skipped.
+ */
+public class Checkpoint implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(Checkpoint.class);
+
+    private final BitSet completed = new BitSet();
+    private final BufferedWriter writer;
+    // Not synchronized, so that virtual threads writing the file do not pin their carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Open a checkpoint file, loading the rows completed by earlier runs.
+     *
+     * @param file Checkpoint file, created if it does not exist
+     * @throws IOException if the file cannot be read or opened for appending
+     */
+    public Checkpoint(Path file) throws IOException {
+        if (Files.isRegularFile(file)) {
+            if (dropCutLine(file)) {
+                logger.warn("Checkpoint {} ends with a line cut short by a crash, that row is imported again.", file);
+            }
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty()) {
+                        try {
+                            completed.set(Math.toIntExact(Long.parseLong(line)));
+                        } catch (NumberFormatException e) {
+                            logger.warn("Ignoring invalid line '{}' in checkpoint {}", line, file);
+                        }
+                    }
+                }
+            }
+            logger.info("Checkpoint {} has {} completed rows.", file, completed.cardinality());
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Cut off a last line without line break, left by a crash while writing. It may hold a cut row number,
+     * such as 1 of 12, and the next row number would otherwise be appended to it.
+     *
+     * @return true if a line was cut off
+     */
+    private static boolean dropCutLine(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            long end = channel.size();
+            long position = end;
+            while (position > 0) {
+                last.clear();
+                channel.read(last, position - 1);
+                if (last.get(0) == '\n') {
+                    break;
+                }
+                position--;
+            }
+            if (position == end) {
+                return false;
+            }
+            channel.truncate(position);
+            return true;
+        }
+    }
+
+    /**
+     * Check if a row was completed by this or an earlier run.
+     *
+     * @param row Row number
+     * @return true if the row does not need to be imported again
+     */
+    public boolean isCompleted(long row) {
+        lock.lock();
+        try {
+            return completed.get(Math.toIntExact(row));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record a row as completed.
+     *
+     * @param row Row number
+     * @throws IOException if the checkpoint cannot be written
+     */
+    public void markCompleted(long row) throws IOException {
+        lock.lock();
+        try {
+            completed.set(Math.toIntExact(row));
+            writer.write(Long.toString(row));
+            writer.newLine();
+            writer.flush();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getCompletedCount() {
+        lock.lock();
+        try {
+            return completed.cardinality();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            writer.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.idoit.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams rows of a CSV file with a header line. Supports quoted fields with separators,
+ * doubled quotes and line breaks, as written by spreadsheet exports.
+ * <p>
+ * A quote that is never closed would swallow the rest of the file into one field. Such a row is skipped as
+ * malformed instead, and reading continues after the first line break inside its quoted field, so the
+ * following rows are still imported under their own row numbers.
+ */
+public class CsvRecordReader extends RecordReader {
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final int NONE = -2;
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    // Text read past a row with an unclosed quote, to be read again as the following rows
+    private CharSequence replay;
+    private int replayPosition;
+    // Character read ahead to look for a doubled quote
+    private int pushedBack = NONE;
+    // Characters read since the first line break inside a quoted field of the current row, null if none
+    private StringBuilder afterLineBreak;
+
+    /**
+     * Open a CSV file and read its header line.
+     *
+     * @param file CSV file
+     * @throws IOException if the file cannot be read or has no header
+     */
+    public CsvRecordReader(Path file) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        this.header = readRow();
+        if (header == null) {
+            throw new IOException("CSV file " + file + " has no header line");
+        }
+        // Drop a UTF-8 byte order mark written by some spreadsheet programs
+        if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+            header.set(0, header.get(0).substring(1));
+        }
+    }
+
+    @Override
+    protected Map<String, String> nextFields() throws IOException {
+        List<String> values;
+        do {
+            values = readRow();
+        } while (values != null && values.size() == 1 && values.get(0).isEmpty());
+        if (values == null) {
+            return null;
+        }
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return fields;
+    }
+
+    private List<String> readRow() throws IOException {
+        afterLineBreak = null;
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == QUOTE) {
+                    int next = read();
+                    if (next == QUOTE) {
+                        value.append(QUOTE);
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    value.append(ch);
+                    if (ch == '\n' && afterLineBreak == null) {
+                        afterLineBreak = new StringBuilder();
+                    }
+                }
+            } else if (ch == QUOTE) {
+                quoted = true;
+            } else if (ch == SEPARATOR) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch != '\r') {
+                value.append(ch);
+            }
+            c = read();
+        }
+        if (quoted) {
+            if (afterLineBreak != null) {
+                replay = afterLineBreak;
+                replayPosition = 0;
+                afterLineBreak = null;
+            }
+            throw new MalformedRowException("quote opened in column " + (values.size() + 1) + " is never closed");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != NONE) {
+            c = pushedBack;
+            pushedBack = NONE;
+        } else if (replay != null && replayPosition < replay.length()) {
+            c = replay.charAt(replayPosition++);
+        } else {
+            replay = null;
+            c = reader.read();
+        }
+        if (afterLineBreak != null && c != -1) {
+            afterLineBreak.append((char) c);
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+        if (afterLineBreak != null && c != -1) {
+            afterLineBreak.setLength(afterLineBreak.length() - 1);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
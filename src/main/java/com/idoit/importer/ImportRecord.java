@@ -0,0 +1,30 @@
+package com.idoit.importer;
+
+import com.idoit.data.ObjectData;
+
+/**
+ * One row of an import file together with its row number.
+ */
+public class ImportRecord {
+    private final long row;
+    private final ObjectData data;
+
+    /**
+     * Constructor for the ImportRecord.
+     *
+     * @param row Row number in the import file, starting at 1 for the first data row
+     * @param data Object values of the row
+     */
+    public ImportRecord(long row, ObjectData data) {
+        this.row = row;
+        this.data = data;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public ObjectData getData() {
+        return data;
+    }
+}
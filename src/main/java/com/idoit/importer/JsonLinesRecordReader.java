@@ -0,0 +1,63 @@
+package com.idoit.importer;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streams rows of a JSON Lines file, one JSON object per line.
+ */
+public class JsonLinesRecordReader extends RecordReader {
+    private static final Json JSON = new Json();
+
+    private final BufferedReader reader;
+    private long line;
+
+    /**
+     * Open a JSON Lines file.
+     *
+     * @param file JSON Lines file
+     * @throws IOException if the file cannot be opened
+     */
+    public JsonLinesRecordReader(Path file) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected Map<String, String> nextFields() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+        } while (text != null && text.trim().isEmpty());
+        if (text == null) {
+            return null;
+        }
+
+        Object object;
+        try {
+            object = JSON.toType(text, Object.class);
+        } catch (JsonException | ClassCastException e) {
+            throw new MalformedRowException("invalid JSON on line " + line + ": " + e.getMessage(), e);
+        }
+        if (!(object instanceof Map)) {
+            throw new MalformedRowException("line " + line + " is not a JSON object");
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        ((Map<?, ?>) object).forEach((key, value) ->
+                fields.put(String.valueOf(key), value == null ? null : String.valueOf(value)));
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,176 @@
+package com.idoit.importer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+import com.idoit.data.ObjectData;
+
+/**
+ * Streams import records from a file one row at a time.
+ * <p>
+ * Malformed rows and rows without a title are logged and skipped, so that one bad row does not stop an
+ * import. Skipped rows keep their row number, which keeps the numbers of the following rows, and so the
+ * checkpoint, stable when the file is fixed and imported again.
+ */
+public abstract class RecordReader implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(RecordReader.class);
+
+    private long row;
+    private long skipped;
+
+    /**
+     * Open a reader for a CSV file, or a JSON Lines file if the name ends with .jsonl, .ndjson or .json.
+     *
+     * @param file Import file
+     * @return A reader positioned before the first record
+     * @throws IOException if the file cannot be opened
+     */
+    public static RecordReader open(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+            return new JsonLinesRecordReader(file);
+        }
+        return new CsvRecordReader(file);
+    }
+
+    /**
+     * Read the next record, skipping malformed rows and rows without a title.
+     *
+     * @return The next record, or null at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    public ImportRecord next() throws IOException {
+        while (true) {
+            Map<String, String> fields;
+            try {
+                fields = nextFields();
+            } catch (MalformedRowException e) {
+                row++;
+                skip(e.getMessage());
+                continue;
+            }
+            if (fields == null) {
+                return null;
+            }
+            row++;
+            ObjectData data = toObjectData(fields);
+            if (data == null) {
+                skip("no title");
+                continue;
+            }
+            return new ImportRecord(row, data);
+        }
+    }
+
+    /**
+     * Number of rows skipped so far because they were malformed or had no title.
+     *
+     * @return The number of skipped rows
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Read the fields of the next row.
+     *
+     * @return Field values keyed by column name, or null at the end of the file
+     * @throws MalformedRowException if the row cannot be parsed; reading continues with the next row
+     * @throws IOException if the file cannot be read
+     */
+    protected abstract Map<String, String> nextFields() throws IOException;
+
+    private void skip(String reason) {
+        skipped++;
+        logger.warn("Skipping row {}: {}", row, reason);
+    }
+
+    /**
+     * Map columns onto the fields of the new object form. Column names are matched case-insensitively and
+     * without separators, so "Product ID", "product_id" and "productId" are the same column. Returns null
+     * if the row has no title.
+     */
+    private static ObjectData toObjectData(Map<String, String> fields) {
+        String title = null;
+        String manufacturer = null;
+        String model = null;
+        String productId = null;
+        String serviceTag = null;
+        String serial = null;
+        String firmware = null;
+        String comment = null;
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            String value = field.getValue() == null || field.getValue().isEmpty() ? null : field.getValue();
+            switch (normalize(field.getKey())) {
+                case "title":
+                    title = value;
+                    break;
+                case "manufacturer":
+                    manufacturer = value;
+                    break;
+                case "model":
+                    model = value;
+                    break;
+                case "productid":
+                    productId = value;
+                    break;
+                case "servicetag":
+                    serviceTag = value;
+                    break;
+                case "serial":
+                case "serialnumber":
+                    serial = value;
+                    break;
+                case "firmware":
+                    firmware = value;
+                    break;
+                case "comment":
+                case "description":
+                    comment = value;
+                    break;
+                default:
+                    // Columns the form has no field for are ignored
+            }
+        }
+        if (title == null) {
+            return null;
+        }
+        return new ObjectData(title, manufacturer, model, productId, serviceTag, serial, firmware, comment);
+    }
+
+    private static String normalize(String column) {
+        return column.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+
+    /**
+     * A row that cannot be parsed. The reader skips it and continues with the next row.
+     */
+    protected static class MalformedRowException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructor for the MalformedRowException.
+         *
+         * @param message Why the row cannot be parsed
+         */
+        public MalformedRowException(String message) {
+            super(message);
+        }
+
+        /**
+         * Constructor for the MalformedRowException.
+         *
+         * @param message Why the row cannot be parsed
+         * @param cause Parser error
+         */
+        public MalformedRowException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
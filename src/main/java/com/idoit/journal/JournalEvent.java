@@ -0,0 +1,75 @@
+package com.idoit.journal;
+
+/**
+ * One entry of the run journal: an action or step of a worker with its duration and outcome.
+ * <p>
+ * Inside the {@link JournalRing} the instances are slots that are reused for later events; events read back
+ * from a journal file are not shared.
+ */
+public class JournalEvent {
+    private long timeMillis;
+    private RunJournal.Level level;
+    private String step;
+    private String locator;
+    private long durationNanos;
+    private String worker;
+    private RunJournal.Outcome outcome;
+    private String detail;
+
+    JournalEvent() {
+    }
+
+    void set(long timeMillis, RunJournal.Level level, String step, String locator, long durationNanos, String worker,
+             RunJournal.Outcome outcome, String detail) {
+        this.timeMillis = timeMillis;
+        this.level = level;
+        this.step = step;
+        this.locator = locator;
+        this.durationNanos = durationNanos;
+        this.worker = worker;
+        this.outcome = outcome;
+        this.detail = detail;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public RunJournal.Level getLevel() {
+        return level;
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    /**
+     * Locator of the element acted on.
+     *
+     * @return The locator, or null for events that are not about one element
+     */
+    public String getLocator() {
+        return locator;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public String getWorker() {
+        return worker;
+    }
+
+    public RunJournal.Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Free text of the event, e.g. the failure message.
+     *
+     * @return The detail, or null
+     */
+    public String getDetail() {
+        return detail;
+    }
+}
@@ -0,0 +1,252 @@
+package com.idoit.journal;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * File formats of the run journal.
+ * <p>
+ * {@link #JSONL} writes one JSON object per line with the keys {@code time}, {@code level}, {@code step},
+ * {@code locator}, {@code durationMicros}, {@code worker}, {@code outcome} and {@code detail}; keys without a
+ * value are left out. {@link #BINARY} writes a header followed by fixed-order records of the same fields,
+ * which is about half the size and cheaper to write. {@link #read(Path, Consumer)} tells them apart by the
+ * header.
+ */
+public enum JournalFormat {
+    JSONL(".jsonl"),
+    BINARY(".bin");
+
+    private static final byte[] BINARY_HEADER = {'I', 'D', 'J', '1'};
+    private static final int MAX_TEXT_LENGTH = 2000;
+    private static final Json JSON = new Json();
+
+    private final String extension;
+
+    JournalFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Writes events to a stream, used by the journal's writer thread only.
+     */
+    interface EventWriter extends AutoCloseable {
+        void write(JournalEvent event) throws IOException;
+
+        void flush() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * Create a writer of this format.
+     *
+     * @param out Stream to write to; closed with the writer
+     * @return The writer
+     * @throws IOException if the header cannot be written
+     */
+    EventWriter open(OutputStream out) throws IOException {
+        return this == BINARY ? new BinaryWriter(out) : new JsonLinesWriter(out);
+    }
+
+    /**
+     * Read all events of a journal file in either format.
+     *
+     * @param file The journal file
+     * @param consumer Receives every event
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    public static void read(Path file, Consumer<JournalEvent> consumer) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            in.mark(BINARY_HEADER.length);
+            byte[] header = in.readNBytes(BINARY_HEADER.length);
+            if (Arrays.equals(header, BINARY_HEADER)) {
+                readBinary(new DataInputStream(in), consumer);
+            } else {
+                in.reset();
+                readJsonLines(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), consumer);
+            }
+        }
+    }
+
+    private static void readBinary(DataInputStream in, Consumer<JournalEvent> consumer) throws IOException {
+        RunJournal.Level[] levels = RunJournal.Level.values();
+        RunJournal.Outcome[] outcomes = RunJournal.Outcome.values();
+        while (true) {
+            long time;
+            try {
+                time = in.readLong();
+            } catch (EOFException e) {
+                return;
+            }
+            JournalEvent event = new JournalEvent();
+            RunJournal.Level level = levels[in.readByte()];
+            String step = readText(in);
+            String locator = readText(in);
+            long durationNanos = in.readLong();
+            String worker = readText(in);
+            RunJournal.Outcome outcome = outcomes[in.readByte()];
+            event.set(time, level, step, locator, durationNanos, worker, outcome, readText(in));
+            consumer.accept(event);
+        }
+    }
+
+    private static void readJsonLines(BufferedReader reader, Consumer<JournalEvent> consumer) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            Map<String, Object> values = JSON.toType(line, Json.MAP_TYPE);
+            JournalEvent event = new JournalEvent();
+            Object duration = values.get("durationMicros");
+            event.set(((Number) values.get("time")).longValue(),
+                    RunJournal.Level.valueOf((String) values.get("level")),
+                    (String) values.get("step"),
+                    (String) values.get("locator"),
+                    duration == null ? 0 : ((Number) duration).longValue() * 1000,
+                    (String) values.get("worker"),
+                    RunJournal.Outcome.valueOf((String) values.get("outcome")),
+                    (String) values.get("detail"));
+            consumer.accept(event);
+        }
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static String truncate(String text) {
+        return text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+    }
+
+    private static final class BinaryWriter implements EventWriter {
+        private final DataOutputStream out;
+
+        private BinaryWriter(OutputStream out) throws IOException {
+            this.out = new DataOutputStream(out);
+            this.out.write(BINARY_HEADER);
+        }
+
+        @Override
+        public void write(JournalEvent event) throws IOException {
+            out.writeLong(event.getTimeMillis());
+            out.writeByte(event.getLevel().ordinal());
+            writeText(event.getStep());
+            writeText(event.getLocator());
+            out.writeLong(event.getDurationNanos());
+            writeText(event.getWorker());
+            out.writeByte(event.getOutcome().ordinal());
+            writeText(event.getDetail());
+        }
+
+        private void writeText(String text) throws IOException {
+            out.writeBoolean(text != null);
+            if (text != null) {
+                out.writeUTF(truncate(text));
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static final class JsonLinesWriter implements EventWriter {
+        private final Writer out;
+        // Reused for every line; only touched by the writer thread
+        private final StringBuilder line = new StringBuilder(256);
+
+        private JsonLinesWriter(OutputStream out) {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        public void write(JournalEvent event) throws IOException {
+            line.setLength(0);
+            line.append("{\"time\":").append(event.getTimeMillis());
+            line.append(",\"level\":\"").append(event.getLevel()).append('"');
+            appendText("step", event.getStep());
+            appendText("locator", event.getLocator());
+            line.append(",\"durationMicros\":").append(event.getDurationNanos() / 1000);
+            appendText("worker", event.getWorker());
+            line.append(",\"outcome\":\"").append(event.getOutcome()).append('"');
+            appendText("detail", event.getDetail());
+            line.append("}\n");
+            out.append(line);
+        }
+
+        private void appendText(String key, String value) {
+            if (value == null) {
+                return;
+            }
+            line.append(",\"").append(key).append("\":\"");
+            String text = truncate(value);
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '"':
+                        line.append("\\\"");
+                        break;
+                    case '\\':
+                        line.append("\\\\");
+                        break;
+                    case '\n':
+                        line.append("\\n");
+                        break;
+                    case '\r':
+                        line.append("\\r");
+                        break;
+                    case '\t':
+                        line.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            line.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            line.append(c);
+                        }
+                }
+            }
+            line.append('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
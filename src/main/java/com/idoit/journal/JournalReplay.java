@@ -0,0 +1,149 @@
+package com.idoit.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.idoit.metrics.LatencyHistogram;
+
+/**
+ * Reads a run journal back, in either format.
+ * <p>
+ * In {@code summary} mode it reports the time span of the run and, per step, the number of events, failures
+ * and retries with duration percentiles, ordered by total time, followed by the events per worker. In
+ * {@code events} mode it replays the events in order, one line each. A filter limits both modes to steps
+ * whose name contains it.
+ * <p>
+ * Usage: {@code JournalReplay <journalFile> [summary|events] [stepFilter]}
+ */
+public class JournalReplay {
+    private static final Logger logger = LoggerFactory.getLogger(JournalReplay.class);
+    private static final DateTimeFormatter TIME =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final Map<String, StepSummary> steps = new HashMap<>();
+    private final Map<String, Long> workers = new TreeMap<>();
+    private long events;
+    private long firstMillis = Long.MAX_VALUE;
+    private long lastMillis = Long.MIN_VALUE;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            logger.error("Usage: JournalReplay <journalFile> [summary|events] [stepFilter]");
+            System.exit(2);
+        }
+        Path file = Paths.get(args[0]);
+        boolean replay = args.length > 1 && "events".equals(args[1]);
+        String filter = args.length > 2 ? args[2] : "";
+
+        if (replay) {
+            JournalFormat.read(file, event -> {
+                if (event.getStep() != null && event.getStep().contains(filter)) {
+                    logger.info(format(event));
+                }
+            });
+            return;
+        }
+        JournalReplay summary = new JournalReplay();
+        JournalFormat.read(file, event -> {
+            if (event.getStep() != null && event.getStep().contains(filter)) {
+                summary.add(event);
+            }
+        });
+        summary.report();
+    }
+
+    /**
+     * Format an event as one line: time, level, worker, step, locator, duration, outcome and detail.
+     *
+     * @param event The event
+     * @return The line
+     */
+    public static String format(JournalEvent event) {
+        StringBuilder line = new StringBuilder(128);
+        line.append(TIME.format(Instant.ofEpochMilli(event.getTimeMillis())))
+                .append(' ').append(event.getLevel())
+                .append(" [").append(event.getWorker()).append("] ")
+                .append(event.getStep());
+        if (event.getLocator() != null) {
+            line.append(' ').append(event.getLocator());
+        }
+        line.append(' ').append(String.format("%.1f", event.getDurationNanos() / 1_000_000.0)).append(" ms ")
+                .append(event.getOutcome());
+        if (event.getDetail() != null) {
+            line.append(": ").append(event.getDetail());
+        }
+        return line.toString();
+    }
+
+    /**
+     * Add an event to the summary.
+     *
+     * @param event The event
+     */
+    public void add(JournalEvent event) {
+        events++;
+        firstMillis = Math.min(firstMillis, event.getTimeMillis());
+        lastMillis = Math.max(lastMillis, event.getTimeMillis());
+        workers.merge(event.getWorker(), 1L, Long::sum);
+        StepSummary step = steps.computeIfAbsent(event.getStep(), StepSummary::new);
+        switch (event.getOutcome()) {
+            case FAIL:
+                step.failures++;
+                break;
+            case RETRY:
+                // A retry marks a repeated attempt within an action, it has no duration of its own
+                step.retries++;
+                return;
+            default:
+                break;
+        }
+        step.durations.record(event.getDurationNanos());
+    }
+
+    /**
+     * Log the summary.
+     */
+    public void report() {
+        if (events == 0) {
+            logger.info("The journal holds no matching events.");
+            return;
+        }
+        logger.info("{} events from {} to {} ({} s) by {} workers.", events,
+                TIME.format(Instant.ofEpochMilli(firstMillis)), TIME.format(Instant.ofEpochMilli(lastMillis)),
+                (lastMillis - firstMillis) / 1000, workers.size());
+        List<StepSummary> ordered = new ArrayList<>(steps.values());
+        ordered.sort(Comparator.comparingLong((StepSummary step) -> step.durations.getSumMicros()).reversed());
+        for (StepSummary step : ordered) {
+            LatencyHistogram durations = step.durations;
+            logger.info("Step {}: count={}, failures={}, retries={}, total={} ms, p50={} ms, p95={} ms, max={} ms",
+                    step.name, durations.getCount(), step.failures, step.retries, durations.getSumMicros() / 1000,
+                    durations.percentileMicros(50) / 1000.0, durations.percentileMicros(95) / 1000.0,
+                    durations.getMaxMicros() / 1000.0);
+        }
+        workers.forEach((worker, count) -> logger.info("Worker {}: {} events", worker, count));
+    }
+
+    private static class StepSummary {
+        private final String name;
+        private final LatencyHistogram durations = new LatencyHistogram();
+        private long failures;
+        private long retries;
+
+        private StepSummary(String name) {
+            this.name = name;
+        }
+    }
+}
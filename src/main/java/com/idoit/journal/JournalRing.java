@@ -0,0 +1,92 @@
+package com.idoit.journal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring of journal events without locks.
+ * <p>
+ * Producers claim a sequence number with a compare-and-set, fill the slot of that number and publish it by
+ * writing the number into the slot. The consumer reads the slots in sequence order, waiting for a claimed
+ * slot until it is published, and frees it by advancing its own sequence. A producer that finds the ring
+ * full does not wait: the event is dropped and counted, so a slow disk never slows down the workers.
+ */
+final class JournalRing {
+    private final JournalEvent[] events;
+    // Sequence a slot was last published with, -1 before its first use
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    // Next sequence to consume; written by the consumer only
+    private volatile long consumed;
+
+    /**
+     * Constructor for the JournalRing.
+     *
+     * @param capacity Number of slots, rounded up to a power of two
+     */
+    JournalRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.events = new JournalEvent[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            events[i] = new JournalEvent();
+            published.set(i, -1);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Add an event, or drop it if the ring is full.
+     *
+     * @return true if the event was added
+     */
+    boolean offer(long timeMillis, RunJournal.Level level, String step, String locator, long durationNanos,
+                  String worker, RunJournal.Outcome outcome, String detail) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= events.length) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) (sequence & mask);
+        events[index].set(timeMillis, level, step, locator, durationNanos, worker, outcome, detail);
+        published.set(index, sequence);
+        return true;
+    }
+
+    /**
+     * The next event for the consumer, without removing it.
+     *
+     * @return The event, or null if it is not published yet
+     */
+    JournalEvent peek() {
+        long sequence = consumed;
+        int index = (int) (sequence & mask);
+        return published.get(index) == sequence ? events[index] : null;
+    }
+
+    /**
+     * Free the slot of the event returned by {@link #peek()}.
+     */
+    void advance() {
+        consumed = consumed + 1;
+    }
+
+    /**
+     * Check if every claimed event was consumed.
+     *
+     * @return true if the ring is empty
+     */
+    boolean isEmpty() {
+        return consumed == claimed.get();
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,213 @@
+package com.idoit.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.idoit.config.RunOptions;
+
+/**
+ * Structured journal of the actions and steps of a run, written in the background.
+ * <p>
+ * Recording an event puts it into a lock-free {@link JournalRing} and returns; a single writer thread drains
+ * the ring into a JSON Lines or binary file, see {@link JournalFormat}, so workers neither wait for the disk
+ * nor contend for a console lock. Events below the configured level are skipped, and successful events are
+ * kept at the sample rate; failures and retries are always kept. When the ring is full, events are dropped
+ * rather than blocking the worker, and the number dropped is logged at the end.
+ * <p>
+ * The journal of the run is configured with {@code -Didoit.journal=JSONL|BINARY|OFF},
+ * {@code idoit.journalLevel}, {@code idoit.journalSampleRate} and {@code idoit.journalDir}, and is closed
+ * when the JVM exits. {@link JournalReplay} reads a journal back.
+ */
+public final class RunJournal implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(RunJournal.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final RunJournal GLOBAL = fromOptions();
+
+    /**
+     * Severity of an event.
+     */
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR
+    }
+
+    /**
+     * Result of the action or step an event is about.
+     */
+    public enum Outcome {
+        OK, RETRY, FAIL
+    }
+
+    private final Path file;
+    private final Level level;
+    private final double sampleRate;
+    private final JournalRing ring;
+    private final Thread writer;
+    private final LongAdder sampledOut = new LongAdder();
+    private volatile boolean running = true;
+
+    /**
+     * Constructor for the RunJournal, starting its writer thread.
+     *
+     * @param format Format of the journal file
+     * @param file File the journal is written to; replaced if it exists
+     * @param level Lowest level that is recorded
+     * @param sampleRate Share of the successful events that is recorded, between 0 and 1
+     * @param capacity Number of events the ring holds before events are dropped
+     * @throws IOException if the file cannot be created
+     */
+    public RunJournal(JournalFormat format, Path file, Level level, double sampleRate, int capacity) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        JournalFormat.EventWriter out = format.open(Files.newOutputStream(file));
+        this.file = file;
+        this.level = level;
+        this.sampleRate = sampleRate;
+        this.ring = new JournalRing(capacity);
+        this.writer = new Thread(() -> drain(out), "journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    private RunJournal() {
+        this.file = null;
+        this.level = Level.ERROR;
+        this.sampleRate = 0;
+        this.ring = null;
+        this.writer = null;
+        this.running = false;
+    }
+
+    /**
+     * The journal of the run, as configured with the idoit.journal* properties.
+     *
+     * @return The journal; a journal that records nothing if journaling is off or the file cannot be created
+     */
+    public static RunJournal global() {
+        return GLOBAL;
+    }
+
+    private static RunJournal fromOptions() {
+        if ("OFF".equalsIgnoreCase(RunOptions.JOURNAL)) {
+            return new RunJournal();
+        }
+        JournalFormat format = JournalFormat.valueOf(RunOptions.JOURNAL.toUpperCase());
+        Path file = Paths.get(RunOptions.JOURNAL_DIR, "run_" + System.currentTimeMillis() + format.getExtension());
+        try {
+            RunJournal journal = new RunJournal(format, file, Level.valueOf(RunOptions.JOURNAL_LEVEL.toUpperCase()),
+                    RunOptions.JOURNAL_SAMPLE_RATE, RunOptions.JOURNAL_BUFFER_SIZE);
+            Runtime.getRuntime().addShutdownHook(new Thread(journal::close, "journal-closer"));
+            return journal;
+        } catch (IOException e) {
+            logger.warn("Run journal disabled, cannot create {}: {}", file, e.getMessage());
+            return new RunJournal();
+        }
+    }
+
+    /**
+     * Check if events of a level are recorded, to skip building details that would be discarded.
+     *
+     * @param eventLevel Level of the event
+     * @return true if events of the level are recorded
+     */
+    public boolean isEnabled(Level eventLevel) {
+        return running && eventLevel.compareTo(level) >= 0;
+    }
+
+    /**
+     * Record an event of the calling worker.
+     *
+     * @param eventLevel Level of the event
+     * @param step Name of the step or action, e.g. {@code NewObjectPage.clickElement}
+     * @param locator Locator of the element acted on, or null
+     * @param durationNanos Duration of the action
+     * @param outcome Result of the action
+     * @param detail Free text such as a failure message, or null
+     */
+    public void record(Level eventLevel, String step, String locator, long durationNanos, Outcome outcome, String detail) {
+        if (!isEnabled(eventLevel)) {
+            return;
+        }
+        if (outcome == Outcome.OK && sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+            return;
+        }
+        ring.offer(System.currentTimeMillis(), eventLevel, step, locator, durationNanos, workerName(), outcome, detail);
+    }
+
+    private static String workerName() {
+        Thread thread = Thread.currentThread();
+        String name = thread.getName();
+        return name.isEmpty() ? "virtual-" + thread.threadId() : name;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Write the events of the ring until the journal is closed and the ring is empty. The file is flushed
+     * when the ring runs empty, at most every 200 ms.
+     */
+    private void drain(JournalFormat.EventWriter out) {
+        boolean failed = false;
+        boolean dirty = false;
+        long lastFlush = System.nanoTime();
+        try (JournalFormat.EventWriter writer = out) {
+            while (running || !ring.isEmpty()) {
+                JournalEvent event = ring.peek();
+                if (event != null) {
+                    if (!failed) {
+                        try {
+                            writer.write(event);
+                            dirty = true;
+                        } catch (IOException e) {
+                            failed = true;
+                            logger.error("Run journal {} stopped writing: {}", file, e.getMessage());
+                        }
+                    }
+                    ring.advance();
+                    continue;
+                }
+                if (dirty && !failed && System.nanoTime() - lastFlush >= FLUSH_INTERVAL_NANOS) {
+                    writer.flush();
+                    dirty = false;
+                    lastFlush = System.nanoTime();
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        } catch (IOException e) {
+            logger.error("Run journal {} could not be written: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Write the remaining events and close the file. Events recorded afterwards are ignored.
+     */
+    @Override
+    public void close() {
+        if (writer == null || !running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ring.getDropped() > 0 || sampledOut.sum() > 0) {
+            logger.info("Run journal {}: {} events dropped for a full buffer, {} sampled out.", file,
+                    ring.getDropped(), sampledOut.sum());
+        }
+    }
+}
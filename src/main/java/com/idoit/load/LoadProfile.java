@@ -0,0 +1,80 @@
+package com.idoit.load;
+
+import com.idoit.config.RunOptions;
+
+/**
+ * Shape of a load test: how many users start per second up to the target population, how long that
+ * population is held, how long the users take to stop again and how long they think between steps.
+ */
+public class LoadProfile {
+    private final int users;
+    private final double usersPerSecond;
+    private final long steadyMillis;
+    private final long rampDownMillis;
+    private final long thinkMillis;
+
+    /**
+     * Constructor for the LoadProfile.
+     *
+     * @param users Concurrent users at steady state
+     * @param usersPerSecond Users started per second during the ramp-up
+     * @param steadyMillis Duration of the steady state
+     * @param rampDownMillis Time over which the users are stopped one by one
+     * @param thinkMillis Mean think time between two steps of a user
+     */
+    public LoadProfile(int users, double usersPerSecond, long steadyMillis, long rampDownMillis, long thinkMillis) {
+        if (users < 1 || usersPerSecond <= 0) {
+            throw new IllegalArgumentException("A load test needs at least one user and a positive arrival rate");
+        }
+        this.users = users;
+        this.usersPerSecond = usersPerSecond;
+        this.steadyMillis = steadyMillis;
+        this.rampDownMillis = rampDownMillis;
+        this.thinkMillis = thinkMillis;
+    }
+
+    /**
+     * The profile configured with the idoit.load* properties.
+     *
+     * @return The load profile
+     */
+    public static LoadProfile fromOptions() {
+        return new LoadProfile(RunOptions.LOAD_USERS, RunOptions.LOAD_USERS_PER_SECOND,
+                RunOptions.LOAD_STEADY_SECONDS * 1000, RunOptions.LOAD_RAMP_DOWN_SECONDS * 1000, RunOptions.LOAD_THINK_MILLIS);
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    /**
+     * Time between the start of two users during the ramp-up.
+     *
+     * @return Interval in milliseconds
+     */
+    public long getArrivalIntervalMillis() {
+        return (long) (1000 / usersPerSecond);
+    }
+
+    public long getRampUpMillis() {
+        return (users - 1) * getArrivalIntervalMillis();
+    }
+
+    public long getSteadyMillis() {
+        return steadyMillis;
+    }
+
+    public long getRampDownMillis() {
+        return rampDownMillis;
+    }
+
+    public long getThinkMillis() {
+        return thinkMillis;
+    }
+
+    @Override
+    public String toString() {
+        return users + " users at " + usersPerSecond + "/s, " + steadyMillis / 1000 + " s steady, "
+                + rampDownMillis / 1000 + " s ramp-down, " + thinkMillis + " ms think time";
+    }
+}
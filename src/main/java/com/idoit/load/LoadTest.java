@@ -0,0 +1,240 @@
+package com.idoit.load;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.idoit.artifacts.ArtifactPipeline;
+import com.idoit.bench.StandInServer;
+import com.idoit.config.RunOptions;
+import com.idoit.driver.DriverProfile;
+import com.idoit.driver.DriverProvider;
+import com.idoit.metrics.LatencyHistogram;
+import com.idoit.metrics.StepMetrics;
+
+/**
+ * Drives i-doit with a ramping population of concurrent UI users and checks the result against SLOs.
+ * <p>
+ * Users start at the configured rate until the target population is reached, which is then held for the
+ * steady state; during the ramp-down they are stopped one by one, each after finishing its journey. Every
+ * user runs on a virtual thread with a browser of its own, see {@link SimulatedUser}.
+ * <p>
+ * At the end a summary is logged and written as JSON to {@link RunOptions#LOAD_REPORT_FILE}: per step the
+ * count, error rate, duration and server time percentiles and whether the server time at
+ * {@link RunOptions#LOAD_SLO_PERCENTILE} and the error rate met their SLO, plus the number of active users
+ * and completed journeys per second. The exit code is 1 if an SLO was missed.
+ * <p>
+ * Usage: {@code LoadTest [standInDelayMillis]}; with an argument the test runs against an embedded
+ * {@link StandInServer} that answers with the given delay instead of the configured i-doit.
+ */
+public class LoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+    private static final Json JSON = new Json();
+    private static final String[] STEPS =
+            {"login", "navigateToHardware", "navigateToClientSection", "clickNewObject", "createNewObject"};
+
+    private final LoadProfile profile;
+    private final DriverProvider driverProvider;
+    private final Map<String, Long> sloMillis;
+    private final StepMetrics metrics = new StepMetrics();
+    private final AtomicLong journeys = new AtomicLong();
+    private final List<SimulatedUser> active = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private final List<long[]> timeline = new ArrayList<>();
+
+    /**
+     * Constructor for the LoadTest.
+     *
+     * @param profile Ramp and think time of the test
+     * @param driverProvider Provider of the users' browsers
+     * @param sloMillis Server time SLO in milliseconds per step
+     */
+    public LoadTest(LoadProfile profile, DriverProvider driverProvider, Map<String, Long> sloMillis) {
+        this.profile = profile;
+        this.driverProvider = driverProvider;
+        this.sloMillis = sloMillis;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        StandInServer standIn = null;
+        if (args.length > 0) {
+            standIn = new StandInServer(0, Long.parseLong(args[0]));
+            System.setProperty("idoit.url", standIn.getBaseUrl());
+        }
+        boolean passed;
+        try {
+            LoadTest test = new LoadTest(LoadProfile.fromOptions(), DriverProvider.fromOptions(DriverProfile.LEAN),
+                    parseSlo(RunOptions.LOAD_SLO));
+            test.run();
+            passed = test.report(Paths.get(RunOptions.LOAD_REPORT_FILE));
+        } finally {
+            if (standIn != null) {
+                standIn.close();
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Parse SLOs given as {@code step=millis} pairs separated by commas.
+     *
+     * @param slo The SLO definition
+     * @return Milliseconds per step
+     */
+    public static Map<String, Long> parseSlo(String slo) {
+        Map<String, Long> millis = new LinkedHashMap<>();
+        for (String pair : slo.split(",")) {
+            String[] parts = pair.trim().split("=", 2);
+            if (parts.length == 2) {
+                millis.put(parts[0].trim(), Long.parseLong(parts[1].trim()));
+            }
+        }
+        return millis;
+    }
+
+    /**
+     * Run the ramp-up, steady state and ramp-down.
+     *
+     * @throws InterruptedException if interrupted; all users are stopped then
+     */
+    public void run() throws InterruptedException {
+        logger.info("Load test against {}: {}", RunOptions.baseUrl(), profile);
+        long start = System.nanoTime();
+        try (ArtifactPipeline artifacts = new ArtifactPipeline()) {
+            for (int i = 0; i < profile.getUsers(); i++) {
+                if (i > 0) {
+                    sampleFor(profile.getArrivalIntervalMillis());
+                }
+                SimulatedUser user = new SimulatedUser(i + 1, driverProvider, profile, metrics, artifacts, journeys);
+                active.add(user);
+                threads.add(Thread.ofVirtual().name("load-user-" + (i + 1)).start(user));
+            }
+            logger.info("All {} users started after {} s, holding for {} s.", profile.getUsers(),
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), profile.getSteadyMillis() / 1000);
+            sampleFor(profile.getSteadyMillis());
+
+            long stopInterval = profile.getRampDownMillis() / profile.getUsers();
+            for (SimulatedUser user : active) {
+                user.stop();
+                sampleFor(stopInterval);
+            }
+            awaitUsers();
+        } finally {
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+        }
+        logger.info("Load test finished after {} s.", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    /**
+     * Wait for the stopped users to finish their journeys, giving up after the workflow timeout.
+     */
+    private void awaitUsers() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + RunOptions.WORKFLOW_TIMEOUT_MILLIS;
+        for (Thread thread : threads) {
+            while (thread.isAlive() && System.currentTimeMillis() < deadline) {
+                sampleFor(Math.min(1000, Math.max(1, deadline - System.currentTimeMillis())));
+            }
+        }
+    }
+
+    /**
+     * Sleep for a while, recording the number of running users and completed journeys every second.
+     */
+    private void sampleFor(long millis) throws InterruptedException {
+        long end = System.currentTimeMillis() + millis;
+        long now;
+        while ((now = System.currentTimeMillis()) < end) {
+            Thread.sleep(Math.min(1000, end - now));
+            long running = threads.stream().filter(Thread::isAlive).count();
+            timeline.add(new long[] {System.currentTimeMillis(), running, journeys.get()});
+        }
+    }
+
+    /**
+     * Log the summary, check the SLOs and write the report.
+     *
+     * @param file File the JSON report is written to
+     * @return true if every SLO was met
+     * @throws IOException if the report cannot be written
+     */
+    public boolean report(Path file) throws IOException {
+        boolean passed = true;
+        Map<String, Object> steps = new LinkedHashMap<>();
+        for (String name : STEPS) {
+            StepMetrics.Step step = metrics.step(name);
+            LatencyHistogram total = step.getTotal();
+            LatencyHistogram server = step.getServerTime();
+            long count = total.getCount();
+            double errorRate = count == 0 ? 0 : (double) step.getFailures() / count;
+            long serverMillis = server.percentileMicros(RunOptions.LOAD_SLO_PERCENTILE) / 1000;
+            Long slo = sloMillis.get(name);
+            boolean latencyMet = slo == null || serverMillis <= slo;
+            boolean errorsMet = errorRate <= RunOptions.LOAD_MAX_ERROR_RATE;
+            passed &= latencyMet && errorsMet && count > 0;
+
+            logger.info("Step {}: n={}, errors={} ({}%), p50={} ms, p95={} ms, p99={} ms, server p{}={} ms (SLO {} ms) {}",
+                    name, count, step.getFailures(), String.format("%.2f", errorRate * 100),
+                    total.percentileMicros(50) / 1000, total.percentileMicros(95) / 1000,
+                    total.percentileMicros(99) / 1000, (int) RunOptions.LOAD_SLO_PERCENTILE, serverMillis,
+                    slo == null ? "-" : slo, latencyMet && errorsMet && count > 0 ? "PASS" : "FAIL");
+
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", count);
+            values.put("failures", step.getFailures());
+            values.put("errorRate", errorRate);
+            values.put("p50Millis", total.percentileMicros(50) / 1000.0);
+            values.put("p95Millis", total.percentileMicros(95) / 1000.0);
+            values.put("p99Millis", total.percentileMicros(99) / 1000.0);
+            values.put("maxMillis", total.getMaxMicros() / 1000.0);
+            values.put("serverSloPercentileMillis", serverMillis);
+            values.put("serverSloMillis", slo);
+            values.put("passed", latencyMet && errorsMet && count > 0);
+            steps.put(name, values);
+        }
+        long browserFailures = metrics.step("startBrowser").getFailures();
+        passed &= browserFailures == 0;
+        logger.info("{} journeys completed, peak {} users, {} browsers failed to start. Load test {}.", journeys.get(),
+                timeline.stream().mapToLong(sample -> sample[1]).max().orElse(0), browserFailures,
+                passed ? "PASSED" : "FAILED");
+
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("url", RunOptions.baseUrl());
+        content.put("profile", profile.toString());
+        content.put("sloPercentile", RunOptions.LOAD_SLO_PERCENTILE);
+        content.put("maxErrorRate", RunOptions.LOAD_MAX_ERROR_RATE);
+        content.put("journeys", journeys.get());
+        content.put("browserFailures", browserFailures);
+        content.put("passed", passed);
+        content.put("steps", steps);
+        List<Map<String, Object>> samples = new ArrayList<>();
+        for (long[] sample : timeline) {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("time", sample[0]);
+            point.put("activeUsers", sample[1]);
+            point.put("journeys", sample[2]);
+            samples.add(point);
+        }
+        content.put("timeline", samples);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, JSON.toJson(content).getBytes(StandardCharsets.UTF_8));
+        logger.info("Load test report written to {}", file);
+        return passed;
+    }
+}
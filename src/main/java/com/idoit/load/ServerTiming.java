@@ -0,0 +1,46 @@
+package com.idoit.load;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Reads the time i-doit needed to answer the requests of a step, as measured by the browser.
+ * <p>
+ * Uses the Navigation and Resource Timing APIs: for the document load and every XHR or fetch request,
+ * the time from sending the request to the first response byte is added up. Entries are consumed when
+ * read, so each call covers the requests since the previous one. Only the page a step ends on is seen;
+ * requests of a page the step navigated away from are lost with that page.
+ */
+final class ServerTiming {
+    private static final String READ_SCRIPT =
+            "var total = 0;"
+            + "function add(e) { if (e.responseStart > 0) { total += e.responseStart - e.requestStart; } }"
+            + "if (!window.__idoitServerTimed) {"
+            + "  performance.getEntriesByType('navigation').forEach(add);"
+            + "  window.__idoitServerTimed = true;"
+            + "}"
+            + "performance.getEntriesByType('resource').forEach(function (e) {"
+            + "  if (e.initiatorType === 'xmlhttprequest' || e.initiatorType === 'fetch') { add(e); }"
+            + "});"
+            + "performance.clearResourceTimings();"
+            + "return total;";
+
+    private ServerTiming() {
+    }
+
+    /**
+     * Read and consume the server time of the requests since the last call.
+     *
+     * @param driver Driver of the user
+     * @return Server time in nanoseconds, -1 if the page does not provide timings
+     */
+    static long readNanos(WebDriver driver) {
+        try {
+            Object millis = ((JavascriptExecutor) driver).executeScript(READ_SCRIPT);
+            return millis instanceof Number ? (long) (((Number) millis).doubleValue() * 1_000_000) : -1;
+        } catch (WebDriverException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.idoit.load;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.idoit.artifacts.ArtifactPipeline;
+import com.idoit.data.TestDataGenerator;
+import com.idoit.driver.DriverProvider;
+import com.idoit.metrics.StepMetrics;
+import com.idoit.pages.ClientPage;
+import com.idoit.pages.DashboardPage;
+import com.idoit.pages.HardwarePage;
+import com.idoit.pages.LoginPage;
+import com.idoit.pages.NewObjectPage;
+
+/**
+ * One operator of a load test, with a browser of its own.
+ * <p>
+ * The user repeats the journey login, Hardware, Client list, new object form and save, thinking between
+ * the steps, until it is asked to stop; a journey that was started is always finished first. Each step
+ * records its duration, the server time of its requests and its failures. A failed step ends the journey,
+ * and the next one starts with a new login.
+ */
+class SimulatedUser implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(SimulatedUser.class);
+
+    private final int id;
+    private final DriverProvider driverProvider;
+    private final LoadProfile profile;
+    private final StepMetrics metrics;
+    private final ArtifactPipeline artifacts;
+    private final AtomicLong journeys;
+    private volatile boolean stopRequested;
+
+    SimulatedUser(int id, DriverProvider driverProvider, LoadProfile profile, StepMetrics metrics,
+                  ArtifactPipeline artifacts, AtomicLong journeys) {
+        this.id = id;
+        this.driverProvider = driverProvider;
+        this.profile = profile;
+        this.metrics = metrics;
+        this.artifacts = artifacts;
+        this.journeys = journeys;
+    }
+
+    /**
+     * Let the user finish its current journey and then quit.
+     */
+    void stop() {
+        stopRequested = true;
+    }
+
+    @Override
+    public void run() {
+        WebDriver driver;
+        try {
+            driver = driverProvider.create();
+        } catch (RuntimeException e) {
+            metrics.recordFailure("startBrowser");
+            logger.error("User {} could not start a browser: {}", id, e.getMessage());
+            return;
+        }
+        try {
+            while (!stopRequested && !Thread.currentThread().isInterrupted()) {
+                if (runJourney(driver)) {
+                    journeys.incrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            driver.quit();
+        }
+    }
+
+    private boolean runJourney(WebDriver driver) throws InterruptedException {
+        driver.manage().deleteAllCookies();
+        DashboardPage dashboardPage = step(driver, "login", d -> new LoginPage(d).navigateTo().loginWithDefaultCredentials());
+        if (dashboardPage == null) {
+            return false;
+        }
+        think();
+        HardwarePage hardwarePage = step(driver, "navigateToHardware", d -> dashboardPage.navigateToHardware());
+        if (hardwarePage == null) {
+            return false;
+        }
+        think();
+        ClientPage clientPage = step(driver, "navigateToClientSection", d -> hardwarePage.navigateToClientSection());
+        if (clientPage == null) {
+            return false;
+        }
+        think();
+        NewObjectPage newObjectPage = step(driver, "clickNewObject", d -> clientPage.clickNewObject().waitUntilLoaded());
+        if (newObjectPage == null) {
+            return false;
+        }
+        think();
+        String title = TestDataGenerator.uniqueTitle("load");
+        if (step(driver, "createNewObject", d -> newObjectPage.createNewObject(title)) == null) {
+            return false;
+        }
+        think();
+        return true;
+    }
+
+    /**
+     * Run a step, recording its duration and server time.
+     *
+     * @return The result of the step, or null if it failed
+     */
+    private <T> T step(WebDriver driver, String name, Function<WebDriver, T> action) {
+        // Drop the timings of requests made before the step, e.g. by an earlier step's late XHR
+        ServerTiming.readNanos(driver);
+        try {
+            T result = metrics.time(name, () -> action.apply(driver));
+            long serverNanos = ServerTiming.readNanos(driver);
+            if (serverNanos >= 0) {
+                metrics.recordServer(name, serverNanos);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            logger.warn("User {} failed in step {}: {}", id, name, e.getMessage());
+            artifacts.onFailure(driver, "load_" + name);
+            return null;
+        }
+    }
+
+    private void think() throws InterruptedException {
+        long think = profile.getThinkMillis();
+        if (think > 0) {
+            // Uniform between half and one and a half times the mean
+            Thread.sleep(think / 2 + TestDataGenerator.current().nextInt((int) Math.min(Integer.MAX_VALUE, think + 1)));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.idoit.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves the step metrics in the Prometheus text format on {@code /metrics} while a run is in progress.
+ */
+public class MetricsEndpoint implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsEndpoint.class);
+
+    private final HttpServer server;
+
+    /**
+     * Start the endpoint.
+     *
+     * @param port Port to listen on
+     * @param metrics Metrics to expose
+     * @throws IOException if the server cannot be started
+     */
+    public MetricsEndpoint(int port, StepMetrics metrics) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = metrics.toPrometheusText().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        logger.info("Metrics available on http://localhost:{}/metrics", port);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,202 @@
+package com.idoit.metrics;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Registry of timing metrics for the page-object layer.
+ * <p>
+ * Every step (a {@code BasePage} primitive or a public page method, named {@code Page.method}) has
+ * histograms for its total, wait and action time, plus failure and retry counters. Steps that send a
+ * request to i-doit can also record the server time measured by the browser.
+ */
+public class StepMetrics {
+    private static final StepMetrics GLOBAL = new StepMetrics();
+    private static final double[] PERCENTILES = {50, 95, 99};
+
+    private final Map<String, Step> steps = new ConcurrentHashMap<>();
+
+    /**
+     * Metrics of a single step.
+     */
+    public static class Step {
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final LatencyHistogram waitTime = new LatencyHistogram();
+        private final LatencyHistogram actionTime = new LatencyHistogram();
+        private final LatencyHistogram serverTime = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+
+        public LatencyHistogram getTotal() {
+            return total;
+        }
+
+        public LatencyHistogram getWaitTime() {
+            return waitTime;
+        }
+
+        public LatencyHistogram getActionTime() {
+            return actionTime;
+        }
+
+        public LatencyHistogram getServerTime() {
+            return serverTime;
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getRetries() {
+            return retries.sum();
+        }
+    }
+
+    /**
+     * The registry shared by all page objects of the process.
+     *
+     * @return The global StepMetrics instance
+     */
+    public static StepMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Run a step, recording its total time and whether it failed.
+     *
+     * @param step Name of the step
+     * @param body Work of the step
+     * @return The value returned by the body
+     */
+    public <T> T time(String step, Supplier<T> body) {
+        Step metrics = step(step);
+        long start = System.nanoTime();
+        try {
+            return body.get();
+        } catch (RuntimeException e) {
+            metrics.failures.increment();
+            throw e;
+        } finally {
+            metrics.total.record(System.nanoTime() - start);
+        }
+    }
+
+    public void recordWait(String step, long nanos) {
+        step(step).waitTime.record(nanos);
+    }
+
+    public void recordAction(String step, long nanos) {
+        step(step).actionTime.record(nanos);
+    }
+
+    public void recordServer(String step, long nanos) {
+        step(step).serverTime.record(nanos);
+    }
+
+    public void recordFailure(String step) {
+        step(step).failures.increment();
+    }
+
+    public void recordRetry(String step) {
+        step(step).retries.increment();
+    }
+
+    /**
+     * Get the metrics of a step, creating them on first use.
+     *
+     * @param step Name of the step
+     * @return The metrics of the step
+     */
+    public Step step(String step) {
+        return steps.computeIfAbsent(step, k -> new Step());
+    }
+
+    /**
+     * Write all metrics as JSON, with count, sum, max and p50/p95/p99 in milliseconds per histogram.
+     *
+     * @param file File to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeJson(Path file) throws IOException {
+        Map<String, Object> content = new LinkedHashMap<>();
+        new TreeMap<>(steps).forEach((name, step) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("total", describe(step.total));
+            values.put("wait", describe(step.waitTime));
+            values.put("action", describe(step.actionTime));
+            values.put("server", describe(step.serverTime));
+            values.put("failures", step.getFailures());
+            values.put("retries", step.getRetries());
+            content.put(name, values);
+        });
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, new Json().toJson(content).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Render all metrics in the Prometheus text exposition format.
+     *
+     * @return Prometheus text
+     */
+    public String toPrometheusText() {
+        StringBuilder out = new StringBuilder();
+        out.append("# TYPE idoit_step_seconds summary\n");
+        new TreeMap<>(steps).forEach((name, step) -> {
+            appendSummary(out, name, "total", step.total);
+            appendSummary(out, name, "wait", step.waitTime);
+            appendSummary(out, name, "action", step.actionTime);
+            appendSummary(out, name, "server", step.serverTime);
+        });
+        out.append("# TYPE idoit_step_failures_total counter\n");
+        new TreeMap<>(steps).forEach((name, step) -> out.append("idoit_step_failures_total{step=\"")
+                .append(name).append("\"} ").append(step.getFailures()).append('\n'));
+        out.append("# TYPE idoit_step_retries_total counter\n");
+        new TreeMap<>(steps).forEach((name, step) -> out.append("idoit_step_retries_total{step=\"")
+                .append(name).append("\"} ").append(step.getRetries()).append('\n'));
+        return out.toString();
+    }
+
+    private static Map<String, Object> describe(LatencyHistogram histogram) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("count", histogram.getCount());
+        values.put("sumMs", histogram.getSumMicros() / 1000.0);
+        values.put("maxMs", histogram.getMaxMicros() / 1000.0);
+        for (double percentile : PERCENTILES) {
+            values.put("p" + (int) percentile + "Ms", histogram.percentileMicros(percentile) / 1000.0);
+        }
+        return values;
+    }
+
+    private static void appendSummary(StringBuilder out, String step, String phase, LatencyHistogram histogram) {
+        if (histogram.getCount() == 0) {
+            return;
+        }
+        String labels = "step=\"" + step + "\",phase=\"" + phase + "\"";
+        for (double percentile : PERCENTILES) {
+            out.append("idoit_step_seconds{").append(labels).append(",quantile=\"")
+                    .append(String.format(Locale.ROOT, "%.2f", percentile / 100)).append("\"} ")
+                    .append(seconds(histogram.percentileMicros(percentile))).append('\n');
+        }
+        out.append("idoit_step_seconds_sum{").append(labels).append("} ")
+                .append(seconds(histogram.getSumMicros())).append('\n');
+        out.append("idoit_step_seconds_count{").append(labels).append("} ")
+                .append(histogram.getCount()).append('\n');
+    }
+
+    private static String seconds(long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1_000_000.0);
+    }
+}
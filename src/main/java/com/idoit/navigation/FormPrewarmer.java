@@ -0,0 +1,117 @@
+package com.idoit.navigation;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.idoit.pages.ClientPage;
+import com.idoit.pages.NewObjectPage;
+import com.idoit.runner.StepStats;
+
+/**
+ * Keeps the form for a worker's next object loading in a second tab while the current object is saved.
+ * <p>
+ * {@link #prewarm(WebDriver)} is meant to run right after the final save was clicked: it points the spare
+ * tab at the cached "new object" URL, or at the Client list when the form is reached by clicking through,
+ * and returns without waiting for the page. {@link #openNextForm(WebDriver)} then switches to that tab, so
+ * the next object starts on a loaded page and the tabs swap roles. If nothing was pre-loaded or the spare
+ * tab is not usable, the form is opened through the {@link NewObjectNavigator} as usual.
+ * <p>
+ * Every browser holds two i-doit pages at once, which costs some memory per worker. The tabs take turns
+ * showing the form, so saves cannot be detected from the network events of the {@code SaveMonitor}, which
+ * listens to a single tab.
+ */
+public class FormPrewarmer {
+    private static final Logger logger = LoggerFactory.getLogger(FormPrewarmer.class);
+    private static final Map<WebDriver, FormPrewarmer> PREWARMERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // No reference to the driver, which is the weak key of this prewarmer
+    private final NewObjectNavigator navigator;
+    private final StepStats stepStats;
+    private String spareTab;
+    // URL loading in the spare tab, null if it holds nothing useful
+    private String spareUrl;
+
+    private FormPrewarmer(NewObjectNavigator navigator) {
+        this.navigator = navigator;
+        this.stepStats = navigator.getStepStats();
+    }
+
+    /**
+     * Get the prewarmer of a driver, creating it on first use.
+     *
+     * @param driver Logged in driver, used by one worker at a time
+     * @param navigator Navigator providing the URLs and the fallback navigation
+     * @return The prewarmer of the driver
+     */
+    public static FormPrewarmer forDriver(WebDriver driver, NewObjectNavigator navigator) {
+        return PREWARMERS.computeIfAbsent(driver, d -> new FormPrewarmer(navigator));
+    }
+
+    /**
+     * Open the form for the next object, from the spare tab if it was pre-loaded.
+     *
+     * @param driver The driver of this prewarmer
+     * @return NewObjectPage instance showing the empty form
+     */
+    public NewObjectPage openNextForm(WebDriver driver) {
+        String url = spareUrl;
+        spareUrl = null;
+        if (url != null) {
+            try {
+                String current = driver.getWindowHandle();
+                driver.switchTo().window(spareTab);
+                spareTab = current;
+                if (navigator.isNewObjectUrl(url)) {
+                    return stepStats.time("openPrewarmedForm", () -> new NewObjectPage(driver).waitUntilLoaded());
+                }
+                return stepStats.time("clickNewObject(prewarmed)", () -> new ClientPage(driver).clickNewObject());
+            } catch (NoSuchWindowException e) {
+                logger.warn("Spare tab was closed, navigating to the form instead.");
+                spareTab = null;
+            } catch (WebDriverException e) {
+                logger.warn("Pre-loaded page {} is not usable, navigating to the form instead: {}", url, e.getMessage());
+            }
+        }
+        return navigator.openNewClientForm(driver);
+    }
+
+    /**
+     * Start loading the next form in the spare tab, opening the tab on first use. Returns without waiting for
+     * the page and with the current tab selected again.
+     *
+     * @param driver The driver of this prewarmer
+     */
+    public void prewarm(WebDriver driver) {
+        String url = navigator.getNextObjectUrl();
+        if (url == null) {
+            return;
+        }
+        String current = driver.getWindowHandle();
+        try {
+            if (spareTab == null) {
+                driver.switchTo().newWindow(WindowType.TAB);
+                spareTab = driver.getWindowHandle();
+            } else {
+                driver.switchTo().window(spareTab);
+            }
+            // Assigning the location returns at once, the page loads while the save completes in the other tab
+            ((JavascriptExecutor) driver).executeScript("window.location.href = arguments[0];", url);
+            spareUrl = url;
+        } catch (NoSuchWindowException e) {
+            spareTab = null;
+        } catch (WebDriverException e) {
+            logger.warn("Could not pre-load {}: {}", url, e.getMessage());
+        } finally {
+            driver.switchTo().window(current);
+        }
+    }
+}
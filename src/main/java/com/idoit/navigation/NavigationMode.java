@@ -0,0 +1,11 @@
+package com.idoit.navigation;
+
+/**
+ * How a worker gets to the form of a new object.
+ */
+public enum NavigationMode {
+    /** Open the cached "new object" URL of the object type directly. */
+    DIRECT,
+    /** Click through dashboard, Hardware, Client and the "New object" overlay, like a user would. */
+    CLICK_THROUGH
+}
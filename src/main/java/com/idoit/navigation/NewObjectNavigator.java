@@ -0,0 +1,181 @@
+package com.idoit.navigation;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.idoit.config.RunOptions;
+import com.idoit.pages.DashboardPage;
+import com.idoit.pages.NewObjectPage;
+import com.idoit.pages.ObjectListPage;
+import com.idoit.runner.StepStats;
+
+/**
+ * Brings a logged in driver to the form of a new object, by default of a Client.
+ * <p>
+ * In {@link NavigationMode#DIRECT} mode the object-type ID is resolved once from the menu tree and the
+ * resulting "new object" URL is cached per object type, so later calls skip the menu click chain.
+ * If the direct URL does not lead to the form, the object type falls back to the click-through path.
+ */
+public class NewObjectNavigator {
+    private static final Logger logger = LoggerFactory.getLogger(NewObjectNavigator.class);
+    private static final String HARDWARE = "Hardware";
+    private static final String CLIENT = "Client";
+
+    private final NavigationMode mode;
+    private final StepStats stepStats;
+    private final Map<String, String> newObjectUrls = new ConcurrentHashMap<>();
+    private final Set<String> unsupportedTypes = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> listUrls = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the NewObjectNavigator.
+     *
+     * @param mode Navigation mode to use
+     * @param stepStats Statistics the navigation steps are recorded in
+     */
+    public NewObjectNavigator(NavigationMode mode, StepStats stepStats) {
+        this.mode = mode;
+        this.stepStats = stepStats;
+    }
+
+    /**
+     * Open the form of a new Client object.
+     *
+     * @param driver Logged in driver
+     * @return NewObjectPage instance showing the empty form
+     */
+    public NewObjectPage openNewClientForm(WebDriver driver) {
+        return openNewObjectForm(driver, HARDWARE, CLIENT);
+    }
+
+    /**
+     * Open the form of a new object of the given type.
+     *
+     * @param driver Logged in driver
+     * @param group Object-type group the type is listed under, e.g. Hardware
+     * @param objectType Object type as shown in the menu tree, e.g. Client
+     * @return NewObjectPage instance showing the empty form
+     */
+    public NewObjectPage openNewObjectForm(WebDriver driver, String group, String objectType) {
+        if (mode == NavigationMode.CLICK_THROUGH || unsupportedTypes.contains(objectType)) {
+            return clickThrough(driver, group, objectType);
+        }
+
+        String url = newObjectUrls.get(objectType);
+        if (url == null) {
+            url = resolveNewObjectUrl(driver, group, objectType);
+            if (url == null) {
+                return clickThrough(driver, group, objectType);
+            }
+        }
+
+        String target = url;
+        NewObjectPage newObjectPage = new NewObjectPage(driver);
+        try {
+            stepStats.time("openNewObjectUrl", () -> {
+                driver.get(target);
+                return newObjectPage.waitUntilLoaded();
+            });
+            return newObjectPage;
+        } catch (TimeoutException e) {
+            logger.warn("Direct URL {} did not open the new object form, using click-through for {}.", target, objectType);
+            newObjectUrls.remove(objectType);
+            unsupportedTypes.add(objectType);
+            return clickThrough(driver, group, objectType);
+        }
+    }
+
+    /**
+     * Open the form of a new Client object through the menus, recording every step.
+     *
+     * @param driver Logged in driver
+     * @return NewObjectPage instance showing the empty form
+     */
+    public NewObjectPage clickThrough(WebDriver driver) {
+        return clickThrough(driver, HARDWARE, CLIENT);
+    }
+
+    /**
+     * Open the form of a new object through the menus, recording every step.
+     *
+     * @param driver Logged in driver
+     * @param group Object-type group the type is listed under
+     * @param objectType Object type as shown in the menu tree
+     * @return NewObjectPage instance showing the empty form
+     */
+    public NewObjectPage clickThrough(WebDriver driver, String group, String objectType) {
+        DashboardPage dashboardPage = stepStats.time("openDashboard", () -> new DashboardPage(driver).navigateTo());
+        ObjectListPage groupPage = stepStats.time(stepName(group, ""),
+                () -> dashboardPage.navigateToObjectGroup(group));
+        ObjectListPage listPage = stepStats.time(stepName(objectType, "Section"),
+                () -> groupPage.navigateToObjectType(objectType));
+        listUrls.put(objectType, driver.getCurrentUrl());
+        return stepStats.time("clickNewObject", listPage::clickNewObject);
+    }
+
+    /**
+     * URL of the page to pre-load for the next object: the "new object" form when it can be opened
+     * directly, otherwise the Client list seen during the last click-through.
+     *
+     * @return The URL, or null if neither is known yet
+     */
+    public String getNextObjectUrl() {
+        if (mode == NavigationMode.DIRECT && !unsupportedTypes.contains(CLIENT)) {
+            String url = newObjectUrls.get(CLIENT);
+            if (url != null) {
+                return url;
+            }
+        }
+        return listUrls.get(CLIENT);
+    }
+
+    /**
+     * Check if a URL from {@link #getNextObjectUrl()} leads to the form itself rather than the Client list.
+     *
+     * @param url The URL
+     * @return true if the URL opens the "new object" form
+     */
+    public boolean isNewObjectUrl(String url) {
+        return url != null && url.equals(newObjectUrls.get(CLIENT));
+    }
+
+    public StepStats getStepStats() {
+        return stepStats;
+    }
+
+    /**
+     * Name of a navigation step, e.g. navigateToHardware or navigateToClientSection.
+     */
+    private static String stepName(String target, String suffix) {
+        return "navigateTo" + target.replace(" ", "") + suffix;
+    }
+
+    private String resolveNewObjectUrl(WebDriver driver, String group, String objectType) {
+        String objectTypeId = stepStats.time("resolveObjectType", () -> new DashboardPage(driver).navigateTo()
+                .navigateToObjectGroup(group)
+                .getObjectTypeId(objectType));
+        if (objectTypeId == null) {
+            unsupportedTypes.add(objectType);
+            return null;
+        }
+
+        try {
+            String path = RunOptions.NEW_OBJECT_URL_TEMPLATE.replace("{objTypeID}", objectTypeId);
+            String url = URI.create(RunOptions.baseUrl()).resolve(path).toString();
+            String cached = newObjectUrls.putIfAbsent(objectType, url);
+            logger.info("Resolved new object URL for {}: {}", objectType, url);
+            return cached != null ? cached : url;
+        } catch (IllegalArgumentException e) {
+            logger.warn("Cannot build new object URL from {}: {}", RunOptions.baseUrl(), e.getMessage());
+            unsupportedTypes.add(objectType);
+            return null;
+        }
+    }
+}
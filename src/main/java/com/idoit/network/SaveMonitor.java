@@ -0,0 +1,213 @@
+package com.idoit.network;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import com.idoit.config.RunOptions;
+
+/**
+ * Detects the completion of i-doit save requests from the browser's network events.
+ * <p>
+ * The monitor listens to the Chrome DevTools {@code Network} domain. After {@link #expectSave()} the first
+ * POST request whose URL matches {@link RunOptions#SAVE_REQUEST_PATTERN} is tracked, and
+ * {@link #awaitSave(long)} returns as soon as its response has arrived, or fails right away when the server
+ * answers with an HTTP error or the request fails. The raw CDP events are used, so the monitor does not
+ * depend on a specific DevTools protocol version.
+ */
+public class SaveMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(SaveMonitor.class);
+    private static final Map<WebDriver, SaveMonitor> MONITORS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Pattern SAVE_REQUEST = Pattern.compile(RunOptions.SAVE_REQUEST_PATTERN);
+
+    private static final Event<Map<String, Object>> REQUEST_WILL_BE_SENT = event("Network.requestWillBeSent");
+    private static final Event<Map<String, Object>> RESPONSE_RECEIVED = event("Network.responseReceived");
+    private static final Event<Map<String, Object>> LOADING_FINISHED = event("Network.loadingFinished");
+    private static final Event<Map<String, Object>> LOADING_FAILED = event("Network.loadingFailed");
+
+    private final Map<String, SaveResult> inFlight = new ConcurrentHashMap<>();
+    private final BlockingQueue<SaveResult> completed = new LinkedBlockingQueue<>();
+    private volatile boolean armed;
+
+    /**
+     * Outcome of a single save request.
+     */
+    public static class SaveResult {
+        private final String url;
+        private int status;
+        private long serverNanos;
+        private String error;
+
+        private SaveResult(String url) {
+            this.url = url;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        /**
+         * Time between the request being sent and the response headers arriving, as measured by the browser.
+         *
+         * @return Server time in nanoseconds
+         */
+        public long getServerNanos() {
+            return serverNanos;
+        }
+
+        public boolean isFailed() {
+            return error != null || status >= 400;
+        }
+
+        @Override
+        public String toString() {
+            return error != null ? url + " failed: " + error : url + " returned HTTP " + status;
+        }
+    }
+
+    /**
+     * Get the save monitor of a driver, starting it on first use.
+     *
+     * @param driver WebDriver instance
+     * @return The monitor, or null if the driver does not support Chrome DevTools
+     */
+    public static SaveMonitor forDriver(WebDriver driver) {
+        synchronized (MONITORS) {
+            if (MONITORS.containsKey(driver)) {
+                return MONITORS.get(driver);
+            }
+            SaveMonitor monitor = null;
+            if (driver instanceof HasDevTools) {
+                try {
+                    monitor = new SaveMonitor(((HasDevTools) driver).getDevTools());
+                } catch (RuntimeException e) {
+                    logger.warn("Could not listen to network events, falling back to UI save detection: {}",
+                            e.getMessage());
+                }
+            } else {
+                logger.warn("Driver {} has no DevTools support, falling back to UI save detection.",
+                        driver.getClass().getSimpleName());
+            }
+            MONITORS.put(driver, monitor);
+            return monitor;
+        }
+    }
+
+    private SaveMonitor(DevTools devTools) {
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(REQUEST_WILL_BE_SENT, this::onRequest);
+        devTools.addListener(RESPONSE_RECEIVED, this::onResponse);
+        devTools.addListener(LOADING_FINISHED, this::onFinished);
+        devTools.addListener(LOADING_FAILED, this::onFailed);
+        devTools.send(new Command<Void>("Network.enable", Collections.emptyMap()));
+    }
+
+    /**
+     * Start watching for the next save request. Call this right before clicking the save button.
+     */
+    public void expectSave() {
+        completed.clear();
+        armed = true;
+    }
+
+    /**
+     * Wait for the save request announced with {@link #expectSave()} to complete.
+     *
+     * @param timeoutMillis Maximum time to wait
+     * @return The completed save
+     * @throws RuntimeException if the save request failed or returned an HTTP error
+     * @throws TimeoutException if no save request completed within the timeout
+     */
+    public SaveResult awaitSave(long timeoutMillis) {
+        SaveResult result;
+        try {
+            result = completed.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the save request", e);
+        } finally {
+            armed = false;
+        }
+        if (result == null) {
+            throw new TimeoutException("No save request completed within " + timeoutMillis + " ms");
+        }
+        if (result.isFailed()) {
+            throw new RuntimeException("Save request " + result);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onRequest(Map<String, Object> params) {
+        Map<String, Object> request = (Map<String, Object>) params.get("request");
+        String url = (String) request.get("url");
+        if (armed && "POST".equals(request.get("method")) && SAVE_REQUEST.matcher(url).find()) {
+            armed = false;
+            inFlight.put((String) params.get("requestId"), new SaveResult(url));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onResponse(Map<String, Object> params) {
+        SaveResult result = inFlight.get((String) params.get("requestId"));
+        if (result == null) {
+            return;
+        }
+        Map<String, Object> response = (Map<String, Object>) params.get("response");
+        result.status = ((Number) response.get("status")).intValue();
+        Map<String, Object> timing = (Map<String, Object>) response.get("timing");
+        if (timing != null) {
+            double millis = ((Number) timing.get("receiveHeadersEnd")).doubleValue()
+                    - ((Number) timing.get("sendEnd")).doubleValue();
+            result.serverNanos = (long) (millis * 1_000_000);
+        }
+        if (result.isFailed()) {
+            // No need to wait for the body of an error response
+            complete(params, result);
+        }
+    }
+
+    private void onFinished(Map<String, Object> params) {
+        SaveResult result = inFlight.get((String) params.get("requestId"));
+        if (result != null) {
+            complete(params, result);
+        }
+    }
+
+    private void onFailed(Map<String, Object> params) {
+        SaveResult result = inFlight.get((String) params.get("requestId"));
+        if (result != null) {
+            result.error = String.valueOf(params.get("errorText"));
+            complete(params, result);
+        }
+    }
+
+    private void complete(Map<String, Object> params, SaveResult result) {
+        if (inFlight.remove((String) params.get("requestId")) != null) {
+            completed.add(result);
+        }
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+}
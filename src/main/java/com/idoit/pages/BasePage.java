@@ -1,30 +1,94 @@
 package com.idoit.pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
-import com.idoit.config.Config;
+import com.idoit.config.RunOptions;
+import com.idoit.data.TestDataGenerator;
+import com.idoit.journal.RunJournal;
+import com.idoit.metrics.StepMetrics;
+import com.idoit.wait.WaitEngine;
 
 /**
  * Base page class with common methods for all page objects.
  */
 public abstract class BasePage {
+    // Document loaded and neither jQuery nor Prototype (used by i-doit) has an AJAX request in flight
+    private static final String PAGE_IDLE_SCRIPT =
+            "return document.readyState === 'complete'"
+            + " && (!window.jQuery || window.jQuery.active === 0)"
+            + " && (!window.Ajax || !window.Ajax.activeRequestCount || window.Ajax.activeRequestCount === 0);";
+    private static final String READ_OPTIONS_SCRIPT =
+            "return Array.prototype.map.call(arguments[0].options, function (o) { return [o.value, o.text]; });";
+    private static final String SELECT_INDEX_SCRIPT =
+            "var select = arguments[0], index = arguments[1];"
+            + "if (index >= select.options.length) { return false; }"
+            + "select.selectedIndex = index;"
+            + "select.dispatchEvent(new Event('change', {bubbles: true}));"
+            + "return true;";
+    // Sets values and picks random select options by element ID, firing the events the i-doit forms listen to.
+    // The random options are given as fractions of the option count, drawn from the page's generator
+    private static final String FILL_SCRIPT =
+            "var values = arguments[0], textSelects = arguments[1], randomSelects = arguments[2],"
+            + "  result = {missing: [], selected: {}};"
+            + "function fire(el) {"
+            + "  el.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "  el.dispatchEvent(new Event('change', {bubbles: true}));"
+            + "}"
+            + "Object.keys(textSelects).forEach(function (id) {"
+            + "  var el = document.getElementById(id), index = -1;"
+            + "  if (el && el.options) {"
+            + "    index = Array.prototype.findIndex.call(el.options, function (o) { return o.text === textSelects[id]; });"
+            + "  }"
+            + "  if (index < 0) { result.missing.push(id); return; }"
+            + "  el.selectedIndex = index;"
+            + "  result.selected[id] = textSelects[id];"
+            + "  fire(el);"
+            + "});"
+            + "Object.keys(randomSelects).forEach(function (id) {"
+            + "  var el = document.getElementById(id);"
+            + "  if (!el || !el.options || el.options.length === 0) { result.missing.push(id); return; }"
+            + "  el.selectedIndex = Math.floor(randomSelects[id] * el.options.length);"
+            + "  result.selected[id] = el.options[el.selectedIndex].text;"
+            + "  fire(el);"
+            + "});"
+            + "Object.keys(values).forEach(function (id) {"
+            + "  var el = document.getElementById(id);"
+            + "  if (!el) { result.missing.push(id); return; }"
+            + "  el.value = values[id];"
+            + "  fire(el);"
+            + "});"
+            + "return result;";
+
     protected WebDriver driver;
-    protected WebDriverWait wait;
-    protected WebDriverWait shortWait;
-    protected WebDriverWait longWait;
+    protected final WaitEngine waits;
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
-    protected Random random = new Random();
+    protected final StepMetrics metrics = StepMetrics.global();
+    protected final RunJournal journal = RunJournal.global();
+    private final OptionCache optionCache;
+    // Elements found by this page instance, reused until they go stale
+    private final Map<By, WebElement> elementCache = new HashMap<>();
+    // Picks the random options and values of this page; the generator of the calling thread if not set
+    private TestDataGenerator generator;
 
     /**
      * Constructor for the BasePage.
@@ -33,9 +97,27 @@ public abstract class BasePage {
      */
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(Config.DEFAULT_TIMEOUT));
-        this.shortWait = new WebDriverWait(driver, Duration.ofSeconds(Config.SHORT_TIMEOUT));
-        this.longWait = new WebDriverWait(driver, Duration.ofSeconds(Config.LONG_TIMEOUT));
+        this.optionCache = OptionCache.forDriver(driver);
+        this.waits = WaitEngine.forDriver(driver);
+    }
+
+    /**
+     * Use a generator for the random choices of this page, e.g. the one of the object being created, so
+     * that a run with {@code -Didoit.seed} makes the same choices whichever thread runs it.
+     *
+     * @param generator Generator used by the calling worker only
+     */
+    protected void setGenerator(TestDataGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * The generator for the random choices of this page.
+     *
+     * @return The generator set for this page, or the one of the calling thread
+     */
+    protected TestDataGenerator generator() {
+        return generator != null ? generator : TestDataGenerator.current();
     }
 
     /**
@@ -45,7 +127,8 @@ public abstract class BasePage {
      * @return WebElement once it is visible
      */
     protected WebElement waitForElementVisible(By by) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(by));
+        return timed("waitForElementVisible", () -> waitPhase("waitForElementVisible",
+                () -> findVisible(by)));
     }
 
     /**
@@ -55,7 +138,8 @@ public abstract class BasePage {
      * @return WebElement once it is clickable
      */
     protected WebElement waitForElementClickable(By by) {
-        return wait.until(ExpectedConditions.elementToBeClickable(by));
+        return timed("waitForElementClickable", () -> waitPhase("waitForElementClickable",
+                () -> findClickable(by)));
     }
 
     /**
@@ -65,7 +149,20 @@ public abstract class BasePage {
      * @return WebElement once it is present in the DOM
      */
     protected WebElement waitForElementPresent(By by) {
-        return wait.until(ExpectedConditions.presenceOfElementLocated(by));
+        return timed("waitForElementPresent", () -> waitPhase("waitForElementPresent",
+                () -> find(by, element -> {
+                    // Any call on a stale element throws, which sends the lookup back to the locator
+                    element.isEnabled();
+                    return true;
+                }, ExpectedConditions.presenceOfElementLocated(by))));
+    }
+
+    /**
+     * Wait until the document is loaded and no AJAX request is in flight.
+     */
+    protected void waitForPageIdle() {
+        timed("waitForPageIdle", () -> waitPhase("waitForPageIdle",
+                () -> waitUntil("pageIdle", d -> Boolean.TRUE.equals(((JavascriptExecutor) d).executeScript(PAGE_IDLE_SCRIPT)))));
     }
 
     /**
@@ -74,8 +171,10 @@ public abstract class BasePage {
      * @param by By locator for the element
      */
     protected void clickElement(By by) {
-        waitForElementClickable(by).click();
-        logger.info("Clicked element: {}", by);
+        journaled("clickElement", by, () -> timed("clickElement", () -> {
+            actOnElement("clickElement", by, this::findClickable, WebElement::click);
+            return null;
+        }), result -> null);
     }
 
     /**
@@ -85,10 +184,42 @@ public abstract class BasePage {
      * @param text Text to enter
      */
     protected void enterText(By by, String text) {
-        WebElement element = waitForElementVisible(by);
-        element.clear();
-        element.sendKeys(text);
-        logger.info("Entered text '{}' into element: {}", text, by);
+        // Only the length of the text is journaled, test data does not belong in the journal
+        journaled("enterText", by, () -> timed("enterText", () -> {
+            actOnElement("enterText", by, this::findVisible, element -> {
+                element.clear();
+                element.sendKeys(text);
+            });
+            return null;
+        }), result -> text.length() + " characters");
+    }
+
+    /**
+     * Fill several fields and dropdowns with a single script call instead of one round trip per key stroke.
+     * Input and change events are fired for every touched element.
+     *
+     * @param valuesById Values to set, keyed by element ID
+     * @param selectTextsById Option texts to select, keyed by select element ID
+     * @param randomSelectIds IDs of select elements that get a random option selected
+     * @return The text of the selected option, keyed by select element ID
+     */
+    @SuppressWarnings("unchecked")
+    protected Map<String, String> fillWithScript(Map<String, String> valuesById, Map<String, String> selectTextsById,
+                                                 List<String> randomSelectIds) {
+        Map<String, Double> randomSelects = new LinkedHashMap<>();
+        for (String id : randomSelectIds) {
+            randomSelects.put(id, generator().nextDouble());
+        }
+        Map<String, Object> result = timed("fillWithScript", () -> actionPhase("fillWithScript",
+                () -> (Map<String, Object>) ((JavascriptExecutor) driver)
+                        .executeScript(FILL_SCRIPT, valuesById, selectTextsById, randomSelects)));
+        List<String> missing = (List<String>) result.get("missing");
+        if (!missing.isEmpty()) {
+            logger.warn("Elements not found or without options while filling by script: {}", missing);
+        }
+        Map<String, String> selected = (Map<String, String>) result.get("selected");
+        logger.info("Filled {} fields and {} dropdowns by script.", valuesById.size(), selected.size());
+        return selected;
     }
 
     /**
@@ -106,34 +237,271 @@ public abstract class BasePage {
     }
 
     /**
-     * Select a random option from a dropdown, excluding the specified value.
+     * Select a random option from a dropdown.
      *
      * @param by By locator for the select element
-     * @param excludeValue Value to exclude from selection
      * @return The text of the selected option, or null if no valid option was selected
      */
     protected String selectOption(By by) {
-        WebElement selectElement = waitForElementVisible(by);
-        Select select = new Select(selectElement);     
-        List<WebElement> options = select.getOptions();
+        return journaled("selectOption", by, () -> timed("selectOption", () -> {
+            WebElement selectElement = waitPhase("selectOption", () -> findVisible(by));
+            return actionPhase("selectOption", () -> selectRandomOption(by, selectElement));
+        }), selected -> selected);
+    }
+
+    private String selectRandomOption(By by, WebElement selectElement) {
+        String key = optionCacheKey(by);
+        List<OptionCache.Option> options = optionCache.get(key);
+        if (options == null) {
+            options = readOptions(selectElement);
+            if (!options.isEmpty()) {
+                optionCache.put(key, options);
+            }
+        }
 
         if (options.isEmpty()) {
             logger.warn("No options found in dropdown {}", by);
             return null;
         }
         
-        WebElement optionToSelect;
-        if (options.size() == 1) {
-            optionToSelect = options.get(0);
-            logger.info("Only one option available in dropdown {}", by);
-        } else {
-            optionToSelect = options.get(random.nextInt(options.size()));
-            logger.info("Selected random option from {} available choices in dropdown {}", options.size(), by);
-        }
+        int index = options.size() == 1 ? 0 : generator().nextInt(options.size());
         
-        String optionText = optionToSelect.getText(); // Get the text of the target option to select it
-        select.selectByVisibleText(optionText);
-        logger.info("Selected option '{}' from dropdown {}", optionText, by);
-        return optionText;
+        OptionCache.Option option = options.get(index);
+        if (!selectByValueOrIndex(selectElement, option, index)) {
+            // The cached list no longer matches the dropdown, read it again and select by index
+            metrics.recordRetry(stepName("selectOption"));
+            journal.record(RunJournal.Level.INFO, stepName("selectOption"), by.toString(), 0,
+                    RunJournal.Outcome.RETRY, "cached options outdated");
+            optionCache.invalidate(key);
+            options = readOptions(selectElement);
+            if (index >= options.size()) {
+                logger.warn("Dropdown {} changed and has no option at index {}", by, index);
+                return null;
+            }
+            option = options.get(index);
+            optionCache.put(key, options);
+            selectByValueOrIndex(selectElement, option, index);
+        }
+        return option.text;
+    }
+
+    /**
+     * Run a page method or primitive, recording its total time and failures as {@code Page.method}.
+     *
+     * @param method Name of the method
+     * @param body Work of the method
+     * @return The value returned by the body
+     */
+    protected <T> T timed(String method, Supplier<T> body) {
+        return metrics.time(stepName(method), body);
+    }
+
+    /**
+     * Run an element action and record it in the run journal with its duration and outcome.
+     *
+     * @param primitive Name of the action
+     * @param by Locator of the element
+     * @param action The action
+     * @param detail Detail journaled with a successful action, computed from its result
+     * @return The value returned by the action
+     */
+    private <T> T journaled(String primitive, By by, Supplier<T> action, Function<? super T, String> detail) {
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            journal.record(RunJournal.Level.WARN, stepName(primitive), by.toString(), System.nanoTime() - start,
+                    RunJournal.Outcome.FAIL, e.getMessage());
+            throw e;
+        }
+        if (journal.isEnabled(RunJournal.Level.INFO)) {
+            journal.record(RunJournal.Level.INFO, stepName(primitive), by.toString(), System.nanoTime() - start,
+                    RunJournal.Outcome.OK, detail.apply(result));
+        }
+        return result;
+    }
+
+    private <T> T waitPhase(String primitive, Supplier<T> condition) {
+        long start = System.nanoTime();
+        try {
+            return condition.get();
+        } finally {
+            metrics.recordWait(stepName(primitive), System.nanoTime() - start);
+        }
+    }
+
+    private <T> T actionPhase(String primitive, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            metrics.recordAction(stepName(primitive), System.nanoTime() - start);
+        }
+    }
+
+    private WebElement findVisible(By by) {
+        return find(by, WebElement::isDisplayed, ExpectedConditions.visibilityOfElementLocated(by));
+    }
+
+    private WebElement findClickable(By by) {
+        return find(by, element -> element.isDisplayed() && element.isEnabled(),
+                ExpectedConditions.elementToBeClickable(by));
+    }
+
+    /**
+     * Return the cached element if it still satisfies the check, otherwise wait for the locator condition
+     * and cache the element it returns. A stale cached element is dropped and looked up again.
+     */
+    private WebElement find(By by, Predicate<WebElement> cachedCheck, ExpectedCondition<WebElement> condition) {
+        WebElement cached = elementCache.get(by);
+        if (cached != null) {
+            try {
+                if (cachedCheck.test(cached)) {
+                    return cached;
+                }
+            } catch (StaleElementReferenceException e) {
+                elementCache.remove(by);
+            }
+        }
+        WebElement element = waits.until(locatorKey(by), condition);
+        if (RunOptions.ELEMENT_CACHE) {
+            elementCache.put(by, element);
+        }
+        return element;
+    }
+
+    /**
+     * Wait for an element and act on it. If the element is replaced between the wait and the action,
+     * it is looked up once more and the action repeated.
+     */
+    private void actOnElement(String primitive, By by, Function<By, WebElement> finder,
+                              Consumer<WebElement> action) {
+        WebElement element = waitPhase(primitive, () -> finder.apply(by));
+        try {
+            actionPhase(primitive, () -> {
+                action.accept(element);
+                return null;
+            });
+        } catch (StaleElementReferenceException e) {
+            metrics.recordRetry(stepName(primitive));
+            journal.record(RunJournal.Level.INFO, stepName(primitive), by.toString(), 0,
+                    RunJournal.Outcome.RETRY, "stale element");
+            elementCache.remove(by);
+            WebElement fresh = waitPhase(primitive, () -> finder.apply(by));
+            actionPhase(primitive, () -> {
+                action.accept(fresh);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Wait until a condition is satisfied, learning its timing under this page and the given name.
+     *
+     * @param name Name of the condition within this page
+     * @param condition Condition returning a value other than null or false once satisfied
+     * @return The value returned by the condition
+     */
+    protected <T> T waitUntil(String name, Function<? super WebDriver, T> condition) {
+        return waits.until(getClass().getSimpleName() + ":" + name, condition);
+    }
+
+    private String locatorKey(By by) {
+        return getClass().getSimpleName() + ":" + by;
+    }
+
+    /**
+     * Name under which a method of this page is recorded in the step metrics.
+     *
+     * @param method Name of the method
+     * @return The step name, {@code Page.method}
+     */
+    protected String stepName(String method) {
+        return getClass().getSimpleName() + "." + method;
+    }
+
+    /**
+     * Select the option with the given text from a dropdown, looking it up in the cached option list.
+     *
+     * @param by By locator for the select element
+     * @param text Text of the option to select
+     * @return true if the option was selected, false if the dropdown has no such option
+     */
+    protected boolean selectOptionByText(By by, String text) {
+        return journaled("selectOptionByText", by, () -> timed("selectOptionByText", () -> {
+            WebElement selectElement = waitPhase("selectOptionByText", () -> findVisible(by));
+            return actionPhase("selectOptionByText", () -> {
+                String key = optionCacheKey(by);
+                List<OptionCache.Option> options = optionCache.get(key);
+                boolean cached = options != null;
+                if (!cached) {
+                    options = readOptions(selectElement);
+                    optionCache.put(key, options);
+                }
+                int index = indexOfText(options, text);
+                if (index < 0 || !selectByValueOrIndex(selectElement, options.get(index), index)) {
+                    if (!cached) {
+                        logger.warn("Option '{}' not found in dropdown {}", text, by);
+                        return false;
+                    }
+                    // The cached list may be outdated, read it again
+                    metrics.recordRetry(stepName("selectOptionByText"));
+                    options = readOptions(selectElement);
+                    optionCache.put(key, options);
+                    index = indexOfText(options, text);
+                    if (index < 0 || !selectByValueOrIndex(selectElement, options.get(index), index)) {
+                        logger.warn("Option '{}' not found in dropdown {}", text, by);
+                        return false;
+                    }
+                }
+                return true;
+            });
+        }), selected -> selected ? text : null);
+    }
+
+    private static int indexOfText(List<OptionCache.Option> options, String text) {
+        for (int i = 0; i < options.size(); i++) {
+            if (options.get(i).text.equals(text)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Drop the cached options of a dropdown, e.g. after a field it depends on has changed.
+     *
+     * @param by By locator for the select element
+     */
+    protected void invalidateOptions(By by) {
+        optionCache.invalidate(optionCacheKey(by));
+    }
+
+    private String optionCacheKey(By by) {
+        return locatorKey(by);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OptionCache.Option> readOptions(WebElement selectElement) {
+        List<List<String>> raw = (List<List<String>>) ((JavascriptExecutor) driver)
+                .executeScript(READ_OPTIONS_SCRIPT, selectElement);
+        List<OptionCache.Option> options = new ArrayList<>(raw.size());
+        for (List<String> option : raw) {
+            options.add(new OptionCache.Option(option.get(0), option.get(1)));
+        }
+        return options;
+    }
+
+    private boolean selectByValueOrIndex(WebElement selectElement, OptionCache.Option option, int index) {
+        if (option.value != null && !option.value.isEmpty()) {
+            try {
+                new Select(selectElement).selectByValue(option.value);
+                return true;
+            } catch (NoSuchElementException e) {
+                return false;
+            }
+        }
+        return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(SELECT_INDEX_SCRIPT, selectElement, index));
     }
-} 
\ No newline at end of file
+}
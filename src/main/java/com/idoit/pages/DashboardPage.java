@@ -5,16 +5,17 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.NoSuchElementException;
 
+import com.idoit.config.RunOptions;
+
 /**
  * Page object for the dashboard page after successful login.
  */
 public class DashboardPage extends BasePage {
     // Locators
-    private static final By TOP_MENU = By.xpath("//*[@id=\"top\"]");
-    private static final By DROPDOWN_MENU = By.xpath("//*[@id=\"menuItem_object-type-group\"]/a");
-    private static final By DROPDOWN_MENU_EXPANDED = By.xpath("//*[@id=\"object-type-group-dropdown\"]");
-    private static final By HARDWARE_IN_DROPDOWN = By.xpath(".//*[contains(text(), \"Hardware\")]");
-    private static final By HARDWARE_IN_TOP_MENU = By.xpath(".//*[contains(text(), \"Hardware\")]");
+    private static final By TOP_MENU = Locators.xpath("//*[@id=\"top\"]");
+    private static final By DROPDOWN_MENU = Locators.xpath("//*[@id=\"menuItem_object-type-group\"]/a");
+    private static final By DROPDOWN_MENU_EXPANDED = Locators.xpath("//*[@id=\"object-type-group-dropdown\"]");
+    private static final By HARDWARE_IN_TOP_MENU = groupEntry("Hardware");
     
     /**
      * Constructor for the DashboardPage.
@@ -24,7 +25,37 @@ public class DashboardPage extends BasePage {
     public DashboardPage(WebDriver driver) {
         super(driver);
     }
-    
+
+    /**
+     * Navigate to the dashboard of an already logged in session.
+     *
+     * @return DashboardPage instance for fluent interface
+     */
+    public DashboardPage navigateTo() {
+        return timed("navigateTo", () -> {
+            driver.get(RunOptions.baseUrl());
+            waitUntilLoaded();
+            logger.info("Navigated to dashboard: {}", RunOptions.baseUrl());
+            return this;
+        });
+    }
+
+    /**
+     * Wait until the dashboard is ready for navigation: the top menu is visible, no AJAX request
+     * is in flight and the object-type dropdown (or the Hardware entry of the top menu) is loaded.
+     *
+     * @return DashboardPage instance for fluent interface
+     */
+    public DashboardPage waitUntilLoaded() {
+        return timed("waitUntilLoaded", () -> {
+            WebElement topMenu = waitForElementVisible(TOP_MENU);
+            waitForPageIdle();
+            waitUntil("hardwareEntry", d -> isElementDisplayed(DROPDOWN_MENU) || !topMenu.findElements(HARDWARE_IN_TOP_MENU).isEmpty());
+            logger.info("Dashboard is loaded.");
+            return this;
+        });
+    }
+
     /**
      * Verify if the dashboard page is loaded by checking if the top menu is displayed.
      *
@@ -40,38 +71,67 @@ public class DashboardPage extends BasePage {
      * @return HardwarePage instance for fluent interface
      */
     public HardwarePage navigateToHardware() {
-        WebElement hardwareElement = null;
-        
+        return timed("navigateToHardware", () -> {
+            clickObjectGroup("Hardware");
+            return new HardwarePage(driver);
+        });
+    }
+
+    /**
+     * Navigate to an object-type group, such as Hardware or Software, by finding and clicking its entry.
+     *
+     * @param group Name of the object-type group, as shown in the menu
+     * @return ObjectListPage instance for fluent interface
+     */
+    public ObjectListPage navigateToObjectGroup(String group) {
+        return timed("navigateToObjectGroup", () -> {
+            clickObjectGroup(group);
+            return new ObjectListPage(driver);
+        });
+    }
+
+    /**
+     * Click the entry of an object-type group, in the object-type dropdown if there is one, otherwise in the
+     * top menu.
+     *
+     * @param group Name of the object-type group
+     */
+    private void clickObjectGroup(String group) {
+        By groupEntry = groupEntry(group);
+        WebElement groupElement = null;
+
         try {
             // Check if dropdown menu exists and is displayed
             if (isElementDisplayed(DROPDOWN_MENU)) {
-                logger.info("Dropdown menu is displayed. Clicking it to find 'Hardware'.");
+                logger.info("Dropdown menu is displayed. Clicking it to find '{}'.", group);
                 clickElement(DROPDOWN_MENU);
-                
+
                 // Wait for dropdown to expand
                 WebElement expandedDropdown = waitForElementVisible(DROPDOWN_MENU_EXPANDED);
-                hardwareElement = expandedDropdown.findElement(HARDWARE_IN_DROPDOWN);
-                logger.info("Hardware element found in the dropdown menu.");
+                groupElement = expandedDropdown.findElement(groupEntry);
+                logger.info("{} element found in the dropdown menu.", group);
             }
         } catch (Exception e) {
-            logger.info("Dropdown menu does not exist or error occurred. Searching for 'Hardware' in the top menu.");
+            logger.info("Dropdown menu does not exist or error occurred. Searching for '{}' in the top menu.", group);
         }
-        
+
         // If dropdown approach fails, search in the top menu
-        if (hardwareElement == null) {
+        if (groupElement == null) {
             try {
                 WebElement topMenuElement = waitForElementVisible(TOP_MENU);
-                hardwareElement = topMenuElement.findElement(HARDWARE_IN_TOP_MENU);
-                logger.info("Hardware element found in the top menu.");
+                groupElement = topMenuElement.findElement(groupEntry);
+                logger.info("{} element found in the top menu.", group);
             } catch (NoSuchElementException e) {
-                throw new RuntimeException("'Hardware' element not found in the top menu or dropdown menu.", e);
+                throw new RuntimeException("'" + group + "' element not found in the top menu or dropdown menu.", e);
             }
         }
-        
-        // Click the Hardware element
-        hardwareElement.click();
-        logger.info("Clicked on Hardware element");
-        
-        return new HardwarePage(driver);
+
+        // Click the group element
+        groupElement.click();
+        logger.info("Clicked on {} element", group);
+    }
+
+    private static By groupEntry(String group) {
+        return By.xpath(".//*[contains(text(), \"" + group + "\")]");
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.idoit.pages;
+
+import org.openqa.selenium.By;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.idoit.config.RunOptions;
+
+/**
+ * Compiles XPath locators into the fastest equivalent lookup.
+ * <p>
+ * ID-only XPaths become {@link By#id}, and simple child or attribute XPaths become CSS selectors, which
+ * the browser resolves natively instead of through its slower XPath engine. XPaths that need XPath
+ * features, such as matching on text, are kept as they are.
+ */
+public final class Locators {
+    private static final Pattern ID_ONLY = Pattern.compile("^//\\*\\[@id=[\"']([\\w-]+)[\"']]$");
+    private static final Pattern ID_CHILD = Pattern.compile("^//\\*\\[@id=[\"']([\\w-]+)[\"']]/(\\w+)$");
+    private static final Pattern TAG_ATTRIBUTE = Pattern.compile("^//(\\w+)\\[@([\\w-]+)=[\"']([^\"']+)[\"']]$");
+
+    private Locators() {
+    }
+
+    /**
+     * Create a locator from an XPath expression, compiled to an ID or CSS lookup where possible.
+     * Compilation can be switched off with {@code -Didoit.compiledLocators=false} for comparison.
+     *
+     * @param xpath XPath expression
+     * @return The fastest equivalent locator
+     */
+    public static By xpath(String xpath) {
+        if (!RunOptions.COMPILED_LOCATORS) {
+            return By.xpath(xpath);
+        }
+        Matcher matcher = ID_ONLY.matcher(xpath);
+        if (matcher.matches()) {
+            return By.id(matcher.group(1));
+        }
+        matcher = ID_CHILD.matcher(xpath);
+        if (matcher.matches()) {
+            return By.cssSelector("[id='" + matcher.group(1) + "'] > " + matcher.group(2));
+        }
+        matcher = TAG_ATTRIBUTE.matcher(xpath);
+        if (matcher.matches()) {
+            return By.cssSelector(matcher.group(1) + "[" + matcher.group(2) + "='" + matcher.group(3) + "']");
+        }
+        return By.xpath(xpath);
+    }
+}
@@ -1,19 +1,24 @@
 package com.idoit.pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.util.Collection;
 
 import com.idoit.config.Config;
+import com.idoit.config.RunOptions;
 
 /**
  * Page object for the login page.
  */
 public class LoginPage extends BasePage {
     // Locators
-    private static final By USERNAME_FIELD = By.xpath("//*[@id=\"login_username\"]");
-    private static final By PASSWORD_FIELD = By.xpath("//*[@id=\"login_password\"]");
-    private static final By LOGIN_BUTTON = By.xpath("//*[@id=\"login_submit\"]");
-    private static final By TOP_MENU = By.xpath("//*[@id=\"top\"]");
+    private static final By USERNAME_FIELD = Locators.xpath("//*[@id=\"login_username\"]");
+    private static final By PASSWORD_FIELD = Locators.xpath("//*[@id=\"login_password\"]");
+    private static final By LOGIN_BUTTON = Locators.xpath("//*[@id=\"login_submit\"]");
+    private static final By TOP_MENU = Locators.xpath("//*[@id=\"top\"]");
 
     /**
      * Constructor for the LoginPage.
@@ -30,9 +35,11 @@ public class LoginPage extends BasePage {
      * @return LoginPage instance for fluent interface
      */
     public LoginPage navigateTo() {
-        driver.get(Config.URL);
-        logger.info("Navigated to login page: {}", Config.URL);
-        return this;
+        return timed("navigateTo", () -> {
+            driver.get(RunOptions.baseUrl());
+            logger.info("Navigated to login page: {}", RunOptions.baseUrl());
+            return this;
+        });
     }
 
     /**
@@ -43,15 +50,17 @@ public class LoginPage extends BasePage {
      * @return DashboardPage instance if login is successful
      */
     public DashboardPage login(String username, String password) {
-        enterText(USERNAME_FIELD, username);
-        enterText(PASSWORD_FIELD, password);
-        clickElement(LOGIN_BUTTON);
+        return timed("login", () -> {
+            enterText(USERNAME_FIELD, username);
+            enterText(PASSWORD_FIELD, password);
+            clickElement(LOGIN_BUTTON);
         
-        // Wait for the top menu to be visible, indicating successful login
-        waitForElementVisible(TOP_MENU);
-        logger.info("Login successful with username: {}", username);
+            // Wait for the top menu to be visible, indicating successful login
+            waitForElementVisible(TOP_MENU);
+            logger.info("Login successful with username: {}", username);
         
-        return new DashboardPage(driver);
+            return new DashboardPage(driver);
+        });
     }
 
     /**
@@ -63,6 +72,32 @@ public class LoginPage extends BasePage {
         return login(Config.USERNAME, Config.PASSWORD);
     }
 
+    /**
+     * Restore a previously captured session by injecting its cookies instead of typing credentials.
+     *
+     * @param cookies Session cookies captured after an earlier successful login
+     * @return true if the session is still valid and the dashboard is shown, false if i-doit asks for a login
+     */
+    public boolean loginWithCookies(Collection<Cookie> cookies) {
+        return timed("loginWithCookies", () -> {
+            // Cookies can only be set for the domain of the current page
+            driver.get(RunOptions.baseUrl());
+            driver.manage().deleteAllCookies();
+            for (Cookie cookie : cookies) {
+                driver.manage().addCookie(cookie);
+            }
+            driver.get(RunOptions.baseUrl());
+
+            // Either the dashboard or the login form shows up, depending on whether the session is still valid
+            waitUntil("dashboardOrLoginForm", ExpectedConditions.or(
+                    ExpectedConditions.visibilityOfElementLocated(TOP_MENU),
+                    ExpectedConditions.visibilityOfElementLocated(USERNAME_FIELD)));
+            boolean restored = isLoginSuccessful();
+            logger.info(restored ? "Session restored from cookies." : "Session cookies are no longer valid.");
+            return restored;
+        });
+    }
+
     /**
      * Check if login was successful by verifying the top menu is displayed.
      *
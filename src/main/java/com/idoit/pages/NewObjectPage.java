@@ -5,23 +5,64 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.Select;
 
-import com.idoit.utils.RandomUtils;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.idoit.config.Config;
+import com.idoit.config.RunOptions;
+import com.idoit.data.ObjectData;
+import com.idoit.data.TestDataGenerator;
+import com.idoit.network.SaveMonitor;
+import com.idoit.recovery.SavedObjectException;
 
 /**
  * Page object for the New Object page.
  */
 public class NewObjectPage extends BasePage {
+    /**
+     * How the form fields are filled.
+     */
+    public enum FillMode {
+        /** Clear and type every field key by key, like a user would. */
+        TYPING,
+        /** Set all values and dropdown selections with one script call per form section. */
+        SCRIPT
+    }
+
     // Locators
-    private static final By TITLE_FIELD = By.xpath("//*[@id=\"C__CATG__GLOBAL_TITLE\"]");
-    private static final By SAVE_BUTTON = By.xpath("//*[@id=\"navbar_item_C__NAVMODE__SAVE\"]");
-    private static final By MANUFACTURER_SELECT = By.xpath("//*[@id=\"C__CATG__MODEL_MANUFACTURER\"]");
-    private static final By MODEL_TITLE_SELECT = By.xpath("//*[@id=\"C__CATG__MODEL_TITLE_ID\"]");
-    private static final By PRODUCT_ID_FIELD = By.xpath("//*[@id=\"C__CATG__MODEL_PRODUCTID\"]");
-    private static final By SERVICE_TAG_FIELD = By.xpath("//*[@id=\"C__CATG__MODEL_SERVICE_TAG\"]");
-    private static final By SERIAL_FIELD = By.xpath("//*[@id=\"C__CATG__MODEL_SERIAL\"]");
-    private static final By FIRMWARE_FIELD = By.xpath("//*[@id=\"C__CATG__MODEL_FIRMWARE\"]");
-    private static final By COMMENT_FIELD = By.xpath("//*[@id=\"C__CMDB__CAT__COMMENTARY_02\"]");
-    private static final By LINK_TO_THIS_PAGE = By.xpath("//a[@title='Link to this page']");
+    private static final By TITLE_FIELD = Locators.xpath("//*[@id=\"C__CATG__GLOBAL_TITLE\"]");
+    private static final By SAVE_BUTTON = Locators.xpath("//*[@id=\"navbar_item_C__NAVMODE__SAVE\"]");
+    private static final By MANUFACTURER_SELECT = Locators.xpath("//*[@id=\"C__CATG__MODEL_MANUFACTURER\"]");
+    private static final By MODEL_TITLE_SELECT = Locators.xpath("//*[@id=\"C__CATG__MODEL_TITLE_ID\"]");
+    private static final By PRODUCT_ID_FIELD = Locators.xpath("//*[@id=\"C__CATG__MODEL_PRODUCTID\"]");
+    private static final By SERVICE_TAG_FIELD = Locators.xpath("//*[@id=\"C__CATG__MODEL_SERVICE_TAG\"]");
+    private static final By SERIAL_FIELD = Locators.xpath("//*[@id=\"C__CATG__MODEL_SERIAL\"]");
+    private static final By FIRMWARE_FIELD = Locators.xpath("//*[@id=\"C__CATG__MODEL_FIRMWARE\"]");
+    private static final By COMMENT_FIELD = Locators.xpath("//*[@id=\"C__CMDB__CAT__COMMENTARY_02\"]");
+    private static final By LINK_TO_THIS_PAGE = Locators.xpath("//a[@title='Link to this page']");
+
+    // Element IDs used when filling by script
+    private static final String TITLE_ID = "C__CATG__GLOBAL_TITLE";
+    private static final String MANUFACTURER_ID = "C__CATG__MODEL_MANUFACTURER";
+    private static final String MODEL_TITLE_ID = "C__CATG__MODEL_TITLE_ID";
+    private static final String PRODUCT_ID_ID = "C__CATG__MODEL_PRODUCTID";
+    private static final String SERVICE_TAG_ID = "C__CATG__MODEL_SERVICE_TAG";
+    private static final String SERIAL_ID = "C__CATG__MODEL_SERIAL";
+    private static final String FIRMWARE_ID = "C__CATG__MODEL_FIRMWARE";
+    private static final String COMMENT_ID = "C__CMDB__CAT__COMMENTARY_02";
+
+    private FillMode fillMode = FillMode.TYPING;
+    private long lastFillNanos;
+    // Option texts chosen since the form was opened, keyed by select element ID
+    private final Map<String, String> selectedOptions = new HashMap<>();
+    private ObjectData lastSubmitted;
+    // Set once a save of this page was clicked, so the object may exist in i-doit
+    private boolean saved;
+    // Null when saves are detected through the UI
+    private final SaveMonitor saveMonitor;
     
     /**
      * Constructor for the NewObjectPage.
@@ -30,8 +71,81 @@ public class NewObjectPage extends BasePage {
      */
     public NewObjectPage(WebDriver driver) {
         super(driver);
+        this.saveMonitor = "NETWORK".equals(RunOptions.SAVE_DETECTION) ? SaveMonitor.forDriver(driver) : null;
     }
     
+    /**
+     * Set how the form fields are filled.
+     *
+     * @param fillMode The fill mode to use
+     * @return NewObjectPage instance for fluent interface
+     */
+    public NewObjectPage withFillMode(FillMode fillMode) {
+        this.fillMode = fillMode;
+        return this;
+    }
+
+    /**
+     * Set the generator for the random values and options of this form, usually
+     * {@link TestDataGenerator#forObject(long)} of the object being created.
+     *
+     * @param generator Generator of the object being created
+     * @return NewObjectPage instance for fluent interface
+     */
+    public NewObjectPage withGenerator(TestDataGenerator generator) {
+        setGenerator(generator);
+        return this;
+    }
+
+    /**
+     * Time spent filling fields during the last {@link #createNewObject(String)}, excluding saves.
+     *
+     * @return Fill time in nanoseconds
+     */
+    public long getLastFillNanos() {
+        return lastFillNanos;
+    }
+
+    /**
+     * Values the last {@link #createNewObject(String)} saved, with the manufacturer and model that were
+     * actually selected, also when they were picked at random.
+     *
+     * @return The saved values, or null if no object was created with this page yet
+     */
+    public ObjectData getLastSubmitted() {
+        return lastSubmitted;
+    }
+
+    /**
+     * Check if a save was clicked on this page, so that the object may already exist in i-doit.
+     *
+     * @return true after the first save was clicked
+     */
+    public boolean isSaved() {
+        return saved;
+    }
+
+    /**
+     * Wait until the form of the new object is shown.
+     *
+     * @return NewObjectPage instance for fluent interface
+     */
+    public NewObjectPage waitUntilLoaded() {
+        return timed("waitUntilLoaded", () -> {
+            waitForElementVisible(TITLE_FIELD);
+            return this;
+        });
+    }
+
+    /**
+     * Check if the form of the new object is shown.
+     *
+     * @return true if the title field is displayed, false otherwise
+     */
+    public boolean isLoaded() {
+        return isElementDisplayed(TITLE_FIELD);
+    }
+
     /**
      * Enter a title for the new object.
      *
@@ -39,8 +153,14 @@ public class NewObjectPage extends BasePage {
      * @return NewObjectPage instance for fluent interface
      */
     public NewObjectPage enterTitle(String title) {
-        enterText(TITLE_FIELD, title);
-        return this;
+        return timed("enterTitle", () -> {
+            if (fillMode == FillMode.SCRIPT) {
+                fillWithScript(Collections.singletonMap(TITLE_ID, title), Collections.emptyMap(), Collections.emptyList());
+            } else {
+                enterText(TITLE_FIELD, title);
+            }
+            return this;
+        });
     }
     
     /**
@@ -49,8 +169,33 @@ public class NewObjectPage extends BasePage {
      * @return NewObjectPage instance for fluent interface
      */
     public NewObjectPage clickSave() {
-        clickElement(SAVE_BUTTON);
-        return this;
+        return timed("clickSave", () -> {
+            clickElement(SAVE_BUTTON);
+            return this;
+        });
+    }
+
+    /**
+     * Click the save button and, when saves are detected from network events, wait for the response of
+     * the save request. An HTTP error fails right away instead of after a UI wait times out.
+     *
+     * @param whileSaving Action run right after the click, while the save request is in flight, or null
+     */
+    private void saveAndAwaitCompletion(Runnable whileSaving) {
+        if (saveMonitor == null) {
+            clickSave();
+            saved = true;
+            runWhileSaving(whileSaving);
+            return;
+        }
+        saveMonitor.expectSave();
+        clickSave();
+        saved = true;
+        runWhileSaving(whileSaving);
+        SaveMonitor.SaveResult result = timed("awaitSave",
+                () -> saveMonitor.awaitSave(Config.LONG_TIMEOUT * 1000L));
+        metrics.recordServer(stepName("awaitSave"), result.getServerNanos());
+        logger.info("Save request {} in {} ms server time.", result, result.getServerNanos() / 1_000_000);
     }
     
     /**
@@ -59,27 +204,76 @@ public class NewObjectPage extends BasePage {
      * @return NewObjectPage instance for fluent interface
      */
     public NewObjectPage selectRandomManufacturer() {
-        selectOption(MANUFACTURER_SELECT);
-        return this;
+        return timed("selectRandomManufacturer", () -> {
+            selectedOptions.put(MANUFACTURER_ID, selectOption(MANUFACTURER_SELECT));
+            // The model list depends on the selected manufacturer
+            invalidateOptions(MODEL_TITLE_SELECT);
+            return this;
+        });
     }
     
+    /**
+     * Select the manufacturer with the given name, or a random one if no name is given.
+     *
+     * @param manufacturer Option text of the manufacturer, or null
+     * @return NewObjectPage instance for fluent interface
+     */
+    public NewObjectPage selectManufacturer(String manufacturer) {
+        if (manufacturer == null) {
+            return selectRandomManufacturer();
+        }
+        return timed("selectManufacturer", () -> {
+            if (!selectOptionByText(MANUFACTURER_SELECT, manufacturer)) {
+                throw new RuntimeException("Manufacturer '" + manufacturer + "' not found");
+            }
+            selectedOptions.put(MANUFACTURER_ID, manufacturer);
+            invalidateOptions(MODEL_TITLE_SELECT);
+            return this;
+        });
+    }
+
+    /**
+     * Select the model with the given name, or a random one if no name is given.
+     * Waits for the model list that i-doit reloads after a manufacturer change.
+     *
+     * @param model Option text of the model, or null
+     * @return NewObjectPage instance for fluent interface
+     */
+    public NewObjectPage selectModelTitle(String model) {
+        waitForPageIdle();
+        if (model == null) {
+            return selectRandomModelTitle();
+        }
+        return timed("selectModelTitle", () -> {
+            if (!selectOptionByText(MODEL_TITLE_SELECT, model)) {
+                throw new RuntimeException("Model '" + model + "' not found");
+            }
+            selectedOptions.put(MODEL_TITLE_ID, model);
+            return this;
+        });
+    }
+
     /**
      * Select a random model title from the dropdown, falling back to "-" if needed.
      *
      * @return NewObjectPage instance for fluent interface
      */
     public NewObjectPage selectRandomModelTitle() {
-        String selected = selectOption(MODEL_TITLE_SELECT);
+        return timed("selectRandomModelTitle", () -> {
+            String selected = selectOption(MODEL_TITLE_SELECT);
         
-        // If no valid option was selected (returned null), select "-" as fallback
-        if (selected == null) {
-            WebElement selectElement = waitForElementVisible(MODEL_TITLE_SELECT);
-            Select select = new Select(selectElement);
-            select.selectByVisibleText("-");
-            logger.info("No valid options found. Selected '-' as fallback.");
-        }
+            // If no valid option was selected (returned null), select "-" as fallback
+            if (selected == null) {
+                WebElement selectElement = waitForElementVisible(MODEL_TITLE_SELECT);
+                Select select = new Select(selectElement);
+                select.selectByVisibleText("-");
+                logger.info("No valid options found. Selected '-' as fallback.");
+                selected = "-";
+            }
+            selectedOptions.put(MODEL_TITLE_ID, selected);
         
-        return this;
+            return this;
+        });
     }
     
     /**
@@ -88,16 +282,136 @@ public class NewObjectPage extends BasePage {
      * @return NewObjectPage instance for fluent interface
      */
     public NewObjectPage fillRemainingFields() {
-        enterText(PRODUCT_ID_FIELD, RandomUtils.generateRandomString(12));
-        enterText(SERVICE_TAG_FIELD, RandomUtils.generateRandomString(8));
-        enterText(SERIAL_FIELD, RandomUtils.generateRandomString(15));
-        enterText(FIRMWARE_FIELD, RandomUtils.generateRandomString(10));
-        enterText(COMMENT_FIELD, RandomUtils.generateRandomString(20));
-        
-        logger.info("Filled all remaining fields with random values.");
-        return this;
+        return timed("fillRemainingFields", () -> {
+            fillModelFields(generator().objectData(null));
+            logger.info("Filled all remaining fields with random values.");
+            return this;
+        });
     }
-    
+
+    /**
+     * Fill in the text fields of the model category, leaving fields without a value untouched.
+     *
+     * @param data Values to enter
+     * @return NewObjectPage instance for fluent interface
+     */
+    public NewObjectPage fillModelFields(ObjectData data) {
+        return timed("fillModelFields", () -> {
+            enterTextIfPresent(PRODUCT_ID_FIELD, data.getProductId());
+            enterTextIfPresent(SERVICE_TAG_FIELD, data.getServiceTag());
+            enterTextIfPresent(SERIAL_FIELD, data.getSerial());
+            enterTextIfPresent(FIRMWARE_FIELD, data.getFirmware());
+            enterTextIfPresent(COMMENT_FIELD, data.getComment());
+            return this;
+        });
+    }
+
+    /**
+     * Select a random manufacturer, fill the remaining fields with random values and select a random model,
+     * using one script call for the manufacturer and text fields and one for the model.
+     *
+     * @return NewObjectPage instance for fluent interface
+     */
+    public NewObjectPage fillModelWithScript() {
+        return fillModelWithScript(generator().objectData(null));
+    }
+
+    /**
+     * Fill the model category with one script call for the manufacturer and text fields and one for the model.
+     * The model list depends on the manufacturer, so it can only be picked once i-doit has reloaded it.
+     *
+     * @param data Values to enter; a null manufacturer or model selects a random option
+     * @return NewObjectPage instance for fluent interface
+     */
+    public NewObjectPage fillModelWithScript(ObjectData data) {
+        return timed("fillModelWithScript", () -> {
+            Map<String, String> values = new LinkedHashMap<>();
+            putIfPresent(values, PRODUCT_ID_ID, data.getProductId());
+            putIfPresent(values, SERVICE_TAG_ID, data.getServiceTag());
+            putIfPresent(values, SERIAL_ID, data.getSerial());
+            putIfPresent(values, FIRMWARE_ID, data.getFirmware());
+            putIfPresent(values, COMMENT_ID, data.getComment());
+            Map<String, String> selects = new LinkedHashMap<>();
+            selects.put(MANUFACTURER_ID, data.getManufacturer());
+            selects.put(MODEL_TITLE_ID, data.getModel());
+            fillFieldsWithScript(values, selects);
+            return this;
+        });
+    }
+
+    /**
+     * Wait until a field of the form is shown, e.g. the first field of a category that appears after a save.
+     *
+     * @param id Element ID of the field
+     * @return NewObjectPage instance for fluent interface
+     */
+    public NewObjectPage waitForField(String id) {
+        return timed("waitForField", () -> {
+            waitForElementVisible(field(id));
+            return this;
+        });
+    }
+
+    /**
+     * Fill text fields and dropdowns of the form by element ID, in the current fill mode. Dropdowns are
+     * filled in the given order, each after the page is idle again, since i-doit reloads a dropdown when one
+     * it depends on changes, like the model list after the manufacturer.
+     *
+     * @param values Values of the text fields, keyed by element ID
+     * @param selects Option texts in filling order, keyed by element ID; a null text selects a random option
+     * @return NewObjectPage instance for fluent interface
+     */
+    public NewObjectPage fillFields(Map<String, String> values, Map<String, String> selects) {
+        return timed("fillFields", () -> {
+            if (fillMode == FillMode.SCRIPT) {
+                fillFieldsWithScript(values, selects);
+                return this;
+            }
+            values.forEach((id, value) -> enterText(field(id), value));
+            List<String> ids = List.copyOf(selects.keySet());
+            for (int i = 0; i < ids.size(); i++) {
+                if (i > 0) {
+                    waitForPageIdle();
+                }
+                By select = field(ids.get(i));
+                String text = selects.get(ids.get(i));
+                if (text == null) {
+                    text = selectOption(select);
+                } else if (!selectOptionByText(select, text)) {
+                    throw new RuntimeException("Option '" + text + "' not found in " + ids.get(i));
+                }
+                selectedOptions.put(ids.get(i), text);
+                invalidateOptionsAfter(ids, i);
+            }
+            return this;
+        });
+    }
+
+    /**
+     * Save the current state of the form and, when saves are detected from network events, wait for the
+     * response of the save request.
+     *
+     * @return NewObjectPage instance for fluent interface
+     */
+    public NewObjectPage saveForm() {
+        return timed("saveForm", () -> {
+            saveAndAwaitCompletion(null);
+            return this;
+        });
+    }
+
+    /**
+     * Open the saved object through the "Link to this page" link, leaving the edit mode.
+     *
+     * @return NewObjectPage instance for fluent interface
+     */
+    public NewObjectPage openSavedObject() {
+        return timed("openSavedObject", () -> {
+            clickElement(LINK_TO_THIS_PAGE);
+            return this;
+        });
+    }
+
     /**
      * Complete the entire form with default/random values and save.
      *
@@ -105,18 +419,134 @@ public class NewObjectPage extends BasePage {
      * @return NewObjectPage instance for fluent interface
      */
     public NewObjectPage createNewObject(String title) {
-        enterTitle(title);
-        clickSave();
-        
+        return createNewObject(generator().objectData(title));
+    }
+
+    /**
+     * Complete the entire form with the given values and save.
+     *
+     * @param data The values of the object
+     * @return NewObjectPage instance for fluent interface
+     */
+    public NewObjectPage createNewObject(ObjectData data) {
+        return createNewObject(data, null);
+    }
+
+    /**
+     * Complete the entire form with the given values and save, running an action while the final save is
+     * in flight, e.g. to load the next form in another tab. The action must leave this page's window
+     * selected.
+     *
+     * @param data The values of the object
+     * @param whileSaving Action run right after the final save was clicked, or null
+     * @return NewObjectPage instance for fluent interface
+     * @throws SavedObjectException if a step failed after the object was first saved
+     */
+    public NewObjectPage createNewObject(ObjectData data, Runnable whileSaving) {
+        return timed("createNewObject", () -> {
+            try {
+                return fillAndSave(data, whileSaving);
+            } catch (RuntimeException e) {
+                if (saved) {
+                    throw new SavedObjectException(data.getTitle(), e);
+                }
+                throw e;
+            }
+        });
+    }
+
+    private NewObjectPage fillAndSave(ObjectData data, Runnable whileSaving) {
+        selectedOptions.clear();
+        long start = System.nanoTime();
+        enterTitle(data.getTitle());
+        long fillNanos = System.nanoTime() - start;
+        saveAndAwaitCompletion(null);
+
         // Wait for manufacturer select to appear
         waitForElementVisible(MANUFACTURER_SELECT);
-        selectRandomManufacturer();
-        fillRemainingFields();
-        selectRandomModelTitle(); // Placed before final save to ensure that model list is loaded and populated with data.
-        clickSave();
+        start = System.nanoTime();
+        if (fillMode == FillMode.SCRIPT) {
+            fillModelWithScript(data);
+        } else {
+            selectManufacturer(data.getManufacturer());
+            fillModelFields(data);
+            selectModelTitle(data.getModel()); // Placed before final save to ensure that model list is loaded and populated with data.
+        }
+        lastFillNanos = fillNanos + System.nanoTime() - start;
+        saveAndAwaitCompletion(whileSaving);
+        lastSubmitted = new ObjectData(data.getTitle(), selectedOptions.get(MANUFACTURER_ID),
+                selectedOptions.get(MODEL_TITLE_ID), data.getProductId(), data.getServiceTag(), data.getSerial(),
+                data.getFirmware(), data.getComment());
         clickElement(LINK_TO_THIS_PAGE);
+        return this;
+    }
 
+    private void runWhileSaving(Runnable whileSaving) {
+        if (whileSaving != null) {
+            timed("whileSaving", () -> {
+                whileSaving.run();
+                return null;
+            });
+        }
+    }
 
-        return this;
+    private void enterTextIfPresent(By by, String text) {
+        if (text != null) {
+            enterText(by, text);
+        }
+    }
+
+    /**
+     * Locator of a form field, equal to the one of the field's constant if it has one.
+     */
+    private static By field(String id) {
+        return Locators.xpath("//*[@id=\"" + id + "\"]");
+    }
+
+    private static void putIfPresent(Map<String, String> values, String id, String value) {
+        if (value != null) {
+            values.put(id, value);
+        }
+    }
+
+    /**
+     * Fill the text fields together with the first dropdown in one script call, then every further dropdown
+     * in a call of its own once the page is idle.
+     */
+    private void fillFieldsWithScript(Map<String, String> values, Map<String, String> selects) {
+        if (selects.isEmpty()) {
+            if (!values.isEmpty()) {
+                fillWithScript(values, Collections.emptyMap(), Collections.emptyList());
+            }
+            return;
+        }
+        List<String> ids = List.copyOf(selects.keySet());
+        Map<String, String> batch = values;
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                // Wait for the dropdown to be reloaded after the change of the one before
+                waitForPageIdle();
+            }
+            fillSelectWithScript(batch, ids.get(i), selects.get(ids.get(i)));
+            // The script bypasses the option cache, so drop what it holds for the dependent dropdowns
+            invalidateOptionsAfter(ids, i);
+            batch = Collections.emptyMap();
+        }
+    }
+
+    private void invalidateOptionsAfter(List<String> selectIds, int index) {
+        for (int i = index + 1; i < selectIds.size(); i++) {
+            invalidateOptions(field(selectIds.get(i)));
+        }
+    }
+
+    private void fillSelectWithScript(Map<String, String> values, String selectId, String optionText) {
+        Map<String, String> selected = optionText == null
+                ? fillWithScript(values, Collections.emptyMap(), List.of(selectId))
+                : fillWithScript(values, Collections.singletonMap(selectId, optionText), Collections.emptyList());
+        if (optionText != null && !selected.containsKey(selectId)) {
+            throw new RuntimeException("Option '" + optionText + "' not found in " + selectId);
+        }
+        selectedOptions.put(selectId, selected.get(selectId));
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,211 @@
+package com.idoit.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Page object for a page of an object-type group: the menu tree with the object types of the group on the
+ * left, the navigation bar with the "New" overlay on top and the paged list of objects.
+ */
+public class ObjectListPage extends BasePage {
+    // Locators
+    private static final By MENU_TREE = Locators.xpath("//*[@id=\"menu_tree\"]");
+    private static final By OVERLAY_MENU = Locators.xpath("//*[@id=\"new_overlay\"]");
+    private static final By OVERLAY_MENU_DROPDOWN = Locators.xpath("//*[@id=\"navbar_item_C__NAVMODE__NEW_ADD\"]");
+    private static final By NEW_OBJECT_OPTION = By.xpath(".//span[contains(text(), \"New object\")]");
+    private static final By NODE_LINK = By.xpath("./ancestor-or-self::a[1]");
+    private static final By LIST_TABLE = Locators.xpath("//*[@id=\"mainTable\"]");
+    private static final By NEXT_PAGE = Locators.xpath("//*[@id=\"navbar_item_C__NAVMODE__FORWARD\"]");
+    private static final Pattern OBJECT_TYPE_ID = Pattern.compile("objTypeID=(\\d+)");
+    // Header and cell texts of all rows of the list table, read in one call
+    private static final String READ_TABLE_SCRIPT =
+            "function texts(cells) { return Array.prototype.map.call(cells, function (c) { return c.textContent.trim(); }); }"
+            + "var table = arguments[0];"
+            + "return {headers: texts(table.querySelectorAll('thead th')),"
+            + "  rows: Array.prototype.map.call(table.querySelectorAll('tbody tr'), function (r) { return texts(r.cells); })};";
+    private static final String FIRST_ROW_SCRIPT =
+            "var row = arguments[0].querySelector('tbody tr'); return row ? row.textContent : '';";
+
+    /**
+     * Constructor for the ObjectListPage.
+     *
+     * @param driver WebDriver instance
+     */
+    public ObjectListPage(WebDriver driver) {
+        super(driver);
+    }
+
+    /**
+     * Wait until the menu tree is visible and populated with the node of an object type.
+     *
+     * @param objectType Name of the object type, as shown in the menu tree
+     * @return The node of the object type
+     */
+    public WebElement waitForTreeNode(String objectType) {
+        return timed("waitForTreeNode", () -> {
+            waitForPageIdle();
+            WebElement menuTree = waitForElementVisible(MENU_TREE);
+            By node = treeNode(objectType);
+            WebElement treeNode = waitUntil("treeNode:" + objectType, d -> menuTree.findElements(node).stream()
+                    .filter(WebElement::isDisplayed)
+                    .findFirst()
+                    .orElse(null));
+            logger.info("Menu tree is populated with {}.", objectType);
+            return treeNode;
+        });
+    }
+
+    /**
+     * Resolve the i-doit object-type ID of an object type from its link in the menu tree.
+     *
+     * @param objectType Name of the object type, as shown in the menu tree
+     * @return The object-type ID, or null if the node link does not carry one
+     */
+    public String getObjectTypeId(String objectType) {
+        return timed("getObjectTypeId", () -> {
+            List<WebElement> links = waitForTreeNode(objectType).findElements(NODE_LINK);
+            String href = links.isEmpty() ? null : links.get(0).getAttribute("href");
+            Matcher matcher = OBJECT_TYPE_ID.matcher(href == null ? "" : href);
+            if (!matcher.find()) {
+                logger.warn("No object-type ID found in {} node link: {}", objectType, href);
+                return null;
+            }
+            logger.info("{} object-type ID is {}.", objectType, matcher.group(1));
+            return matcher.group(1);
+        });
+    }
+
+    /**
+     * Navigate to the object list of an object type by clicking its node in the menu tree.
+     *
+     * @param objectType Name of the object type, as shown in the menu tree
+     * @return ObjectListPage instance for fluent interface
+     */
+    public ObjectListPage navigateToObjectType(String objectType) {
+        return timed("navigateToObjectType", () -> {
+            clickTreeNode(objectType);
+            return new ObjectListPage(driver);
+        });
+    }
+
+    /**
+     * Click on the "New object" option in the overlay menu.
+     *
+     * @return NewObjectPage instance for fluent interface
+     */
+    public NewObjectPage clickNewObject() {
+        return timed("clickNewObject", () -> {
+            try {
+                // Check if overlay menu is displayed
+                if (isElementDisplayed(OVERLAY_MENU)) {
+                    logger.info("Overlay menu is displayed.");
+                } else {
+                    logger.info("Overlay menu is not displayed. Clicking the dropdown to expand it.");
+                    clickElement(OVERLAY_MENU_DROPDOWN);
+                }
+
+                // Click on the "New object" option
+                WebElement newObjectElement = waitForElementVisible(OVERLAY_MENU).findElement(NEW_OBJECT_OPTION);
+                newObjectElement.click();
+                logger.info("Clicked on 'New object' option.");
+            } catch (Exception e) {
+                logger.error("Error clicking on 'New object': {}", e.getMessage());
+                throw new RuntimeException("Failed to click on 'New object'", e);
+            }
+
+            return new NewObjectPage(driver);
+        });
+    }
+
+    /**
+     * Read the current page of the object list with a single script call.
+     *
+     * @return Header and cell texts of the page
+     */
+    @SuppressWarnings("unchecked")
+    public ListTable readListPage() {
+        return timed("readListPage", () -> {
+            WebElement table = waitForElementVisible(LIST_TABLE);
+            waitForPageIdle();
+            Map<String, Object> content = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeScript(READ_TABLE_SCRIPT, table);
+            return new ListTable((List<String>) content.get("headers"), (List<List<String>>) content.get("rows"));
+        });
+    }
+
+    /**
+     * Go to the next page of the object list, if there is one.
+     *
+     * @return true if the next page is shown, false if the current page is the last one
+     */
+    public boolean nextListPage() {
+        return timed("nextListPage", () -> {
+            List<WebElement> buttons = driver.findElements(NEXT_PAGE);
+            if (buttons.isEmpty() || !buttons.get(0).isDisplayed()
+                    || String.valueOf(buttons.get(0).getAttribute("class")).contains("navbar_item_inactive")) {
+                return false;
+            }
+            WebElement table = waitForElementVisible(LIST_TABLE);
+            Object firstRow = ((JavascriptExecutor) driver).executeScript(FIRST_ROW_SCRIPT, table);
+            buttons.get(0).click();
+            // The list is either reloaded as a new page or its rows are replaced in place
+            waitUntil("nextListPage", d -> {
+                try {
+                    return !firstRow.equals(((JavascriptExecutor) d).executeScript(FIRST_ROW_SCRIPT, table));
+                } catch (StaleElementReferenceException e) {
+                    return true;
+                }
+            });
+            return true;
+        });
+    }
+
+    /**
+     * Wait for the node of an object type in the menu tree and click it.
+     *
+     * @param objectType Name of the object type, as shown in the menu tree
+     */
+    protected void clickTreeNode(String objectType) {
+        waitForTreeNode(objectType).click();
+        logger.info("Clicked on {} node in the menu tree.", objectType);
+    }
+
+    /**
+     * One page of the object list.
+     */
+    public static class ListTable {
+        private final List<String> headers;
+        private final List<List<String>> rows;
+
+        /**
+         * Constructor for the ListTable.
+         *
+         * @param headers Column headers
+         * @param rows Cell texts per row, in column order
+         */
+        public ListTable(List<String> headers, List<List<String>> rows) {
+            this.headers = headers;
+            this.rows = rows;
+        }
+
+        public List<String> getHeaders() {
+            return headers;
+        }
+
+        public List<List<String>> getRows() {
+            return rows;
+        }
+    }
+
+    private static By treeNode(String objectType) {
+        return By.xpath(".//span[contains(text(), \"" + objectType + "\")]");
+    }
+}
@@ -0,0 +1,71 @@
+package com.idoit.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.idoit.config.RunOptions;
+import com.idoit.data.ObjectData;
+
+/**
+ * Page object for the overview page of an existing object.
+ */
+public class ObjectPage extends BasePage {
+    // Locators
+    private static final By PAGE_BODY = Locators.xpath("//body");
+
+    /**
+     * Constructor for the ObjectPage.
+     *
+     * @param driver WebDriver instance
+     */
+    public ObjectPage(WebDriver driver) {
+        super(driver);
+    }
+
+    /**
+     * Open the overview page of an object.
+     *
+     * @param objectId ID of the object
+     * @return ObjectPage instance for fluent interface
+     */
+    public ObjectPage navigateTo(int objectId) {
+        return timed("navigateTo", () -> {
+            driver.get(RunOptions.baseUrl() + "?objID=" + objectId);
+            waitForElementVisible(PAGE_BODY);
+            waitForPageIdle();
+            logger.info("Navigated to object {}", objectId);
+            return this;
+        });
+    }
+
+    /**
+     * Read the text shown on the page, including the category data of the overview.
+     *
+     * @return The visible text of the page
+     */
+    public String getVisibleText() {
+        return timed("getVisibleText", () -> waitForElementVisible(PAGE_BODY).getText());
+    }
+
+    /**
+     * Check which values of an object the page does not show.
+     *
+     * @param expected Values the object was saved with; null values are not checked
+     * @return The values missing from the visible text, empty if all are shown
+     */
+    public List<String> missingValues(ObjectData expected) {
+        String pageText = getVisibleText();
+        List<String> missing = new ArrayList<>();
+        for (String value : new String[] {expected.getTitle(), expected.getManufacturer(), expected.getModel(),
+                expected.getProductId(), expected.getServiceTag(), expected.getSerial(), expected.getFirmware(),
+                expected.getComment()}) {
+            if (value != null && !pageText.contains(value)) {
+                missing.add(value);
+            }
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,81 @@
+package com.idoit.pages;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.idoit.config.RunOptions;
+
+/**
+ * Per-driver cache of dropdown option lists, keyed by page and field, with a time to live.
+ * <p>
+ * The cache is scoped to the driver because dependent lists (e.g. models of the selected manufacturer)
+ * differ between browsers working on different objects at the same time.
+ */
+class OptionCache {
+    private static final Map<WebDriver, OptionCache> CACHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * A single dropdown option.
+     */
+    static class Option {
+        final String value;
+        final String text;
+
+        Option(String value, String text) {
+            this.value = value;
+            this.text = text;
+        }
+    }
+
+    private static class Entry {
+        private final List<Option> options;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Entry(List<Option> options) {
+            this.options = options;
+        }
+    }
+
+    /**
+     * Get the option cache of a driver.
+     *
+     * @param driver WebDriver instance
+     * @return The cache shared by all pages of that driver
+     */
+    static OptionCache forDriver(WebDriver driver) {
+        return CACHES.computeIfAbsent(driver, d -> new OptionCache());
+    }
+
+    /**
+     * Get the cached options of a field.
+     *
+     * @param key Page and field key
+     * @return The options, or null if not cached or expired
+     */
+    List<Option> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.loadedAt > RunOptions.OPTION_CACHE_TTL_MILLIS) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.options;
+    }
+
+    void put(String key, List<Option> options) {
+        entries.put(key, new Entry(options));
+    }
+
+    void invalidate(String key) {
+        entries.remove(key);
+    }
+}
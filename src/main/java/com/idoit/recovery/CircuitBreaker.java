@@ -0,0 +1,73 @@
+package com.idoit.recovery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stops all workers from hammering i-doit while it is failing.
+ * <p>
+ * After a number of consecutive step failures, counted over all workers after their retries, the breaker
+ * opens and every step fails right away for a cool-down period. Then a single trial step is let through;
+ * if it succeeds the breaker closes again, otherwise it stays open for another cool-down.
+ */
+public class CircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long coolDownMillis;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    /**
+     * Constructor for the CircuitBreaker.
+     *
+     * @param failureThreshold Consecutive failures that open the breaker
+     * @param coolDownMillis Time the breaker stays open before a trial step
+     */
+    public CircuitBreaker(int failureThreshold, long coolDownMillis) {
+        this.failureThreshold = failureThreshold;
+        this.coolDownMillis = coolDownMillis;
+    }
+
+    /**
+     * Check if a step may run.
+     *
+     * @throws CircuitOpenException while the breaker is open
+     */
+    public synchronized void acquire() {
+        if (state == State.CLOSED) {
+            return;
+        }
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= coolDownMillis) {
+            state = State.HALF_OPEN;
+            logger.info("Circuit breaker half open, letting a trial step through.");
+            return;
+        }
+        throw new CircuitOpenException("i-doit is failing, circuit breaker open after "
+                + consecutiveFailures + " consecutive failures");
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            logger.info("Circuit breaker closed.");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            logger.warn("Circuit breaker open for {} ms after {} consecutive failures.", coolDownMillis, consecutiveFailures);
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return state == State.OPEN;
+    }
+}
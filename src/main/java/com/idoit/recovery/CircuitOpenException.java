@@ -0,0 +1,12 @@
+package com.idoit.recovery;
+
+/**
+ * Thrown instead of running a step while the {@link CircuitBreaker} is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
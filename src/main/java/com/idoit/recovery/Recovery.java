@@ -0,0 +1,164 @@
+package com.idoit.recovery;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.idoit.config.RunOptions;
+import com.idoit.metrics.StepMetrics;
+import com.idoit.pages.DashboardPage;
+
+/**
+ * Runs workflow steps with retries, recovering the browser in place instead of restarting it.
+ * <p>
+ * When a step fails with a failure its {@link RetryPolicy} allows, the driver is brought back to the
+ * dashboard, a known page of the still logged in session, and the step is run again from there. Steps
+ * must therefore start from any page, as {@code NewObjectNavigator.openNewClientForm} does, unless the run
+ * is given another way to resume, such as staying on the form of an object that was saved already.
+ * Failures that remain after all attempts are counted by a shared {@link CircuitBreaker}.
+ * <p>
+ * Runs may be nested, e.g. a navigation step inside the creation of an object. Only the outermost run of a
+ * thread checks and updates the breaker, so that a failure is counted once and the trial step of a half
+ * open breaker is the whole workflow rather than one of its parts.
+ * <p>
+ * Retries are counted per step in {@link StepMetrics} under {@code Recovery.step}, together with the time
+ * spent recovering, and summarised by {@link #report(Logger)}.
+ */
+public class Recovery {
+    private static final Logger logger = LoggerFactory.getLogger(Recovery.class);
+
+    private final CircuitBreaker circuitBreaker;
+    private final StepMetrics metrics = StepMetrics.global();
+    private final Map<String, LongAdder> retries = new ConcurrentHashMap<>();
+    private final LongAdder recoveryNanos = new LongAdder();
+    // Number of runs of this instance the current thread is inside of
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Constructor for the Recovery with a circuit breaker configured from the run options.
+     */
+    public Recovery() {
+        this(new CircuitBreaker(RunOptions.CIRCUIT_FAILURE_THRESHOLD, RunOptions.CIRCUIT_COOL_DOWN_MILLIS));
+    }
+
+    /**
+     * Constructor for the Recovery.
+     *
+     * @param circuitBreaker Breaker shared by all workers using this instance
+     */
+    public Recovery(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Run a step, retrying it from the dashboard as the policy allows.
+     *
+     * @param step Name of the step
+     * @param policy Retry policy of the step
+     * @param driver Logged in driver
+     * @param action The step
+     * @return The value returned by the step
+     * @throws CircuitOpenException if i-doit is failing and the circuit breaker is open
+     */
+    public <T> T run(String step, RetryPolicy policy, WebDriver driver, Function<WebDriver, T> action) {
+        return run(step, policy, driver, action, d -> new DashboardPage(d).navigateTo());
+    }
+
+    /**
+     * Run a step, retrying it from the page the given action brings the driver to, as the policy allows.
+     *
+     * @param step Name of the step
+     * @param policy Retry policy of the step
+     * @param driver Logged in driver
+     * @param action The step
+     * @param resume Brings the driver back to where the step can run again, e.g. stays on the current page
+     * @return The value returned by the step
+     * @throws CircuitOpenException if i-doit is failing and the circuit breaker is open
+     */
+    public <T> T run(String step, RetryPolicy policy, WebDriver driver, Function<WebDriver, T> action,
+                     Consumer<WebDriver> resume) {
+        int[] runs = depth.get();
+        boolean outermost = runs[0] == 0;
+        runs[0]++;
+        try {
+            return attempt(step, policy, driver, action, resume, outermost);
+        } finally {
+            runs[0]--;
+        }
+    }
+
+    private <T> T attempt(String step, RetryPolicy policy, WebDriver driver, Function<WebDriver, T> action,
+                          Consumer<WebDriver> resume, boolean outermost) {
+        for (int attempt = 1; ; attempt++) {
+            if (outermost) {
+                circuitBreaker.acquire();
+            }
+            try {
+                T result = action.apply(driver);
+                if (outermost) {
+                    circuitBreaker.recordSuccess();
+                }
+                return result;
+            } catch (CircuitOpenException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                if (attempt >= policy.getMaxAttempts() || !policy.isRetryable(e)) {
+                    if (outermost) {
+                        circuitBreaker.recordFailure();
+                    }
+                    throw e;
+                }
+                logger.warn("Step {} failed on attempt {} of {}, recovering: {}", step, attempt,
+                        policy.getMaxAttempts(), e.getMessage());
+                retries.computeIfAbsent(step, k -> new LongAdder()).increment();
+                metrics.recordRetry(stepName(step));
+                try {
+                    recover(step, driver, policy.backoffMillis(attempt), resume);
+                } catch (RuntimeException recoveryFailure) {
+                    if (outermost) {
+                        circuitBreaker.recordFailure();
+                    }
+                    e.addSuppressed(recoveryFailure);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void recover(String step, WebDriver driver, long backoffMillis, Consumer<WebDriver> resume) {
+        long start = System.nanoTime();
+        try {
+            TimeUnit.MILLISECONDS.sleep(backoffMillis);
+            resume.accept(driver);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while recovering from a failed step", e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            recoveryNanos.add(elapsed);
+            metrics.recordWait(stepName(step), elapsed);
+        }
+    }
+
+    private static String stepName(String step) {
+        return "Recovery." + step;
+    }
+
+    /**
+     * Log the retries per step and the total time spent recovering.
+     *
+     * @param logger Logger to write the report to
+     */
+    public void report(Logger logger) {
+        long total = retries.values().stream().mapToLong(LongAdder::sum).sum();
+        logger.info("Recovered {} failed steps in {} ms.", total, TimeUnit.NANOSECONDS.toMillis(recoveryNanos.sum()));
+        retries.forEach((step, count) -> logger.info("Retries of {}: {}", step, count.sum()));
+    }
+}
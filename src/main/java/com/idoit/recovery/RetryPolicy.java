@@ -0,0 +1,119 @@
+package com.idoit.recovery;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.idoit.config.RunOptions;
+
+/**
+ * Which failures of a step are retried, how often, and how long to back off between attempts.
+ */
+public class RetryPolicy {
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final List<Class<? extends Throwable>> retryable;
+
+    /**
+     * Constructor for the RetryPolicy.
+     *
+     * @param maxAttempts Number of attempts including the first one
+     * @param backoffMillis Pause before the first retry, doubled for every further retry
+     * @param retryable Failure types that are retried; they are also recognised as the cause of a wrapping exception
+     */
+    @SafeVarargs
+    public RetryPolicy(int maxAttempts, long backoffMillis, Class<? extends Throwable>... retryable) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+        // Copied one by one: handing the generic array on to another varargs method is what heap pollution warns about
+        List<Class<? extends Throwable>> types = new ArrayList<>(retryable.length);
+        for (Class<? extends Throwable> type : retryable) {
+            types.add(type);
+        }
+        this.retryable = Collections.unmodifiableList(types);
+    }
+
+    /**
+     * Policy for navigation steps, which can be repeated safely: stale elements, intercepted clicks and
+     * timeouts are retried.
+     *
+     * @return The navigation policy
+     */
+    public static RetryPolicy navigation() {
+        return new RetryPolicy(RunOptions.RETRY_ATTEMPTS, RunOptions.RETRY_BACKOFF_MILLIS,
+                StaleElementReferenceException.class, ElementClickInterceptedException.class, TimeoutException.class);
+    }
+
+    /**
+     * Policy for creating an object. Timeouts are not retried because the save may have reached i-doit
+     * already, and a retry would create the object twice; for the same reason no failure after the first
+     * save is retried, see {@link SavedObjectException}.
+     *
+     * @return The object creation policy
+     */
+    public static RetryPolicy objectCreation() {
+        return new RetryPolicy(Math.min(2, RunOptions.RETRY_ATTEMPTS), RunOptions.RETRY_BACKOFF_MILLIS,
+                StaleElementReferenceException.class, ElementClickInterceptedException.class);
+    }
+
+    /**
+     * Policy for the steps on the form of an object that was saved already. Repeating them updates that
+     * object rather than creating another one, so they are retried like navigation steps, in place.
+     *
+     * @return The saved object policy
+     */
+    public static RetryPolicy savedObject() {
+        return navigation();
+    }
+
+    /**
+     * Policy that runs a step once, for a step whose parts retry themselves.
+     *
+     * @return The single attempt policy
+     */
+    public static RetryPolicy once() {
+        return new RetryPolicy(1, 0);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Pause before a retry.
+     *
+     * @param retry Number of the retry, starting at 1
+     * @return Pause in milliseconds
+     */
+    public long backoffMillis(int retry) {
+        return backoffMillis << Math.min(retry - 1, 10);
+    }
+
+    /**
+     * Check if a failure, or any of its causes, is of a retryable type. A failure after an object was saved
+     * is never retryable.
+     *
+     * @param failure The failure
+     * @return true if the step may be retried
+     */
+    public boolean isRetryable(Throwable failure) {
+        if (failure instanceof SavedObjectException) {
+            return false;
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            for (Class<? extends Throwable> type : retryable) {
+                if (type.isInstance(cause)) {
+                    return true;
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
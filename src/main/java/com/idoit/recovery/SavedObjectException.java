@@ -0,0 +1,26 @@
+package com.idoit.recovery;
+
+/**
+ * Thrown when creating an object failed after the object was already saved in i-doit. It is never retried,
+ * as starting the creation over would save the object a second time.
+ */
+public class SavedObjectException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String title;
+
+    /**
+     * Constructor for the SavedObjectException.
+     *
+     * @param title Title of the saved object
+     * @param cause The failure after the save
+     */
+    public SavedObjectException(String title, Throwable cause) {
+        super("Object '" + title + "' was saved but not completed: " + cause.getMessage(), cause);
+        this.title = title;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+}
@@ -0,0 +1,146 @@
+package com.idoit.runner;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.idoit.api.IdoitApiClient;
+import com.idoit.api.ModelCatalog;
+import com.idoit.artifacts.ArtifactPipeline;
+import com.idoit.config.RunOptions;
+import com.idoit.data.ObjectData;
+import com.idoit.data.TestDataGenerator;
+import com.idoit.driver.DriverProfile;
+import com.idoit.metrics.StepMetrics;
+import com.idoit.pages.ObjectPage;
+
+/**
+ * Creates the bulk of the Client objects through the i-doit JSON-RPC API and verifies a random sample
+ * of them through the UI.
+ * <p>
+ * Manufacturer and model are picked at random from those i-doit knows and the other model fields are
+ * generated like {@code NewObjectPage.fillRemainingFields} does. The sample, {@link RunOptions#VERIFY_SAMPLE}
+ * objects by default, is opened in a single logged in browser and every value sent through the API must
+ * appear on the object's overview page.
+ * <p>
+ * The {@link com.idoit.bench.StandInServer} answers the API calls, so the mode can be tried offline with
+ * {@code -Didoit.url} pointing to it and any {@code -Didoit.apiKey}.
+ * <p>
+ * Usage: {@code HybridRunner [objects] [sample]}
+ */
+public class HybridRunner {
+    private static final Logger logger = LoggerFactory.getLogger(HybridRunner.class);
+    private static final int DEFAULT_OBJECTS = 100;
+
+    private final int objects;
+    private final int sample;
+    private final IdoitApiClient client;
+    private final StepStats stepStats = new StepStats();
+
+    /**
+     * Constructor for the HybridRunner.
+     *
+     * @param objects Number of objects to create through the API
+     * @param sample Number of created objects to verify in the browser
+     * @param client API client
+     */
+    public HybridRunner(int objects, int sample, IdoitApiClient client) {
+        this.objects = objects;
+        this.sample = sample;
+        this.client = client;
+    }
+
+    public static void main(String[] args) {
+        int objects = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_OBJECTS;
+        int sample = args.length > 1 ? Integer.parseInt(args[1]) : RunOptions.VERIFY_SAMPLE;
+        boolean verified = new HybridRunner(objects, sample, IdoitApiClient.fromOptions()).run();
+        System.exit(verified ? 0 : 1);
+    }
+
+    /**
+     * Create the objects, verify the sample and log a report.
+     *
+     * @return true if every sampled object shows the values it was created with
+     */
+    public boolean run() {
+        logger.info("Creating {} objects through the API at {}...", objects, RunOptions.apiUrl());
+
+        ModelCatalog catalog = stepStats.time("readModelCatalog", () -> ModelCatalog.read(client));
+        long start = System.nanoTime();
+        List<ObjectData> data = new ArrayList<>(objects);
+        for (int i = 0; i < objects; i++) {
+            TestDataGenerator random = TestDataGenerator.forObject(i);
+            data.add(catalog.complete(random.objectData(TestDataGenerator.uniqueTitle("api")), random));
+        }
+        List<Integer> ids = stepStats.time("createClients", () -> client.createClients(data));
+        long createNanos = System.nanoTime() - start;
+
+        List<Integer> sampled = pickSample(ids.size());
+        int mismatches = verify(sampled, ids, data);
+        report(createNanos, sampled.size(), mismatches);
+        return mismatches == 0;
+    }
+
+    /**
+     * Pick distinct object indexes at random, with a partial Fisher-Yates shuffle.
+     */
+    private List<Integer> pickSample(int count) {
+        List<Integer> indexes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            indexes.add(i);
+        }
+        TestDataGenerator random = TestDataGenerator.current();
+        int size = Math.min(sample, count);
+        for (int i = 0; i < size; i++) {
+            Collections.swap(indexes, i, i + random.nextInt(count - i));
+        }
+        return indexes.subList(0, size);
+    }
+
+    private int verify(List<Integer> sampled, List<Integer> ids, List<ObjectData> data) {
+        if (sampled.isEmpty()) {
+            return 0;
+        }
+        int mismatches = 0;
+        WebDriver driver = new LoggedInDrivers(DriverProfile.LEAN, stepStats).get();
+        try (ArtifactPipeline artifacts = new ArtifactPipeline()) {
+            ObjectPage objectPage = new ObjectPage(driver);
+            for (int index : sampled) {
+                int id = ids.get(index);
+                List<String> missing = stepStats.time("verifyObject",
+                        () -> objectPage.navigateTo(id).missingValues(data.get(index)));
+                if (missing.isEmpty()) {
+                    logger.info("Object {} ({}) shows all values.", id, data.get(index).getTitle());
+                } else {
+                    mismatches++;
+                    logger.error("Object {} ({}) does not show {}", id, data.get(index).getTitle(), missing);
+                    artifacts.onFailure(driver, "verifyObject_" + id);
+                }
+            }
+        } finally {
+            driver.quit();
+        }
+        return mismatches;
+    }
+
+    private void report(long createNanos, int verified, int mismatches) {
+        double minutes = createNanos / 60_000_000_000.0;
+        logger.info("Created {} objects through the API in {} ms.", objects, TimeUnit.NANOSECONDS.toMillis(createNanos));
+        logger.info("Throughput: {} objects/minute", String.format("%.1f", objects / minutes));
+        logger.info("Verified {} objects in the browser, {} with mismatches.", verified, mismatches);
+        stepStats.report(logger);
+        try {
+            StepMetrics.global().writeJson(Paths.get(RunOptions.METRICS_FILE));
+            logger.info("Step metrics written to {}", RunOptions.METRICS_FILE);
+        } catch (IOException e) {
+            logger.warn("Could not write step metrics: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.idoit.runner;
+
+import org.openqa.selenium.WebDriver;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import com.idoit.config.RunOptions;
+import com.idoit.driver.DriverProfile;
+import com.idoit.driver.DriverProvider;
+import com.idoit.pages.LoginPage;
+import com.idoit.session.SessionCache;
+
+/**
+ * Creates drivers that are already logged in to i-doit, reusing the cached session when enabled.
+ * Meant as the factory of a {@link com.idoit.driver.DriverPool}.
+ */
+public class LoggedInDrivers implements Supplier<WebDriver> {
+    private final DriverProvider driverProvider;
+    private final SessionCache sessionCache =
+            new SessionCache(Paths.get(RunOptions.SESSION_FILE), Duration.ofMinutes(RunOptions.SESSION_TTL_MINUTES));
+    private final StepStats stepStats;
+
+    /**
+     * Constructor for the LoggedInDrivers.
+     *
+     * @param defaultProfile Driver profile used unless another one is selected with idoit.driverProfile
+     * @param stepStats Statistics the login time is recorded in
+     */
+    public LoggedInDrivers(DriverProfile defaultProfile, StepStats stepStats) {
+        this(DriverProvider.fromOptions(defaultProfile), stepStats);
+    }
+
+    /**
+     * Constructor for the LoggedInDrivers.
+     *
+     * @param driverProvider Provider the drivers are started with
+     * @param stepStats Statistics the login time is recorded in
+     */
+    public LoggedInDrivers(DriverProvider driverProvider, StepStats stepStats) {
+        this.driverProvider = driverProvider;
+        this.stepStats = stepStats;
+    }
+
+    @Override
+    public WebDriver get() {
+        WebDriver driver = driverProvider.create();
+        try {
+            stepStats.time("login", () -> RunOptions.SESSION_CACHE
+                    ? sessionCache.login(driver)
+                    : new LoginPage(driver).navigateTo().loginWithDefaultCredentials());
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw e;
+        }
+        return driver;
+    }
+}
@@ -0,0 +1,216 @@
+package com.idoit.runner;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.idoit.artifacts.ArtifactPipeline;
+import com.idoit.config.RunOptions;
+import com.idoit.data.TestDataGenerator;
+import com.idoit.driver.DriverPool;
+import com.idoit.driver.DriverProfile;
+import com.idoit.driver.GridScheduler;
+import com.idoit.metrics.MetricsEndpoint;
+import com.idoit.metrics.StepMetrics;
+import com.idoit.navigation.FormPrewarmer;
+import com.idoit.navigation.NavigationMode;
+import com.idoit.navigation.NewObjectNavigator;
+import com.idoit.pages.NewObjectPage;
+import com.idoit.recovery.CircuitOpenException;
+import com.idoit.recovery.Recovery;
+import com.idoit.recovery.RetryPolicy;
+import com.idoit.verify.ListVerifier;
+
+/**
+ * Creates many Client objects in parallel, spreading the work over a pool of logged in headless drivers.
+ * Each object is created by a workflow of the {@link WorkflowOrchestrator}, on a virtual thread unless
+ * {@code -Didoit.threading=PLATFORM} is given. With {@code -Didoit.prewarmForms=true} every worker loads
+ * the form of its next object in a second tab while the current one is saved. With
+ * {@code -Didoit.verifyList=true} the created objects are compared with the Client list at the end.
+ * <p>
+ * With {@code -Didoit.gridUrls} the browsers are remote sessions on Selenium Grid, and the default number
+ * of workers is the number of Chrome slots the Grid offers.
+ * <p>
+ * Usage: {@code ParallelObjectRunner [workers] [objects]}
+ */
+public class ParallelObjectRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelObjectRunner.class);
+    private static final int DEFAULT_WORKERS = 4;
+    private static final int DEFAULT_OBJECTS = 20;
+
+    private final int workers;
+    private final int objects;
+    private final StepStats stepStats = new StepStats();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    // Number of the next object, which selects its generated values
+    private final AtomicLong sequence = new AtomicLong();
+    private final NewObjectPage.FillMode fillMode = NewObjectPage.FillMode.valueOf(RunOptions.FILL_MODE);
+    private final NewObjectNavigator navigator =
+            new NewObjectNavigator(NavigationMode.valueOf(RunOptions.NAVIGATION_MODE), stepStats);
+    private final WorkflowOrchestrator.Threading threading = WorkflowOrchestrator.Threading.fromOptions();
+    private final Recovery recovery = new Recovery();
+    private final ArtifactPipeline artifacts = new ArtifactPipeline();
+    private final ListVerifier listVerifier = new ListVerifier("Hardware", "Client");
+
+    /**
+     * Constructor for the ParallelObjectRunner.
+     *
+     * @param workers Number of parallel workers, which is also the number of browsers
+     * @param objects Number of objects to create
+     * @throws IllegalArgumentException if forms are pre-loaded while saves are detected from network events
+     */
+    public ParallelObjectRunner(int workers, int objects) {
+        if (RunOptions.PREWARM_FORMS && "NETWORK".equals(RunOptions.SAVE_DETECTION)) {
+            // The DevTools session listens to one tab, while the prewarmer saves in both tabs by turns
+            throw new IllegalArgumentException(
+                    "-Didoit.prewarmForms=true cannot be combined with -Didoit.saveDetection=NETWORK");
+        }
+        this.workers = workers;
+        this.objects = objects;
+    }
+
+    public static void main(String[] args) {
+        int workers = args.length > 0 ? Integer.parseInt(args[0]) : defaultWorkers();
+        int objects = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_OBJECTS;
+        new ParallelObjectRunner(workers, objects).run();
+    }
+
+    /**
+     * One worker per Chrome slot of the Grid when running on a Grid, otherwise a fixed default.
+     *
+     * @return Number of workers
+     */
+    private static int defaultWorkers() {
+        if (RunOptions.GRID_URLS == null || RunOptions.GRID_URLS.isEmpty()) {
+            return DEFAULT_WORKERS;
+        }
+        int slots = GridScheduler.fromUrls(RunOptions.GRID_URLS, DriverProfile.LEAN).capacity();
+        logger.info("Grid {} offers {} Chrome slots.", RunOptions.GRID_URLS, slots);
+        return Math.max(1, slots);
+    }
+
+    /**
+     * Create all objects and log a throughput and latency report at the end.
+     */
+    public void run() {
+        logger.info("Creating {} objects with {} workers on {} threads...", objects, workers, threading);
+
+        long start = System.nanoTime();
+        MetricsEndpoint metricsEndpoint = startMetricsEndpoint();
+        try (DriverPool pool = new DriverPool(workers, new LoggedInDrivers(DriverProfile.LEAN, stepStats));
+             WorkflowOrchestrator orchestrator = new WorkflowOrchestrator(threading, pool, workers,
+                     Duration.ofMillis(RunOptions.WORKFLOW_TIMEOUT_MILLIS))) {
+            orchestrator.runAll(objects, this::createObject);
+            if (orchestrator.getTimedOut() > 0) {
+                logger.warn("{} workflows timed out.", orchestrator.getTimedOut());
+            }
+            if (orchestrator.getNotStarted() > 0) {
+                logger.warn("{} workflows did not start, no logged in driver.", orchestrator.getNotStarted());
+            }
+            verifyList(pool);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Run interrupted.");
+        } catch (Exception e) {
+            logger.error("An error occurred during the run: {}", e.getMessage(), e);
+        } finally {
+            artifacts.close();
+            if (metricsEndpoint != null) {
+                metricsEndpoint.close();
+            }
+        }
+
+        report(System.nanoTime() - start);
+    }
+
+    private MetricsEndpoint startMetricsEndpoint() {
+        if (RunOptions.METRICS_PORT <= 0) {
+            return null;
+        }
+        try {
+            return new MetricsEndpoint(RunOptions.METRICS_PORT, StepMetrics.global());
+        } catch (IOException e) {
+            logger.warn("Could not start metrics endpoint on port {}: {}", RunOptions.METRICS_PORT, e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean createObject(WebDriver driver) {
+        try {
+            String randomTitle = TestDataGenerator.uniqueTitle("test");
+            long object = sequence.getAndIncrement();
+            NewObjectPage newObjectPage = recovery.run("createObject", RetryPolicy.objectCreation(), driver, d -> {
+                // Every attempt starts the values of this object over, the same for a given seed
+                TestDataGenerator random = TestDataGenerator.forObject(object);
+                NewObjectPage page = recovery.run("openNewClientForm", RetryPolicy.navigation(), d,
+                        this::openNewClientForm).withFillMode(fillMode).withGenerator(random);
+                Runnable whileSaving = RunOptions.PREWARM_FORMS
+                        ? () -> FormPrewarmer.forDriver(d, navigator).prewarm(d) : null;
+                return stepStats.time("createNewObject",
+                        () -> page.createNewObject(random.objectData(randomTitle), whileSaving));
+            });
+            stepStats.record("fillForm(" + fillMode + ")", newObjectPage.getLastFillNanos());
+            if (RunOptions.VERIFY_LIST) {
+                listVerifier.record(newObjectPage.getLastSubmitted());
+            }
+
+            created.incrementAndGet();
+            return true;
+        } catch (CircuitOpenException e) {
+            // i-doit itself is failing, the driver is fine and is kept
+            failed.incrementAndGet();
+            logger.error("Failed to create object: {}", e.getMessage());
+            return true;
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            logger.error("Failed to create object: {}", e.getMessage());
+            artifacts.onFailure(driver, "createObject");
+            return false;
+        }
+    }
+
+    private void verifyList(DriverPool pool) throws InterruptedException {
+        if (!RunOptions.VERIFY_LIST) {
+            return;
+        }
+        WebDriver driver = pool.borrow();
+        try {
+            stepStats.time("verifyList", () -> listVerifier.verify(driver));
+            pool.release(driver);
+        } catch (Exception e) {
+            logger.error("Could not verify the Client list: {}", e.getMessage());
+            artifacts.onFailure(driver, "verifyList");
+            pool.invalidate(driver);
+        }
+    }
+
+    private NewObjectPage openNewClientForm(WebDriver driver) {
+        if (RunOptions.PREWARM_FORMS) {
+            return FormPrewarmer.forDriver(driver, navigator).openNextForm(driver);
+        }
+        return navigator.openNewClientForm(driver);
+    }
+
+    private void report(long elapsedNanos) {
+        double minutes = elapsedNanos / 60_000_000_000.0;
+        logger.info("Created {} objects ({} failed) in {} s with {} workers.",
+                created.get(), failed.get(), TimeUnit.NANOSECONDS.toSeconds(elapsedNanos), workers);
+        logger.info("Throughput: {} objects/minute", String.format("%.1f", created.get() / minutes));
+        stepStats.report(logger);
+        recovery.report(logger);
+        try {
+            StepMetrics.global().writeJson(Paths.get(RunOptions.METRICS_FILE));
+            logger.info("Step metrics written to {}", RunOptions.METRICS_FILE);
+        } catch (IOException e) {
+            logger.warn("Could not write step metrics: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.idoit.runner;
+
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe latency statistics per workflow step.
+ */
+public class StepStats {
+    private final Map<String, Stat> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Run an action and record its duration under the given step name.
+     *
+     * @param step Name of the step
+     * @param action Action to time
+     * @return The value returned by the action
+     */
+    public <T> T time(String step, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(step, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record a single duration for a step.
+     *
+     * @param step Name of the step
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(String step, long nanos) {
+        stats.computeIfAbsent(step, k -> new Stat()).add(nanos);
+    }
+
+    /**
+     * Log count, average, min and max latency of every recorded step.
+     *
+     * @param logger Logger to write the report to
+     */
+    public void report(Logger logger) {
+        stats.forEach((step, stat) -> {
+            long count = stat.count.sum();
+            logger.info("Step {}: count={}, avg={} ms, min={} ms, max={} ms", step, count,
+                    count == 0 ? 0 : stat.total.sum() / count / 1_000_000,
+                    stat.min.get() / 1_000_000, stat.max.get() / 1_000_000);
+        });
+    }
+
+    private static class Stat {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        private void add(long nanos) {
+            count.increment();
+            total.add(nanos);
+            min.accumulate(nanos);
+            max.accumulate(nanos);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.idoit.runner;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.idoit.config.RunOptions;
+import com.idoit.driver.DriverPool;
+
+/**
+ * Runs workflows on the drivers of a {@link DriverPool}, cancelling those that exceed their timeout.
+ * <p>
+ * With {@link Threading#VIRTUAL} every workflow runs on its own virtual thread. Workflows only block on
+ * WebDriver calls, waits and file writes, so thousands of them cost no more platform threads than a few;
+ * the number of browsers in the pool, not the number of threads, limits how many run at once. With
+ * {@link Threading#PLATFORM} they run on a fixed pool of one platform thread per browser, as before.
+ * <p>
+ * Workflows are structured: {@link #runAll(int, Workflow)} returns only when every workflow it started has
+ * finished, and interrupting the calling thread cancels all of them. A workflow running longer than the
+ * timeout is interrupted and its browser is quit, which also ends a WebDriver call that ignores the
+ * interrupt; the driver is then discarded from the pool. A workflow for which the pool cannot start a
+ * driver is counted as not started, the others carry on.
+ */
+public class WorkflowOrchestrator implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowOrchestrator.class);
+
+    // States of a single workflow run, see runOne
+    private static final int RUNNING = 0;
+    private static final int FINISHED = 1;
+    private static final int CANCELLING = 2;
+    private static final int CANCELLED = 3;
+
+    /**
+     * Threads the workflows run on.
+     */
+    public enum Threading {
+        /** One virtual thread per workflow. */
+        VIRTUAL,
+        /** A fixed pool of platform threads, one per browser. */
+        PLATFORM;
+
+        /**
+         * Create an executor for the workflows.
+         *
+         * @param browsers Number of browsers, which is the pool size for platform threads
+         * @return A new executor
+         */
+        public ExecutorService newExecutor(int browsers) {
+            if (this == VIRTUAL) {
+                return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("workflow-", 1).factory());
+            }
+            return Executors.newFixedThreadPool(browsers);
+        }
+
+        /**
+         * The threading selected with idoit.threading.
+         *
+         * @return The threading of the run options
+         */
+        public static Threading fromOptions() {
+            return valueOf(RunOptions.THREADING);
+        }
+    }
+
+    /**
+     * A workflow on a logged in driver.
+     */
+    public interface Workflow {
+        /**
+         * Run the workflow, handling its own failures.
+         *
+         * @param driver Driver reserved for this workflow
+         * @return true if the driver can be reused, false if it has to be discarded
+         */
+        boolean run(WebDriver driver);
+    }
+
+    private final Threading threading;
+    private final DriverPool pool;
+    private final int browsers;
+    private final Duration timeout;
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "workflow-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger timedOut = new AtomicInteger();
+    private final AtomicInteger notStarted = new AtomicInteger();
+
+    /**
+     * Constructor for the WorkflowOrchestrator.
+     *
+     * @param threading Threads the workflows run on
+     * @param pool Pool of logged in drivers
+     * @param browsers Size of the pool
+     * @param timeout Time after which a workflow is cancelled
+     */
+    public WorkflowOrchestrator(Threading threading, DriverPool pool, int browsers, Duration timeout) {
+        this.threading = threading;
+        this.pool = pool;
+        this.browsers = browsers;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Run a workflow a number of times and wait until all runs have finished.
+     *
+     * @param count Number of runs
+     * @param workflow The workflow
+     * @throws InterruptedException if interrupted while waiting; all runs are cancelled then
+     */
+    public void runAll(int count, Workflow workflow) throws InterruptedException {
+        try (ExecutorService scope = threading.newExecutor(browsers)) {
+            List<Future<?>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                futures.add(scope.submit(() -> runOne(workflow)));
+            }
+            try {
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                scope.shutdownNow();
+                throw e;
+            } catch (ExecutionException e) {
+                // runOne handles all failures of a workflow, so this is a bug
+                scope.shutdownNow();
+                throw new RuntimeException("Workflow orchestration failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Number of workflows cancelled for exceeding the timeout.
+     *
+     * @return Count of timed out workflows
+     */
+    public int getTimedOut() {
+        return timedOut.get();
+    }
+
+    /**
+     * Number of workflows that did not run because no logged in driver could be started for them.
+     *
+     * @return Count of workflows without a driver
+     */
+    public int getNotStarted() {
+        return notStarted.get();
+    }
+
+    private void runOne(Workflow workflow) {
+        WebDriver driver;
+        try {
+            driver = pool.borrow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            // A browser that fails to start or log in fails this workflow only, not the ones running beside it
+            notStarted.incrementAndGet();
+            logger.error("Workflow not started, no logged in driver: {}", e.getMessage());
+            return;
+        }
+
+        Thread worker = Thread.currentThread();
+        AtomicInteger state = new AtomicInteger(RUNNING);
+        ScheduledFuture<?> deadline = watchdog.schedule(() -> {
+            if (state.compareAndSet(RUNNING, CANCELLING)) {
+                timedOut.incrementAndGet();
+                logger.warn("Workflow on {} exceeded {} ms, cancelling it.", worker.getName(), timeout.toMillis());
+                worker.interrupt();
+                state.set(CANCELLED);
+                // Quit on another thread, the watchdog must not block on the browser
+                Thread.ofVirtual().name("workflow-cancel").start(driver::quit);
+            }
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        boolean healthy = false;
+        try {
+            healthy = workflow.run(driver);
+        } catch (RuntimeException e) {
+            logger.error("Workflow failed: {}", e.getMessage(), e);
+        } finally {
+            deadline.cancel(false);
+            if (state.compareAndSet(RUNNING, FINISHED)) {
+                if (healthy) {
+                    pool.release(driver);
+                } else {
+                    pool.invalidate(driver);
+                }
+            } else {
+                while (state.get() != CANCELLED) {
+                    Thread.onSpinWait();
+                }
+                // Clear the interrupt of the cancellation, a pooled platform thread runs further workflows
+                Thread.interrupted();
+                pool.invalidate(driver);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        watchdog.shutdownNow();
+    }
+}
@@ -0,0 +1,200 @@
+package com.idoit.session;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.idoit.pages.DashboardPage;
+import com.idoit.pages.LoginPage;
+
+/**
+ * Caches the i-doit session cookies after one successful login and shares them between drivers and runs.
+ * <p>
+ * The cookies are persisted to a local file together with an expiry time. New drivers get the cookies
+ * injected and go straight to the dashboard; if the session has gone stale a real login is performed
+ * and the cache is refreshed.
+ */
+public class SessionCache {
+    private static final Logger logger = LoggerFactory.getLogger(SessionCache.class);
+    private static final Json JSON = new Json();
+
+    private final Path file;
+    private final Duration ttl;
+    // Not synchronized, so that virtual threads logging in do not pin their carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<Cookie> cookies;
+    private long expiresAt;
+
+    /**
+     * Constructor for the SessionCache.
+     *
+     * @param file File used to persist the session between runs
+     * @param ttl How long a captured session is trusted before a new login is forced
+     */
+    public SessionCache(Path file, Duration ttl) {
+        this.file = file;
+        this.ttl = ttl;
+        load();
+    }
+
+    /**
+     * Bring the driver to the dashboard, reusing the cached session when possible and
+     * falling back to a real login with the default credentials otherwise.
+     *
+     * @param driver Fresh or logged out driver
+     * @return DashboardPage instance of the logged in driver
+     */
+    public DashboardPage login(WebDriver driver) {
+        LoginPage loginPage = new LoginPage(driver);
+        List<Cookie> snapshot = validCookies();
+        if (snapshot != null && loginPage.loginWithCookies(snapshot)) {
+            return new DashboardPage(driver);
+        }
+
+        // Only one driver performs the real login, the others reuse the session it captures
+        lock.lock();
+        try {
+            if (cookies != snapshot && isValid() && loginPage.loginWithCookies(cookies)) {
+                return new DashboardPage(driver);
+            }
+            DashboardPage dashboardPage = loginPage.navigateTo().loginWithDefaultCredentials();
+            capture(driver);
+            return dashboardPage;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Capture the session cookies of a logged in driver and persist them.
+     *
+     * @param driver Driver right after a successful login
+     */
+    public void capture(WebDriver driver) {
+        lock.lock();
+        try {
+            Set<Cookie> current = driver.manage().getCookies();
+            cookies = new ArrayList<>(current);
+            expiresAt = System.currentTimeMillis() + ttl.toMillis();
+            for (Cookie cookie : cookies) {
+                if (cookie.getExpiry() != null) {
+                    expiresAt = Math.min(expiresAt, cookie.getExpiry().getTime());
+                }
+            }
+            save();
+            logger.info("Captured {} session cookies, valid until {}.", cookies.size(), new Date(expiresAt));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forget the cached session, both in memory and on disk.
+     */
+    public void invalidate() {
+        lock.lock();
+        try {
+            cookies = null;
+            expiresAt = 0;
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete session file {}: {}", file, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Cookie> validCookies() {
+        lock.lock();
+        try {
+            return isValid() ? cookies : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isValid() {
+        return cookies != null && !cookies.isEmpty() && System.currentTimeMillis() < expiresAt;
+    }
+
+    private void save() {
+        List<Map<String, Object>> serialized = new ArrayList<>();
+        for (Cookie cookie : cookies) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", cookie.getName());
+            map.put("value", cookie.getValue());
+            map.put("domain", cookie.getDomain());
+            map.put("path", cookie.getPath());
+            map.put("expiry", cookie.getExpiry() == null ? null : cookie.getExpiry().getTime());
+            map.put("secure", cookie.isSecure());
+            map.put("httpOnly", cookie.isHttpOnly());
+            map.put("sameSite", cookie.getSameSite());
+            serialized.add(map);
+        }
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("expiresAt", expiresAt);
+        content.put("cookies", serialized);
+
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, JSON.toJson(content).getBytes(StandardCharsets.UTF_8));
+            restrictToOwner();
+        } catch (IOException e) {
+            logger.warn("Could not persist session to {}: {}", file, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            Map<String, Object> content = JSON.toType(text, Json.MAP_TYPE);
+            List<Cookie> loaded = new ArrayList<>();
+            for (Map<String, Object> map : (List<Map<String, Object>>) content.get("cookies")) {
+                Number expiry = (Number) map.get("expiry");
+                loaded.add(new Cookie.Builder((String) map.get("name"), (String) map.get("value"))
+                        .domain((String) map.get("domain"))
+                        .path((String) map.get("path"))
+                        .expiresOn(expiry == null ? null : new Date(expiry.longValue()))
+                        .isSecure(Boolean.TRUE.equals(map.get("secure")))
+                        .isHttpOnly(Boolean.TRUE.equals(map.get("httpOnly")))
+                        .sameSite((String) map.get("sameSite"))
+                        .build());
+            }
+            cookies = loaded;
+            expiresAt = ((Number) content.get("expiresAt")).longValue();
+            logger.info("Loaded {} session cookies from {}.", cookies.size(), file);
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable session file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void restrictToOwner() {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException | IOException e) {
+            // Not a POSIX file system, keep the default permissions
+        }
+    }
+}
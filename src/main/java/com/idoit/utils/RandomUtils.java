@@ -1,13 +1,14 @@
 package com.idoit.utils;
 
-import java.security.SecureRandom;
+import com.idoit.data.TestDataGenerator;
 
 /**
  * Utility class for generating random values.
+ *
+ * @deprecated Use {@link TestDataGenerator}, which is seedable and does not share a generator between threads.
  */
+@Deprecated
 public class RandomUtils {
-    private static final String ALPHA_NUMERIC_STRING = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-    private static final SecureRandom random = new SecureRandom();
     
     /**
      * Generates a random alphanumeric string of the specified length.
@@ -16,12 +17,7 @@ public class RandomUtils {
      * @return A random alphanumeric string
      */
     public static String generateRandomString(int length) {
-        StringBuilder builder = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            int index = random.nextInt(ALPHA_NUMERIC_STRING.length());
-            builder.append(ALPHA_NUMERIC_STRING.charAt(index));
-        }
-        return builder.toString();
+        return TestDataGenerator.current().alphanumeric(length);
     }
     
     /**
@@ -0,0 +1,204 @@
+package com.idoit.verify;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.idoit.config.RunOptions;
+import com.idoit.data.ObjectData;
+import com.idoit.pages.DashboardPage;
+import com.idoit.pages.ObjectListPage;
+
+/**
+ * Checks the created objects against the object list in bulk, instead of opening every object.
+ * <p>
+ * Workers record the values they submitted; {@link #verify(WebDriver)} then reads the list of the object
+ * type one page at a time and looks every row up by title in the recorded values. The configured columns of
+ * a found row are compared with what was submitted. Reading stops as soon as every recorded object was
+ * found, so the cost depends on the number of list pages rather than on the number of objects.
+ * <p>
+ * The compared values and their column headers are configured with {@code -Didoit.verifyColumns}, as
+ * {@code value=Header} pairs where value is one of title, manufacturer, model, productId, serviceTag,
+ * serial, firmware and comment. The i-doit list of the object type must show those columns.
+ */
+public class ListVerifier {
+    private static final Logger logger = LoggerFactory.getLogger(ListVerifier.class);
+    private static final int LOGGED_MISMATCHES = 20;
+    private static final Map<String, Function<ObjectData, String>> VALUES = Map.of(
+            "title", ObjectData::getTitle,
+            "manufacturer", ObjectData::getManufacturer,
+            "model", ObjectData::getModel,
+            "productId", ObjectData::getProductId,
+            "serviceTag", ObjectData::getServiceTag,
+            "serial", ObjectData::getSerial,
+            "firmware", ObjectData::getFirmware,
+            "comment", ObjectData::getComment);
+
+    private final String group;
+    private final String objectType;
+    private final Map<String, String> columns;
+    // Submitted values by title, the index the list rows are joined with
+    private final Map<String, ObjectData> submitted = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the ListVerifier, comparing the columns of {@code -Didoit.verifyColumns}.
+     *
+     * @param group Object-type group, as shown in the object type menu, e.g. "Hardware"
+     * @param objectType Object type, as shown in the menu tree, e.g. "Client"
+     */
+    public ListVerifier(String group, String objectType) {
+        this(group, objectType, parseColumns(RunOptions.VERIFY_COLUMNS));
+    }
+
+    /**
+     * Constructor for the ListVerifier.
+     *
+     * @param group Object-type group, as shown in the object type menu, e.g. "Hardware"
+     * @param objectType Object type, as shown in the menu tree, e.g. "Client"
+     * @param columns Column headers by compared value; must contain the title
+     */
+    public ListVerifier(String group, String objectType, Map<String, String> columns) {
+        if (!columns.containsKey("title")) {
+            throw new IllegalArgumentException("The verified columns must include the title: " + columns);
+        }
+        this.group = group;
+        this.objectType = objectType;
+        this.columns = columns;
+    }
+
+    /**
+     * Parse {@code value=Header} pairs separated by commas.
+     *
+     * @param spec The pairs, e.g. {@code title=Title,serial=Serial number}
+     * @return Column headers by compared value, in the given order
+     */
+    public static Map<String, String> parseColumns(String spec) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (String pair : spec.split(",")) {
+            String[] parts = pair.split("=", 2);
+            String value = parts[0].trim();
+            if (parts.length != 2 || !VALUES.containsKey(value)) {
+                throw new IllegalArgumentException("Invalid verified column '" + pair + "', expected one of "
+                        + VALUES.keySet() + " followed by =Header");
+            }
+            columns.put(value, parts[1].trim());
+        }
+        return columns;
+    }
+
+    /**
+     * Record the values of a created object. Safe to call from any worker.
+     *
+     * @param data Values that were saved; ignored if null
+     */
+    public void record(ObjectData data) {
+        if (data != null) {
+            submitted.put(data.getTitle(), data);
+        }
+    }
+
+    /**
+     * Number of objects recorded so far.
+     *
+     * @return The number of recorded objects
+     */
+    public int getRecorded() {
+        return submitted.size();
+    }
+
+    /**
+     * Read the object list page by page and compare it with the recorded objects, logging every problem.
+     *
+     * @param driver Logged in WebDriver instance
+     * @return Number of objects that are missing from the list or show other values
+     */
+    public int verify(WebDriver driver) {
+        if (submitted.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        Map<String, ObjectData> pending = new LinkedHashMap<>(submitted);
+        List<String> mismatches = new ArrayList<>();
+        int pages = 0;
+        int rows = 0;
+        Map<String, Integer> indexes = null;
+
+        ObjectListPage listPage = new DashboardPage(driver).navigateTo()
+                .navigateToObjectGroup(group)
+                .navigateToObjectType(objectType);
+        do {
+            ObjectListPage.ListTable table = listPage.readListPage();
+            pages++;
+            rows += table.getRows().size();
+            if (indexes == null) {
+                indexes = columnIndexes(table.getHeaders());
+            }
+            int titleIndex = indexes.get("title");
+            for (List<String> row : table.getRows()) {
+                ObjectData expected = titleIndex < row.size() ? pending.remove(row.get(titleIndex)) : null;
+                if (expected != null) {
+                    compare(expected, row, indexes, mismatches);
+                }
+            }
+        } while (!pending.isEmpty() && listPage.nextListPage());
+
+        report(pages, rows, mismatches, pending.keySet(), System.nanoTime() - start);
+        return mismatches.size() + pending.size();
+    }
+
+    private Map<String, Integer> columnIndexes(List<String> headers) {
+        Map<String, Integer> indexes = new LinkedHashMap<>();
+        columns.forEach((value, header) -> {
+            int index = headers.indexOf(header);
+            if (index >= 0) {
+                indexes.put(value, index);
+            }
+        });
+        if (!indexes.containsKey("title")) {
+            throw new RuntimeException("The " + objectType + " list has no '" + columns.get("title")
+                    + "' column, headers are " + headers);
+        }
+        if (indexes.size() < columns.size()) {
+            logger.warn("The {} list does not show all verified columns, only comparing {}. Headers are {}",
+                    objectType, indexes.keySet(), headers);
+        }
+        return indexes;
+    }
+
+    private void compare(ObjectData expected, List<String> row, Map<String, Integer> indexes, List<String> mismatches) {
+        List<String> differences = new ArrayList<>();
+        indexes.forEach((value, index) -> {
+            String submittedValue = VALUES.get(value).apply(expected);
+            String shown = index < row.size() ? row.get(index) : "";
+            if (submittedValue != null && !normalize(submittedValue).equals(normalize(shown))) {
+                differences.add(value + " '" + shown + "' instead of '" + submittedValue + "'");
+            }
+        });
+        if (!differences.isEmpty()) {
+            mismatches.add(expected.getTitle() + ": " + String.join(", ", differences));
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().replaceAll("\\s+", " ");
+    }
+
+    private void report(int pages, int rows, List<String> mismatches, Collection<String> missing, long elapsedNanos) {
+        logger.info("Verified {} {} objects against {} list pages ({} rows) in {} ms: {} match, {} mismatch, {} missing.",
+                submitted.size(), objectType, pages, rows, elapsedNanos / 1_000_000,
+                submitted.size() - mismatches.size() - missing.size(), mismatches.size(), missing.size());
+        mismatches.stream().limit(LOGGED_MISMATCHES).forEach(mismatch -> logger.error("Mismatch: {}", mismatch));
+        missing.stream().limit(LOGGED_MISMATCHES).forEach(title -> logger.error("Missing from the list: {}", title));
+        if (mismatches.size() > LOGGED_MISMATCHES || missing.size() > LOGGED_MISMATCHES) {
+            logger.error("... {} problems in total.", mismatches.size() + missing.size());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.idoit.wait;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.idoit.config.Config;
+import com.idoit.config.RunOptions;
+
+/**
+ * Waits for conditions with polling that starts tight and backs off exponentially, instead of the
+ * fixed 500 ms polling of {@link org.openqa.selenium.support.ui.WebDriverWait}.
+ * <p>
+ * One engine is shared by all pages of a driver; it only refers to the driver weakly, so that the cache
+ * does not keep quit drivers alive. Every satisfied wait is recorded in {@link WaitTimings};
+ * once a condition has enough samples, the first poll is delayed to about half its usual appearance
+ * time and its timeout is derived from the slowest time seen, between {@link Config#SHORT_TIMEOUT}
+ * and {@link Config#LONG_TIMEOUT}. With {@code -Didoit.adaptiveWaits=false} every wait polls every
+ * 500 ms with the default timeout, for comparison.
+ */
+public class WaitEngine {
+    private static final Map<WebDriver, WaitEngine> ENGINES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final long FIXED_POLL_MILLIS = 500;
+    // Samples needed before learned timings change the polling and timeout of a condition
+    private static final long MIN_SAMPLES = 5;
+    // Learned timeout as a multiple of the slowest time seen
+    private static final long TIMEOUT_FACTOR = 4;
+
+    // Weak, as the engine is the value of the driver's entry in ENGINES
+    private final WeakReference<WebDriver> driver;
+    private final WaitTimings timings;
+
+    WaitEngine(WebDriver driver, WaitTimings timings) {
+        this.driver = new WeakReference<>(driver);
+        this.timings = timings;
+    }
+
+    /**
+     * Get the wait engine of a driver.
+     *
+     * @param driver WebDriver instance
+     * @return The engine shared by all pages of that driver
+     */
+    public static WaitEngine forDriver(WebDriver driver) {
+        return ENGINES.computeIfAbsent(driver, d -> new WaitEngine(d, WaitTimings.global()));
+    }
+
+    /**
+     * Wait until a condition returns a value other than null or false.
+     *
+     * @param key Page and locator key under which the timing is learned
+     * @param condition Condition to evaluate, e.g. an {@link org.openqa.selenium.support.ui.ExpectedCondition}
+     * @return The value returned by the condition
+     * @throws TimeoutException if the condition is not satisfied within the timeout
+     */
+    public <T> T until(String key, Function<? super WebDriver, T> condition) {
+        WaitTimings.Timing timing = RunOptions.ADAPTIVE_WAITS ? timings.get(key) : null;
+        boolean learned = timing != null && timing.getSamples() >= MIN_SAMPLES;
+        long timeoutMillis = learned ? learnedTimeout(timing) : TimeUnit.SECONDS.toMillis(Config.DEFAULT_TIMEOUT);
+        long pollMillis = RunOptions.ADAPTIVE_WAITS ? RunOptions.WAIT_INITIAL_POLL_MILLIS : FIXED_POLL_MILLIS;
+        long firstPollMillis = learned ? Math.max(pollMillis, timing.getAverageMillis() / 2) : pollMillis;
+
+        WebDriver driver = this.driver.get();
+        if (driver == null) {
+            throw new RuntimeException("The driver of this wait engine was quit and collected");
+        }
+        long start = System.nanoTime();
+        RuntimeException lastError = null;
+        boolean first = true;
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    timings.record(key, elapsedMillis(start));
+                    return value;
+                }
+                lastError = null;
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long elapsed = elapsedMillis(start);
+            if (elapsed >= timeoutMillis) {
+                throw new TimeoutException(String.format("Expected condition failed: waiting for %s (tried for %d ms)",
+                        key, elapsed), lastError);
+            }
+            long sleep = first ? firstPollMillis : pollMillis;
+            sleep(Math.min(sleep, timeoutMillis - elapsed));
+            if (!first && RunOptions.ADAPTIVE_WAITS) {
+                pollMillis = Math.min(pollMillis * 2, RunOptions.WAIT_MAX_POLL_MILLIS);
+            }
+            first = false;
+        }
+    }
+
+    /**
+     * Timeout for a condition with enough samples: a multiple of the slowest time seen, kept between
+     * the short and the long configured timeout.
+     */
+    private static long learnedTimeout(WaitTimings.Timing timing) {
+        long shortMillis = TimeUnit.SECONDS.toMillis(Config.SHORT_TIMEOUT);
+        long longMillis = TimeUnit.SECONDS.toMillis(Config.LONG_TIMEOUT);
+        return Math.max(shortMillis, Math.min(longMillis, timing.getMaxMillis() * TIMEOUT_FACTOR));
+    }
+
+    private static long elapsedMillis(long start) {
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting", e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.idoit.wait;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.idoit.config.RunOptions;
+
+/**
+ * Learned appearance times of wait conditions, keyed by page and locator, shared by all drivers.
+ * <p>
+ * Each key keeps a moving average and the slowest time seen. The timings are loaded from
+ * {@link RunOptions#WAIT_TIMINGS_FILE} when first used and written back when the JVM exits, so that
+ * every run starts with what earlier runs have learned. They are kept per i-doit server, identified by the
+ * host and path of its base URL, so that the timings of one server never shorten the waits on another. All
+ * stand-in servers of the benchmarks share one key, whatever port they listen on. Timings not used for
+ * {@value #MAX_AGE_DAYS} days are dropped when the file is written.
+ */
+public class WaitTimings {
+    private static final Logger logger = LoggerFactory.getLogger(WaitTimings.class);
+    private static final Json JSON = new Json();
+    // Weight of a new sample in the moving average
+    private static final double ALPHA = 0.2;
+    private static final String STAND_IN = "stand-in";
+    private static final long MAX_AGE_DAYS = 30;
+    // Server keys by base URL; stand-in URLs are registered with the stand-in key
+    private static final Map<String, String> SERVER_KEYS = new ConcurrentHashMap<>();
+    private static final WaitTimings GLOBAL = load(Paths.get(RunOptions.WAIT_TIMINGS_FILE));
+
+    // Timings by server key, then by page and locator
+    private final Map<String, Map<String, Timing>> timings = new ConcurrentHashMap<>();
+
+    /**
+     * Learned timing of a single wait condition.
+     */
+    public static class Timing {
+        private long samples;
+        private double averageMillis;
+        private long maxMillis;
+        private long lastUsedMillis;
+
+        private synchronized void add(long millis) {
+            averageMillis = samples == 0 ? millis : averageMillis + ALPHA * (millis - averageMillis);
+            maxMillis = Math.max(maxMillis, millis);
+            samples++;
+            lastUsedMillis = System.currentTimeMillis();
+        }
+
+        public synchronized long getSamples() {
+            return samples;
+        }
+
+        public synchronized long getAverageMillis() {
+            return Math.round(averageMillis);
+        }
+
+        public synchronized long getMaxMillis() {
+            return maxMillis;
+        }
+
+        public synchronized long getLastUsedMillis() {
+            return lastUsedMillis;
+        }
+    }
+
+    /**
+     * Get the timings shared by all drivers of this JVM.
+     *
+     * @return The global timings
+     */
+    public static WaitTimings global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Mark a base URL as that of a stand-in server, so that its timings are shared with all other stand-ins.
+     *
+     * @param baseUrl Base URL of the stand-in
+     */
+    public static void registerStandIn(String baseUrl) {
+        SERVER_KEYS.put(baseUrl, STAND_IN);
+    }
+
+    /**
+     * Record how long a condition took to be satisfied on the current server.
+     *
+     * @param key Page and locator key
+     * @param millis Time until the condition was satisfied
+     */
+    public void record(String key, long millis) {
+        timings.computeIfAbsent(serverKey(RunOptions.baseUrl()), server -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new Timing()).add(millis);
+    }
+
+    /**
+     * Get the timing of a condition learned on the current server.
+     *
+     * @param key Page and locator key
+     * @return The timing, or null if the condition was never waited for on this server
+     */
+    public Timing get(String key) {
+        Map<String, Timing> server = timings.get(serverKey(RunOptions.baseUrl()));
+        return server == null ? null : server.get(key);
+    }
+
+    private static String serverKey(String baseUrl) {
+        return SERVER_KEYS.computeIfAbsent(baseUrl, url -> {
+            try {
+                URI uri = URI.create(url);
+                String path = uri.getPath() == null || uri.getPath().isEmpty() ? "/" : uri.getPath();
+                return uri.getHost() != null ? uri.getHost() + path : url;
+            } catch (IllegalArgumentException e) {
+                return url;
+            }
+        });
+    }
+
+    private static WaitTimings load(Path file) {
+        WaitTimings loaded = new WaitTimings();
+        if (Files.isRegularFile(file)) {
+            try {
+                String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                Map<String, Object> content = JSON.toType(text, Json.MAP_TYPE);
+                int conditions = 0;
+                for (Map.Entry<String, Object> server : content.entrySet()) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> entries = (Map<String, Object>) server.getValue();
+                    if (entries.containsKey("samples") || server.getKey().contains("://")) {
+                        // A file of a former format, keyed by nothing or by the full base URL
+                        continue;
+                    }
+                    Map<String, Timing> serverTimings = new ConcurrentHashMap<>();
+                    for (Map.Entry<String, Object> entry : entries.entrySet()) {
+                        @SuppressWarnings("unchecked")
+                        Map<String, Object> values = (Map<String, Object>) entry.getValue();
+                        Timing timing = new Timing();
+                        timing.samples = ((Number) values.get("samples")).longValue();
+                        timing.averageMillis = ((Number) values.get("averageMillis")).doubleValue();
+                        timing.maxMillis = ((Number) values.get("maxMillis")).longValue();
+                        Object lastUsed = values.get("lastUsedMillis");
+                        timing.lastUsedMillis = lastUsed instanceof Number ? ((Number) lastUsed).longValue() : 0;
+                        serverTimings.put(entry.getKey(), timing);
+                    }
+                    loaded.timings.put(server.getKey(), serverTimings);
+                    conditions += serverTimings.size();
+                }
+                logger.info("Loaded learned wait timings of {} conditions on {} servers from {}", conditions,
+                        loaded.timings.size(), file);
+            } catch (Exception e) {
+                logger.warn("Ignoring unreadable wait timings file {}: {}", file, e.getMessage());
+            }
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> loaded.save(file), "wait-timings-writer"));
+        return loaded;
+    }
+
+    private void save(Path file) {
+        if (timings.isEmpty()) {
+            return;
+        }
+        long oldest = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(MAX_AGE_DAYS);
+        int pruned = 0;
+        Map<String, Object> content = new TreeMap<>();
+        for (Map.Entry<String, Map<String, Timing>> server : timings.entrySet()) {
+            Map<String, Object> entries = new TreeMap<>();
+            for (Map.Entry<String, Timing> entry : server.getValue().entrySet()) {
+                Timing timing = entry.getValue();
+                if (timing.getLastUsedMillis() < oldest) {
+                    pruned++;
+                    continue;
+                }
+                Map<String, Object> values = new LinkedHashMap<>();
+                values.put("samples", timing.getSamples());
+                values.put("averageMillis", timing.getAverageMillis());
+                values.put("maxMillis", timing.getMaxMillis());
+                values.put("lastUsedMillis", timing.getLastUsedMillis());
+                entries.put(entry.getKey(), values);
+            }
+            if (!entries.isEmpty()) {
+                content.put(server.getKey(), entries);
+            }
+        }
+        if (pruned > 0) {
+            logger.info("Dropped {} wait timings not used for {} days", pruned, MAX_AGE_DAYS);
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, JSON.toJson(content).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // Only the learned timings are lost, the next run starts with the defaults
+            logger.warn("Could not write wait timings to {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.idoit.workflow;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.idoit.data.TestDataGenerator;
+import com.idoit.navigation.NewObjectNavigator;
+import com.idoit.pages.NewObjectPage;
+import com.idoit.recovery.Recovery;
+import com.idoit.recovery.RetryPolicy;
+import com.idoit.recovery.SavedObjectException;
+import com.idoit.runner.StepStats;
+
+/**
+ * A {@link WorkflowDefinition} compiled into the steps that create one object: open the form, then per
+ * category wait for it, fill it and save it, and finally open the saved object.
+ * <p>
+ * Compiling parses the value templates and checks the definition once; a plan is immutable afterwards and
+ * is shared by all workers, each running it with its own driver. Every step is recorded in the navigator's
+ * step statistics under its name and the name of the workflow, e.g. {@code fillCategory2(client)}.
+ */
+public final class StepPlan {
+    private final WorkflowDefinition definition;
+    private final NewObjectPage.FillMode fillMode;
+    private final List<Step> steps;
+
+    private StepPlan(WorkflowDefinition definition, NewObjectPage.FillMode fillMode, List<Step> steps) {
+        this.definition = definition;
+        this.fillMode = fillMode;
+        this.steps = steps;
+    }
+
+    /**
+     * Compile a workflow.
+     *
+     * @param definition The workflow
+     * @param fillMode How the form fields are filled
+     * @return The step plan
+     * @throws IllegalArgumentException if a template is invalid or a field is given twice in a category
+     */
+    public static StepPlan compile(WorkflowDefinition definition, NewObjectPage.FillMode fillMode) {
+        List<Step> steps = new ArrayList<>();
+        List<WorkflowDefinition.Category> categories = definition.getCategories();
+        for (int i = 0; i < categories.size(); i++) {
+            WorkflowDefinition.Category category = categories.get(i);
+            String number = String.valueOf(i + 1);
+            String waitFor = category.getWaitFor();
+            if (waitFor != null) {
+                steps.add(new Step("waitForCategory" + number, run -> run.page.waitForField(waitFor)));
+            }
+
+            Map<String, ValueTemplate> fields = templates(category.getFields());
+            Map<String, ValueTemplate> selects = templates(category.getSelects());
+            for (String id : selects.keySet()) {
+                if (fields.containsKey(id)) {
+                    throw new IllegalArgumentException("Workflow " + definition.getName() + " fills " + id
+                            + " both as field and as dropdown");
+                }
+            }
+            if (!fields.isEmpty() || !selects.isEmpty()) {
+                steps.add(new Step("fillCategory" + number,
+                        run -> run.page.fillFields(render(fields, run), render(selects, run))));
+            }
+            steps.add(new Step("saveCategory" + number, run -> run.page.saveForm()));
+        }
+        steps.add(new Step("openSavedObject", run -> run.page.openSavedObject()));
+        return new StepPlan(definition, fillMode, Collections.unmodifiableList(steps));
+    }
+
+    private static Map<String, ValueTemplate> templates(Map<String, String> sources) {
+        Map<String, ValueTemplate> templates = new LinkedHashMap<>();
+        sources.forEach((id, source) ->
+                templates.put(id, ValueTemplate.RANDOM_OPTION.equals(source) ? null : ValueTemplate.parse(source)));
+        return templates;
+    }
+
+    /**
+     * Render the templates for one object; a null template, a random dropdown option, stays null.
+     */
+    private static Map<String, String> render(Map<String, ValueTemplate> templates, Run run) {
+        Map<String, String> values = new LinkedHashMap<>();
+        templates.forEach((id, template) ->
+                values.put(id, template == null ? null : template.render(run.title, run.generator)));
+        return values;
+    }
+
+    /**
+     * Create one object with this plan, without retries.
+     *
+     * @param driver Logged in driver, used by the calling worker only
+     * @param navigator Navigator that opens the form and records the steps
+     * @param title Title of the object
+     * @param generator Generator of the object's random values, e.g. {@link TestDataGenerator#forObject(long)}
+     * @return NewObjectPage instance showing the saved object
+     */
+    public NewObjectPage run(WebDriver driver, NewObjectNavigator navigator, String title,
+                             TestDataGenerator generator) {
+        Run run = open(driver, navigator, title, generator);
+        while (run.next < steps.size()) {
+            runStep(run, navigator.getStepStats());
+        }
+        return run.page;
+    }
+
+    /**
+     * Create one object with this plan, retrying failed steps. Until the object is first saved, a failure is
+     * retried by starting over from a new form. After that, starting over would create the object twice, so
+     * a failed step is retried in place on the form of the saved object.
+     *
+     * @param driver Logged in driver, used by the calling worker only
+     * @param navigator Navigator that opens the form and records the steps
+     * @param title Title of the object
+     * @param generator Generator of the object's random values, e.g. {@link TestDataGenerator#forObject(long)}
+     * @param recovery Recovery retrying the steps
+     * @return NewObjectPage instance showing the saved object
+     * @throws SavedObjectException if a step failed after the object was first saved
+     */
+    public NewObjectPage run(WebDriver driver, NewObjectNavigator navigator, String title,
+                             TestDataGenerator generator, Recovery recovery) {
+        String suffix = suffix();
+        // One outer run, so that the circuit breaker counts the object once and not every step
+        return recovery.run("createObject" + suffix, RetryPolicy.once(), driver, d -> {
+            Run run = recovery.run("createUntilSaved" + suffix, RetryPolicy.objectCreation(), d,
+                    attempt -> runUntilSaved(open(attempt, navigator, title, generator),
+                            navigator.getStepStats()));
+            try {
+                while (run.next < steps.size()) {
+                    Step step = steps.get(run.next);
+                    recovery.run(step.name + suffix, RetryPolicy.savedObject(), d, resumed -> {
+                        runStep(run, navigator.getStepStats());
+                        return null;
+                    }, resumed -> {
+                        // Stay on the form of the saved object
+                    });
+                }
+            } catch (RuntimeException e) {
+                throw new SavedObjectException(title, e);
+            }
+            return run.page;
+        });
+    }
+
+    private Run open(WebDriver driver, NewObjectNavigator navigator, String title, TestDataGenerator generator) {
+        NewObjectPage page = navigator.getStepStats().time("openForm" + suffix(),
+                () -> navigator.openNewObjectForm(driver, definition.getGroup(), definition.getObjectType()))
+                .withFillMode(fillMode).withGenerator(generator);
+        return new Run(page, title, generator);
+    }
+
+    private Run runUntilSaved(Run run, StepStats stepStats) {
+        try {
+            while (run.next < steps.size() && !run.page.isSaved()) {
+                runStep(run, stepStats);
+            }
+        } catch (RuntimeException e) {
+            if (run.page.isSaved()) {
+                throw new SavedObjectException(run.title, e);
+            }
+            throw e;
+        }
+        return run;
+    }
+
+    private void runStep(Run run, StepStats stepStats) {
+        Step step = steps.get(run.next);
+        stepStats.time(step.name + suffix(), () -> {
+            step.action.accept(run);
+            return null;
+        });
+        run.next++;
+    }
+
+    private String suffix() {
+        return "(" + definition.getName() + ")";
+    }
+
+    public WorkflowDefinition getDefinition() {
+        return definition;
+    }
+
+    /**
+     * Names of the steps after the form is opened, in order.
+     *
+     * @return The step names
+     */
+    public List<String> getStepNames() {
+        List<String> names = new ArrayList<>(steps.size());
+        for (Step step : steps) {
+            names.add(step.name);
+        }
+        return names;
+    }
+
+    private static final class Step {
+        private final String name;
+        private final Consumer<Run> action;
+
+        private Step(String name, Consumer<Run> action) {
+            this.name = name;
+            this.action = action;
+        }
+    }
+
+    /**
+     * State of one object being created.
+     */
+    private static final class Run {
+        private final NewObjectPage page;
+        private final String title;
+        private final TestDataGenerator generator;
+        // Index of the next step to run
+        private int next;
+
+        private Run(NewObjectPage page, String title, TestDataGenerator generator) {
+            this.page = page;
+            this.title = title;
+            this.generator = generator;
+        }
+    }
+}
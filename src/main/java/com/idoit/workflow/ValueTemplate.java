@@ -0,0 +1,104 @@
+package com.idoit.workflow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import com.idoit.data.TestDataGenerator;
+
+/**
+ * A field value of a workflow: literal text with placeholders that are filled for every object.
+ * <p>
+ * Supported placeholders are {@code {title}}, {@code {serial}}, {@code {serviceTag}}, {@code {productId}},
+ * {@code {firmware}}, {@code {alphanumeric:N}} for N random letters and digits, and {@code {pattern:P}} for a
+ * value following a {@link TestDataGenerator} pattern. A dropdown value of exactly {@code {random}} selects a
+ * random option. Templates are parsed once, so an unknown placeholder fails when the workflow is compiled
+ * rather than in the middle of a run.
+ */
+final class ValueTemplate {
+    static final String RANDOM_OPTION = "{random}";
+
+    private final String source;
+    private final List<BiFunction<String, TestDataGenerator, String>> parts;
+
+    private ValueTemplate(String source, List<BiFunction<String, TestDataGenerator, String>> parts) {
+        this.source = source;
+        this.parts = parts;
+    }
+
+    /**
+     * Parse a template.
+     *
+     * @param source The template text
+     * @return The parsed template
+     */
+    static ValueTemplate parse(String source) {
+        List<BiFunction<String, TestDataGenerator, String>> parts = new ArrayList<>();
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf('{', position);
+            int close = open < 0 ? -1 : source.indexOf('}', open);
+            if (close < 0) {
+                String literal = source.substring(position);
+                parts.add((title, generator) -> literal);
+                break;
+            }
+            if (open > position) {
+                String literal = source.substring(position, open);
+                parts.add((title, generator) -> literal);
+            }
+            parts.add(placeholder(source.substring(open + 1, close), source));
+            position = close + 1;
+        }
+        return new ValueTemplate(source, List.copyOf(parts));
+    }
+
+    private static BiFunction<String, TestDataGenerator, String> placeholder(String name, String source) {
+        switch (name) {
+            case "title":
+                return (title, generator) -> title;
+            case "serial":
+                return (title, generator) -> generator.serialNumber();
+            case "serviceTag":
+                return (title, generator) -> generator.serviceTag();
+            case "productId":
+                return (title, generator) -> generator.productId();
+            case "firmware":
+                return (title, generator) -> generator.firmwareVersion();
+            default:
+                break;
+        }
+        if (name.startsWith("alphanumeric:")) {
+            int length = Integer.parseInt(name.substring("alphanumeric:".length()));
+            return (title, generator) -> generator.alphanumeric(length);
+        }
+        if (name.startsWith("pattern:")) {
+            String pattern = name.substring("pattern:".length());
+            return (title, generator) -> generator.pattern(pattern);
+        }
+        throw new IllegalArgumentException("Unknown placeholder {" + name + "} in '" + source + "'");
+    }
+
+    /**
+     * Fill in the placeholders for one object.
+     *
+     * @param title Title of the object
+     * @param generator Generator of the random values
+     * @return The value
+     */
+    String render(String title, TestDataGenerator generator) {
+        if (parts.size() == 1) {
+            return parts.get(0).apply(title, generator);
+        }
+        StringBuilder value = new StringBuilder();
+        for (BiFunction<String, TestDataGenerator, String> part : parts) {
+            value.append(part.apply(title, generator));
+        }
+        return value.toString();
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
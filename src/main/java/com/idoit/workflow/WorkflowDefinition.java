@@ -0,0 +1,196 @@
+package com.idoit.workflow;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declarative description of how objects of one type are created through the UI, read from a workflow file.
+ * <p>
+ * The file holds a JSON object with a {@code workflows} list. Every workflow names the object type, the tree
+ * path to its object list and the categories of its form, filled and saved one after the other:
+ * <pre>
+ * {"workflows": [{
+ *     "name": "client",
+ *     "treePath": ["Hardware", "Client"],
+ *     "weight": 4,
+ *     "categories": [
+ *         {"fields": {"C__CATG__GLOBAL_TITLE": "{title}"}},
+ *         {"waitFor": "C__CATG__MODEL_MANUFACTURER",
+ *          "selects": {"C__CATG__MODEL_MANUFACTURER": "{random}", "C__CATG__MODEL_TITLE_ID": "{random}"},
+ *          "fields": {"C__CATG__MODEL_SERIAL": "{serial}"}}
+ *     ]
+ * }]}
+ * </pre>
+ * The tree path is the object-type group followed by the object type as shown in the menu tree. Field and
+ * select values are templates, see {@link ValueTemplate}; dropdowns are filled in the given order. The weight
+ * sets the share of a workflow in a mixed run and defaults to 1.
+ */
+public class WorkflowDefinition {
+    private static final Json JSON = new Json();
+    private static final String DEFAULT_RESOURCE = "/workflows.json";
+
+    private final String name;
+    private final String group;
+    private final String objectType;
+    private final int weight;
+    private final List<Category> categories;
+
+    /**
+     * Constructor for the WorkflowDefinition.
+     *
+     * @param name Name of the workflow
+     * @param group Object-type group of the tree path, e.g. Hardware
+     * @param objectType Object type of the tree path, e.g. Client
+     * @param weight Share of the workflow in a mixed run
+     * @param categories Categories of the form, in filling order
+     */
+    public WorkflowDefinition(String name, String group, String objectType, int weight, List<Category> categories) {
+        if (categories.isEmpty()) {
+            throw new IllegalArgumentException("Workflow " + name + " has no categories");
+        }
+        if (weight < 1) {
+            throw new IllegalArgumentException("Workflow " + name + " needs a positive weight");
+        }
+        this.name = name;
+        this.group = group;
+        this.objectType = objectType;
+        this.weight = weight;
+        this.categories = List.copyOf(categories);
+    }
+
+    /**
+     * Read the workflows from a file, or the bundled default workflows if no file is given.
+     *
+     * @param file Path of the workflow file, or null
+     * @return The workflows in file order
+     * @throws IOException if the file cannot be read
+     */
+    public static List<WorkflowDefinition> load(String file) throws IOException {
+        String content;
+        if (file == null || file.isEmpty()) {
+            try (InputStream in = WorkflowDefinition.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+                if (in == null) {
+                    throw new IOException("Default workflows " + DEFAULT_RESOURCE + " not found on the classpath");
+                }
+                content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        } else {
+            content = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+        }
+        try {
+            return parse(content);
+        } catch (JsonException | ClassCastException e) {
+            throw new IOException("Invalid workflow file " + (file == null ? DEFAULT_RESOURCE : file) + ": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parse the content of a workflow file.
+     *
+     * @param json Content of the file
+     * @return The workflows in file order
+     */
+    public static List<WorkflowDefinition> parse(String json) {
+        Map<?, ?> root = JSON.toType(json, Map.class);
+        List<?> workflows = (List<?>) root.get("workflows");
+        if (workflows == null || workflows.isEmpty()) {
+            throw new IllegalArgumentException("No workflows defined");
+        }
+        List<WorkflowDefinition> definitions = new ArrayList<>();
+        for (Object entry : workflows) {
+            Map<?, ?> workflow = (Map<?, ?>) entry;
+            List<?> treePath = (List<?>) workflow.get("treePath");
+            String name = String.valueOf(workflow.get("name"));
+            if (treePath == null || treePath.size() != 2) {
+                throw new IllegalArgumentException("Workflow " + name + " needs a tree path of group and object type");
+            }
+            Object weight = workflow.get("weight");
+            List<?> categoryList = (List<?>) workflow.get("categories");
+            List<Category> categories = new ArrayList<>();
+            for (Object category : categoryList == null ? Collections.emptyList() : categoryList) {
+                Map<?, ?> values = (Map<?, ?>) category;
+                Object waitFor = values.get("waitFor");
+                categories.add(new Category(waitFor == null ? null : String.valueOf(waitFor),
+                        strings((Map<?, ?>) values.get("fields")), strings((Map<?, ?>) values.get("selects"))));
+            }
+            definitions.add(new WorkflowDefinition(name, String.valueOf(treePath.get(0)),
+                    String.valueOf(treePath.get(1)), weight == null ? 1 : ((Number) weight).intValue(), categories));
+        }
+        return definitions;
+    }
+
+    private static Map<String, String> strings(Map<?, ?> values) {
+        if (values == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> strings = new LinkedHashMap<>();
+        values.forEach((key, value) -> strings.put(String.valueOf(key), String.valueOf(value)));
+        return strings;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public String getObjectType() {
+        return objectType;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    /**
+     * One category of the form: the field that shows it is loaded, its text fields and its dropdowns.
+     */
+    public static class Category {
+        private final String waitFor;
+        private final Map<String, String> fields;
+        private final Map<String, String> selects;
+
+        /**
+         * Constructor for the Category.
+         *
+         * @param waitFor Element ID of a field to wait for before filling, or null if the form is already shown
+         * @param fields Value templates of the text fields, keyed by element ID
+         * @param selects Option text templates of the dropdowns in filling order, keyed by element ID
+         */
+        public Category(String waitFor, Map<String, String> fields, Map<String, String> selects) {
+            this.waitFor = waitFor;
+            this.fields = Collections.unmodifiableMap(new LinkedHashMap<>(fields));
+            this.selects = Collections.unmodifiableMap(new LinkedHashMap<>(selects));
+        }
+
+        public String getWaitFor() {
+            return waitFor;
+        }
+
+        public Map<String, String> getFields() {
+            return fields;
+        }
+
+        public Map<String, String> getSelects() {
+            return selects;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.idoit.workflow;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.idoit.artifacts.ArtifactPipeline;
+import com.idoit.config.RunOptions;
+import com.idoit.data.TestDataGenerator;
+import com.idoit.driver.DriverPool;
+import com.idoit.driver.DriverProfile;
+import com.idoit.navigation.NavigationMode;
+import com.idoit.navigation.NewObjectNavigator;
+import com.idoit.pages.NewObjectPage;
+import com.idoit.recovery.CircuitOpenException;
+import com.idoit.recovery.Recovery;
+import com.idoit.runner.LoggedInDrivers;
+import com.idoit.runner.StepStats;
+import com.idoit.runner.WorkflowOrchestrator;
+
+/**
+ * Seeds a mixed inventory of object types in one run, following the workflows of the workflow file.
+ * <p>
+ * Every workflow is compiled once into a {@link StepPlan} shared by all workers. The objects are spread over
+ * the workflows by their weights in an interleaved order, so every object type is created throughout the
+ * run rather than one after the other. The form of each object type is opened through the
+ * {@link NewObjectNavigator}, directly by URL once its object-type ID is known.
+ * <p>
+ * Usage: {@code WorkflowRunner [workers] [objects]}, with {@code -Didoit.workflowFile} for other workflows
+ * than the bundled ones.
+ */
+public class WorkflowRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowRunner.class);
+    private static final int DEFAULT_WORKERS = 4;
+    private static final int DEFAULT_OBJECTS = 20;
+
+    private final int workers;
+    private final int objects;
+    private final List<StepPlan> schedule;
+    private final StepStats stepStats = new StepStats();
+    private final NewObjectNavigator navigator =
+            new NewObjectNavigator(NavigationMode.valueOf(RunOptions.NAVIGATION_MODE), stepStats);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, AtomicInteger> created = new LinkedHashMap<>();
+    private final Map<String, AtomicInteger> failed = new LinkedHashMap<>();
+    private final Recovery recovery = new Recovery();
+    private final ArtifactPipeline artifacts = new ArtifactPipeline();
+
+    /**
+     * Constructor for the WorkflowRunner.
+     *
+     * @param plans Compiled workflows
+     * @param workers Number of parallel workers, which is also the number of browsers
+     * @param objects Number of objects to create over all workflows
+     */
+    public WorkflowRunner(List<StepPlan> plans, int workers, int objects) {
+        this.workers = workers;
+        this.objects = objects;
+        this.schedule = schedule(plans);
+        for (StepPlan plan : plans) {
+            created.put(plan.getDefinition().getName(), new AtomicInteger());
+            failed.put(plan.getDefinition().getName(), new AtomicInteger());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int workers = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_WORKERS;
+        int objects = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_OBJECTS;
+        NewObjectPage.FillMode fillMode = NewObjectPage.FillMode.valueOf(RunOptions.FILL_MODE);
+        List<StepPlan> plans = new ArrayList<>();
+        for (WorkflowDefinition definition : WorkflowDefinition.load(RunOptions.WORKFLOW_FILE)) {
+            StepPlan plan = StepPlan.compile(definition, fillMode);
+            logger.info("Compiled workflow {} for {} > {}: {}", definition.getName(), definition.getGroup(),
+                    definition.getObjectType(), plan.getStepNames());
+            plans.add(plan);
+        }
+        new WorkflowRunner(plans, workers, objects).run();
+    }
+
+    /**
+     * Order in which the workflows take turns, one slot per unit of weight. Smooth weighted round-robin
+     * spreads the slots of each workflow evenly: weights 4, 2, 2 and 1 give a, b, c, a, d, a, b, c, a.
+     */
+    private static List<StepPlan> schedule(List<StepPlan> plans) {
+        int total = 0;
+        for (StepPlan plan : plans) {
+            total += plan.getDefinition().getWeight();
+        }
+        int[] current = new int[plans.size()];
+        List<StepPlan> schedule = new ArrayList<>(total);
+        for (int slot = 0; slot < total; slot++) {
+            int best = 0;
+            for (int i = 0; i < plans.size(); i++) {
+                current[i] += plans.get(i).getDefinition().getWeight();
+                if (current[i] > current[best]) {
+                    best = i;
+                }
+            }
+            current[best] -= total;
+            schedule.add(plans.get(best));
+        }
+        return schedule;
+    }
+
+    /**
+     * Create all objects and log a report per workflow at the end.
+     */
+    public void run() {
+        logger.info("Creating {} objects of {} object types with {} workers...", objects, created.size(), workers);
+
+        long start = System.nanoTime();
+        WorkflowOrchestrator.Threading threading = WorkflowOrchestrator.Threading.fromOptions();
+        try (DriverPool pool = new DriverPool(workers, new LoggedInDrivers(DriverProfile.LEAN, stepStats));
+             WorkflowOrchestrator orchestrator = new WorkflowOrchestrator(threading, pool, workers,
+                     Duration.ofMillis(RunOptions.WORKFLOW_TIMEOUT_MILLIS))) {
+            orchestrator.runAll(objects, this::createObject);
+            if (orchestrator.getTimedOut() > 0) {
+                logger.warn("{} workflows timed out.", orchestrator.getTimedOut());
+            }
+            if (orchestrator.getNotStarted() > 0) {
+                logger.warn("{} workflows did not start, no logged in driver.", orchestrator.getNotStarted());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Run interrupted.");
+        } catch (Exception e) {
+            logger.error("An error occurred during the run: {}", e.getMessage(), e);
+        } finally {
+            artifacts.close();
+        }
+
+        report(System.nanoTime() - start);
+    }
+
+    private boolean createObject(WebDriver driver) {
+        long object = sequence.getAndIncrement();
+        StepPlan plan = schedule.get((int) (object % schedule.size()));
+        String name = plan.getDefinition().getName();
+        try {
+            String title = TestDataGenerator.uniqueTitle(name);
+            plan.run(driver, navigator, title, TestDataGenerator.forObject(object), recovery);
+            created.get(name).incrementAndGet();
+            return true;
+        } catch (CircuitOpenException e) {
+            // i-doit itself is failing, the driver is fine and is kept
+            failed.get(name).incrementAndGet();
+            logger.error("Failed to create {} object: {}", name, e.getMessage());
+            return true;
+        } catch (Exception e) {
+            failed.get(name).incrementAndGet();
+            logger.error("Failed to create {} object: {}", name, e.getMessage());
+            artifacts.onFailure(driver, "createObject_" + name);
+            return false;
+        }
+    }
+
+    private void report(long elapsedNanos) {
+        double minutes = elapsedNanos / 60_000_000_000.0;
+        int total = 0;
+        for (Map.Entry<String, AtomicInteger> entry : created.entrySet()) {
+            total += entry.getValue().get();
+            logger.info("Workflow {}: created {} objects ({} failed).", entry.getKey(), entry.getValue().get(),
+                    failed.get(entry.getKey()).get());
+        }
+        logger.info("Created {} objects in {} s with {} workers.", total,
+                TimeUnit.NANOSECONDS.toSeconds(elapsedNanos), workers);
+        logger.info("Throughput: {} objects/minute", String.format("%.1f", total / minutes));
+        stepStats.report(logger);
+        recovery.report(logger);
+    }
+}
@@ -0,0 +1,138 @@
+// Minimal stand-in for the i-doit front end: a Prototype-like AJAX counter and the page behaviour the page objects rely on.
+window.Ajax = {activeRequestCount: 0};
+
+function request(method, url, body, onSuccess) {
+    var xhr = new XMLHttpRequest();
+    Ajax.activeRequestCount++;
+    xhr.open(method, url);
+    xhr.setRequestHeader('Content-Type', 'application/x-www-form-urlencoded');
+    xhr.onloadend = function () {
+        Ajax.activeRequestCount--;
+        if (xhr.status >= 200 && xhr.status < 300) {
+            onSuccess(JSON.parse(xhr.responseText));
+        }
+    };
+    xhr.send(body);
+}
+
+function toggle(id) {
+    var el = document.getElementById(id);
+    el.style.display = el.style.display === 'none' ? 'block' : 'none';
+}
+
+function show(id) {
+    document.getElementById(id).style.display = 'block';
+}
+
+function loadTree() {
+    request('GET', '/tree', null, function (nodes) {
+        var tree = document.getElementById('menu_tree');
+        nodes.forEach(function (node) {
+            var link = document.createElement('a');
+            link.href = '/?objTypeID=' + node.id + '&viewMode=1001';
+            link.innerHTML = '<span>' + node.title + '</span>';
+            tree.appendChild(link);
+            tree.appendChild(document.createElement('br'));
+        });
+    });
+}
+
+function fillSelect(select, titles) {
+    select.innerHTML = '<option value="-1">-</option>';
+    titles.forEach(function (title, index) {
+        var option = document.createElement('option');
+        option.value = String(index + 1);
+        option.text = title;
+        select.appendChild(option);
+    });
+}
+
+function loadManufacturers(onLoaded) {
+    request('GET', '/manufacturers', null, function (titles) {
+        fillSelect(document.getElementById('C__CATG__MODEL_MANUFACTURER'), titles);
+        onLoaded();
+    });
+}
+
+function loadModels(manufacturer) {
+    request('GET', '/models?manufacturer=' + encodeURIComponent(manufacturer), null, function (titles) {
+        fillSelect(document.getElementById('C__CATG__MODEL_TITLE_ID'), titles);
+    });
+}
+
+function formValue(id) {
+    var el = document.getElementById(id);
+    if (el.tagName === 'SELECT') {
+        return el.selectedIndex < 0 ? '' : el.options[el.selectedIndex].text;
+    }
+    return el.value;
+}
+
+function save() {
+    var model = document.getElementById('model');
+    var ids = ['C__CATG__GLOBAL_TITLE'];
+    if (model.style.display !== 'none') {
+        ids = ids.concat(['C__CATG__MODEL_MANUFACTURER', 'C__CATG__MODEL_TITLE_ID', 'C__CATG__MODEL_PRODUCTID',
+            'C__CATG__MODEL_SERVICE_TAG', 'C__CATG__MODEL_SERIAL', 'C__CATG__MODEL_FIRMWARE',
+            'C__CMDB__CAT__COMMENTARY_02']);
+    }
+    var body = ids.map(function (id) {
+        return encodeURIComponent(id) + '=' + encodeURIComponent(formValue(id));
+    }).join('&');
+    var objectId = document.body.getAttribute('data-object-id');
+    if (objectId) {
+        body += '&objID=' + objectId;
+    }
+    request('POST', '/save', body, function (result) {
+        document.body.setAttribute('data-object-id', result.id);
+        if (model.style.display === 'none') {
+            loadManufacturers(function () {
+                show('model');
+            });
+        } else {
+            var link = document.getElementById('link_to_this_page');
+            link.href = '/?objID=' + result.id;
+            show('saved');
+        }
+    });
+}
+
+function loadObject() {
+    var objectId = new URLSearchParams(window.location.search).get('objID');
+    request('GET', '/objectData?objID=' + encodeURIComponent(objectId), null, function (fields) {
+        var overview = document.getElementById('object');
+        Object.keys(fields).forEach(function (id) {
+            var row = document.createElement('div');
+            row.className = 'field';
+            row.textContent = id + ': ' + fields[id];
+            overview.appendChild(row);
+        });
+    });
+}
+
+function loadList(page) {
+    request('GET', '/objectList?page=' + page, null, function (list) {
+        var table = document.getElementById('mainTable');
+        table.setAttribute('data-page', page);
+        table.tHead.innerHTML = '';
+        var header = table.tHead.insertRow();
+        list.headers.forEach(function (title) {
+            var cell = document.createElement('th');
+            cell.textContent = title;
+            header.appendChild(cell);
+        });
+        var body = table.tBodies[0];
+        body.innerHTML = '';
+        list.rows.forEach(function (values) {
+            var row = body.insertRow();
+            values.forEach(function (value) {
+                row.insertCell().textContent = value;
+            });
+        });
+        document.getElementById('navbar_item_C__NAVMODE__FORWARD').className = list.hasNext ? '' : 'navbar_item_inactive';
+    });
+}
+
+function nextListPage() {
+    loadList(Number(document.getElementById('mainTable').getAttribute('data-page')) + 1);
+}
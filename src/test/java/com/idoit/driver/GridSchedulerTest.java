@@ -0,0 +1,94 @@
+package com.idoit.driver;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counting the Chrome slots from the {@code /status} of Grid endpoints, served by a local stub.
+ */
+class GridSchedulerTest {
+    private static final String NODE = "{\"availability\": \"%s\", \"maxSessions\": %d, \"slots\": [%s]}";
+    private static final String CHROME_SLOT = "{\"stereotype\": {\"browserName\": \"chrome\"}, \"session\": null}";
+    private static final String BUSY_CHROME_SLOT =
+            "{\"stereotype\": {\"browserName\": \"chrome\"}, \"session\": {\"sessionId\": \"1\"}}";
+    private static final String FIREFOX_SLOT = "{\"stereotype\": {\"browserName\": \"firefox\"}, \"session\": null}";
+    private static final String BUSY_FIREFOX_SLOT =
+            "{\"stereotype\": {\"browserName\": \"firefox\"}, \"session\": {\"sessionId\": \"2\"}}";
+
+    private final List<HttpServer> servers = new ArrayList<>();
+
+    @AfterEach
+    void stopServers() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void countsChromeSlotsOfNodesThatAreUp() throws IOException {
+        String url = serve(200, status(
+                node("UP", 4, CHROME_SLOT, BUSY_CHROME_SLOT, FIREFOX_SLOT),
+                node("DOWN", 4, CHROME_SLOT, CHROME_SLOT),
+                node("DRAINING", 4, CHROME_SLOT)));
+
+        assertEquals(2, GridScheduler.fromUrls(url, DriverProfile.LEAN).capacity());
+    }
+
+    @Test
+    void maxSessionsLimitsTheSlotsOfANode() throws IOException {
+        String url = serve(200, status(
+                node("UP", 2, CHROME_SLOT, CHROME_SLOT, CHROME_SLOT, BUSY_FIREFOX_SLOT)));
+
+        assertEquals(2, GridScheduler.fromUrls(url, DriverProfile.LEAN).capacity());
+    }
+
+    @Test
+    void sumsAllEndpoints() throws IOException {
+        String first = serve(200, status(node("UP", 8, CHROME_SLOT, CHROME_SLOT)));
+        // Trailing slashes are dropped before /status is appended
+        String second = serve(200, status(node("UP", 8, CHROME_SLOT, CHROME_SLOT, CHROME_SLOT))) + "/";
+
+        assertEquals(5, GridScheduler.fromUrls(first + ", " + second, DriverProfile.LEAN).capacity());
+    }
+
+    @Test
+    void endpointWithoutValidStatusHasNoSlots() throws IOException {
+        String healthy = serve(200, status(node("UP", 1, CHROME_SLOT)));
+        String broken = serve(500, "<html>Internal Server Error</html>");
+        String noNodes = serve(200, "{\"value\": {\"ready\": false}}");
+
+        assertEquals(1, GridScheduler.fromUrls(healthy + "," + broken + "," + noNodes, DriverProfile.LEAN).capacity());
+    }
+
+    private String serve(int code, String body) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/status", exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(code, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        servers.add(server);
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static String status(String... nodes) {
+        return "{\"value\": {\"ready\": true, \"nodes\": [" + String.join(", ", nodes) + "]}}";
+    }
+
+    private static String node(String availability, int maxSessions, String... slots) {
+        return String.format(NODE, availability, maxSessions, String.join(", ", slots));
+    }
+}
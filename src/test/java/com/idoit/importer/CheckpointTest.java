@@ -0,0 +1,59 @@
+package com.idoit.importer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Resuming an import from the checkpoint file of an earlier run.
+ */
+class CheckpointTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void resumeSkipsRowsCompletedByEarlierRuns() throws IOException {
+        Path file = dir.resolve("import.checkpoint");
+        try (Checkpoint checkpoint = new Checkpoint(file)) {
+            checkpoint.markCompleted(3);
+            checkpoint.markCompleted(1);
+        }
+        try (Checkpoint checkpoint = new Checkpoint(file)) {
+            checkpoint.markCompleted(2);
+        }
+
+        try (Checkpoint checkpoint = new Checkpoint(file)) {
+            assertTrue(checkpoint.isCompleted(1));
+            assertTrue(checkpoint.isCompleted(2));
+            assertTrue(checkpoint.isCompleted(3));
+            assertFalse(checkpoint.isCompleted(4));
+            assertEquals(3, checkpoint.getCompletedCount());
+        }
+    }
+
+    @Test
+    void lineCutShortByACrashIsIgnored() throws IOException {
+        Path file = dir.resolve("import.checkpoint");
+        // Row 12 was being written when the run was killed
+        Files.writeString(file, "2\n\n3\n1", StandardCharsets.UTF_8);
+
+        try (Checkpoint checkpoint = new Checkpoint(file)) {
+            assertEquals(2, checkpoint.getCompletedCount());
+            assertFalse(checkpoint.isCompleted(1));
+            checkpoint.markCompleted(5);
+        }
+        try (Checkpoint checkpoint = new Checkpoint(file)) {
+            assertTrue(checkpoint.isCompleted(5));
+            assertFalse(checkpoint.isCompleted(1));
+            assertFalse(checkpoint.isCompleted(15));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.idoit.importer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Parsing of import CSV files: quoting, line endings, blank lines and rows the import skips.
+ */
+class CsvRecordReaderTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void quotedValuesKeepSeparatorsQuotesAndNewlines() throws IOException {
+        try (RecordReader reader = open("title,model,comment\n"
+                + "\"pc, 1\",\"the \"\"big\"\" one\",\"first line\nsecond line\"\n")) {
+            ImportRecord record = reader.next();
+
+            assertEquals(1, record.getRow());
+            assertEquals("pc, 1", record.getData().getTitle());
+            assertEquals("the \"big\" one", record.getData().getModel());
+            assertEquals("first line\nsecond line", record.getData().getComment());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void byteOrderMarkAndCrlfAreDropped() throws IOException {
+        try (RecordReader reader = open("﻿Title,Serial number\r\npc1,S1\r\npc2,S2\r\n")) {
+            ImportRecord first = reader.next();
+            ImportRecord second = reader.next();
+
+            assertEquals("pc1", first.getData().getTitle());
+            assertEquals("S1", first.getData().getSerial());
+            assertEquals("pc2", second.getData().getTitle());
+            assertEquals("S2", second.getData().getSerial());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void columnNamesIgnoreCaseAndSeparators() throws IOException {
+        try (RecordReader reader = open("TITLE,product_id,Product Id\npc1,P1,\n")) {
+            ImportRecord record = reader.next();
+
+            assertEquals("pc1", record.getData().getTitle());
+            // The later column wins, an empty value counts as missing
+            assertNull(record.getData().getProductId());
+        }
+    }
+
+    @Test
+    void blankLinesAreNotRows() throws IOException {
+        try (RecordReader reader = open("title\n\npc1\n\n\npc2\n")) {
+            assertEquals(1, reader.next().getRow());
+            assertEquals(2, reader.next().getRow());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void rowsWithoutTitleAreSkippedKeepingTheRowNumbers() throws IOException {
+        try (RecordReader reader = open("title,model\npc1,M1\n,M2\npc3,M3\n")) {
+            assertEquals(1, reader.next().getRow());
+            ImportRecord third = reader.next();
+
+            assertEquals(3, third.getRow());
+            assertEquals("pc3", third.getData().getTitle());
+            assertNull(reader.next());
+            assertEquals(1, reader.getSkipped());
+        }
+    }
+
+    @Test
+    void unclosedQuoteSkipsOnlyItsRow() throws IOException {
+        try (RecordReader reader = open("title,model\npc1,M1\npc2,\"M2\npc3,M3\npc4,\"M4\"\n")) {
+            assertEquals(1, reader.next().getRow());
+            ImportRecord third = reader.next();
+            ImportRecord fourth = reader.next();
+
+            assertEquals(3, third.getRow());
+            assertEquals("pc3", third.getData().getTitle());
+            assertEquals("M3", third.getData().getModel());
+            assertEquals(4, fourth.getRow());
+            assertEquals("M4", fourth.getData().getModel());
+            assertNull(reader.next());
+            assertEquals(1, reader.getSkipped());
+        }
+    }
+
+    @Test
+    void unclosedQuoteOnTheLastLineIsSkipped() throws IOException {
+        try (RecordReader reader = open("title,model\npc1,M1\npc2,\"M2")) {
+            assertEquals(1, reader.next().getRow());
+            assertNull(reader.next());
+            assertEquals(1, reader.getSkipped());
+        }
+    }
+
+    private RecordReader open(String content) throws IOException {
+        Path file = dir.resolve("import.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return RecordReader.open(file);
+    }
+}
@@ -0,0 +1,64 @@
+package com.idoit.importer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Parsing of import JSON Lines files and the lines the import skips.
+ */
+class JsonLinesRecordReaderTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void valuesAreReadAsText() throws IOException {
+        try (RecordReader reader = open("{\"title\":\"pc1\",\"serial\":7,\"comment\":null}\n\n{\"title\":\"pc2\"}\n")) {
+            ImportRecord first = reader.next();
+
+            assertEquals(1, first.getRow());
+            assertEquals("pc1", first.getData().getTitle());
+            assertEquals("7", first.getData().getSerial());
+            assertNull(first.getData().getComment());
+            assertEquals(2, reader.next().getRow());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void malformedLinesAreSkipped() throws IOException {
+        try (RecordReader reader = open("{\"title\":\"pc1\"}\n{not json\n{\"title\":\"pc3\",\"serial\":7}\n")) {
+            assertEquals("pc1", reader.next().getData().getTitle());
+            ImportRecord third = reader.next();
+
+            assertEquals(3, third.getRow());
+            assertEquals("7", third.getData().getSerial());
+            assertEquals(1, reader.getSkipped());
+        }
+    }
+
+    @Test
+    void linesThatAreNotObjectsAreSkipped() throws IOException {
+        try (RecordReader reader = open("null\n[\"pc2\"]\n42\n\"pc4\"\n{\"title\":\"pc5\"}\n")) {
+            ImportRecord fifth = reader.next();
+
+            assertEquals(5, fifth.getRow());
+            assertEquals("pc5", fifth.getData().getTitle());
+            assertNull(reader.next());
+            assertEquals(4, reader.getSkipped());
+        }
+    }
+
+    private RecordReader open(String content) throws IOException {
+        Path file = dir.resolve("import.jsonl");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return RecordReader.open(file);
+    }
+}
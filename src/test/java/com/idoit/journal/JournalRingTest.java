@@ -0,0 +1,91 @@
+package com.idoit.journal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ordering, wrap-around and dropping of the journal ring.
+ */
+class JournalRingTest {
+
+    @Test
+    void eventsAreConsumedInOrder() {
+        JournalRing ring = new JournalRing(4);
+        assertTrue(ring.isEmpty());
+        assertNull(ring.peek());
+
+        assertTrue(offer(ring, "first"));
+        assertTrue(offer(ring, "second"));
+        assertFalse(ring.isEmpty());
+
+        assertEquals("first", consume(ring));
+        assertEquals("second", consume(ring));
+        assertNull(ring.peek());
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    void eventsAreDroppedAndCountedWhenFull() {
+        // Rounded up to 4 slots
+        JournalRing ring = new JournalRing(3);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(offer(ring, "step" + i));
+        }
+
+        assertFalse(offer(ring, "step4"));
+        assertFalse(offer(ring, "step5"));
+        assertEquals(2, ring.getDropped());
+
+        // The dropped events did not overwrite the waiting ones
+        assertEquals("step0", consume(ring));
+        assertTrue(offer(ring, "step6"));
+        assertFalse(offer(ring, "step7"));
+        assertEquals(3, ring.getDropped());
+    }
+
+    @Test
+    void slotsAreReusedAfterWrapAround() {
+        JournalRing ring = new JournalRing(4);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(offer(ring, "step" + i));
+            assertTrue(offer(ring, "other" + i));
+            assertEquals("step" + i, consume(ring));
+            assertEquals("other" + i, consume(ring));
+        }
+
+        assertTrue(ring.isEmpty());
+        assertEquals(0, ring.getDropped());
+    }
+
+    @Test
+    void eventKeepsAllFields() {
+        JournalRing ring = new JournalRing(2);
+        ring.offer(1234, RunJournal.Level.WARN, "save", "#navbar_item_C__NAVMODE__SAVE", 5_000_000, "worker-1",
+                RunJournal.Outcome.RETRY, "stale element");
+
+        JournalEvent event = ring.peek();
+        assertEquals(1234, event.getTimeMillis());
+        assertEquals(RunJournal.Level.WARN, event.getLevel());
+        assertEquals("save", event.getStep());
+        assertEquals("#navbar_item_C__NAVMODE__SAVE", event.getLocator());
+        assertEquals(5_000_000, event.getDurationNanos());
+        assertEquals("worker-1", event.getWorker());
+        assertEquals(RunJournal.Outcome.RETRY, event.getOutcome());
+        assertEquals("stale element", event.getDetail());
+    }
+
+    private static boolean offer(JournalRing ring, String step) {
+        return ring.offer(0, RunJournal.Level.INFO, step, null, 0, "worker", RunJournal.Outcome.OK, null);
+    }
+
+    private static String consume(JournalRing ring) {
+        JournalEvent event = ring.peek();
+        String step = event.getStep();
+        ring.advance();
+        return step;
+    }
+}
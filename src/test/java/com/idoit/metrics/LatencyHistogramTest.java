@@ -0,0 +1,87 @@
+package com.idoit.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bucketing and percentiles of the latency histogram.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.percentileMicros(50));
+        assertEquals(0, histogram.percentileMicros(99));
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 0; micros < 24; micros++) {
+            histogram.record(micros * 1000L);
+        }
+
+        assertEquals(24, histogram.getCount());
+        assertEquals(276, histogram.getSumMicros());
+        assertEquals(23, histogram.getMaxMicros());
+        assertEquals(0, histogram.percentileMicros(0));
+        assertEquals(11, histogram.percentileMicros(50));
+        assertEquals(23, histogram.percentileMicros(100));
+    }
+
+    @Test
+    void largeValuesAreWithinOneBucket() {
+        for (long micros : new long[] {24, 50, 100, 1_000, 12_345, 1_000_000, 30_000_000}) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(micros * 1000);
+            // Another value in a higher bucket, so the result is not just capped at the maximum
+            histogram.record(micros * 1000 * 4);
+
+            long reported = histogram.percentileMicros(50);
+            assertTrue(reported >= micros && reported <= micros * 1.125,
+                    micros + " µs reported as " + reported + " µs");
+        }
+    }
+
+    @Test
+    void percentileIsCappedAtTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100_000);
+
+        assertEquals(100, histogram.percentileMicros(50));
+        assertEquals(100, histogram.percentileMicros(100));
+    }
+
+    @Test
+    void percentilesOfAUniformRange() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500, histogram.getSumMicros());
+        assertEquals(1000, histogram.getMaxMicros());
+        long p50 = histogram.percentileMicros(50);
+        long p99 = histogram.percentileMicros(99);
+        assertTrue(p50 >= 500 && p50 <= 500 * 1.125, "p50 " + p50);
+        assertTrue(p99 >= 990 && p99 <= 1000, "p99 " + p99);
+        assertEquals(1000, histogram.percentileMicros(100));
+    }
+
+    @Test
+    void subMicrosecondAndNegativeDurationsCountAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(999);
+        histogram.record(-5_000);
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getSumMicros());
+        assertEquals(0, histogram.percentileMicros(100));
+    }
+}
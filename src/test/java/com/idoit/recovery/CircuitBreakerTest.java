@@ -0,0 +1,77 @@
+package com.idoit.recovery;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The transitions of the circuit breaker between closed, open and half open.
+ */
+class CircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 60_000);
+
+        breaker.recordFailure();
+        assertFalse(breaker.isOpen());
+        assertDoesNotThrow(breaker::acquire);
+
+        breaker.recordFailure();
+        assertTrue(breaker.isOpen());
+        assertThrows(CircuitOpenException.class, breaker::acquire);
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 60_000);
+
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+
+        assertFalse(breaker.isOpen());
+        assertDoesNotThrow(breaker::acquire);
+    }
+
+    @Test
+    void trialStepAfterCoolDownClosesOnSuccess() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 0);
+        breaker.recordFailure();
+        assertTrue(breaker.isOpen());
+
+        // Half open: the trial step is let through
+        assertDoesNotThrow(breaker::acquire);
+        assertFalse(breaker.isOpen());
+
+        breaker.recordSuccess();
+        assertFalse(breaker.isOpen());
+        assertDoesNotThrow(breaker::acquire);
+    }
+
+    @Test
+    void failedTrialStepOpensAgain() {
+        CircuitBreaker breaker = new CircuitBreaker(3, 0);
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+        assertDoesNotThrow(breaker::acquire);
+
+        // A single failure in half open state is enough, whatever the threshold
+        breaker.recordFailure();
+        assertTrue(breaker.isOpen());
+    }
+
+    @Test
+    void staysOpenDuringCoolDown() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 60_000);
+        breaker.recordFailure();
+
+        assertThrows(CircuitOpenException.class, breaker::acquire);
+        assertThrows(CircuitOpenException.class, breaker::acquire);
+        assertTrue(breaker.isOpen());
+    }
+}
@@ -0,0 +1,156 @@
+package com.idoit.tests;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.idoit.artifacts.ArtifactPipeline;
+import com.idoit.config.RunOptions;
+import com.idoit.driver.DriverProfile;
+import com.idoit.driver.DriverProvider;
+import com.idoit.metrics.StepMetrics;
+import com.idoit.runner.LoggedInDrivers;
+import com.idoit.runner.StepStats;
+
+/**
+ * Provides logged in drivers to test methods with a {@link WebDriver} parameter, one per JUnit worker thread,
+ * and the {@link StepStats} of the test run to methods with a StepStats parameter.
+ * <p>
+ * A worker thread keeps its driver, and so its session, for all the tests it runs; the logins share the
+ * session cache when it is enabled. A driver whose test failed is handed to the artifact pipeline and
+ * replaced, as the runners do with failed workflows. All drivers are quit and the step report is logged
+ * once every test is done. If not a single browser could be started, the tests are skipped instead of
+ * failing one by one.
+ */
+public class BrowserSessionExtension implements BeforeEachCallback, ParameterResolver, AfterTestExecutionCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(BrowserSessionExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        // The driver is started here rather than when resolving the parameter, where skipping the test is not possible
+        if (Arrays.asList(context.getRequiredTestMethod().getParameterTypes()).contains(WebDriver.class)) {
+            sessions(context).get();
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        return type == WebDriver.class || type == StepStats.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Sessions sessions = sessions(extensionContext);
+        return parameterContext.getParameter().getType() == StepStats.class ? sessions.stepStats : sessions.get();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            sessions(context).invalidate(context.getRequiredTestMethod().getName());
+        }
+    }
+
+    private static Sessions sessions(ExtensionContext context) {
+        // Stored in the root context, so that all test classes share the drivers until the end of the run
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Sessions.class, key -> new Sessions(),
+                Sessions.class);
+    }
+
+    private static final class Sessions implements ExtensionContext.Store.CloseableResource {
+        private static final Logger logger = LoggerFactory.getLogger(Sessions.class);
+
+        private final StepStats stepStats = new StepStats();
+        private final ArtifactPipeline artifacts = new ArtifactPipeline();
+        // Each entry is only written by its own worker thread
+        private final Map<Thread, WebDriver> drivers = new ConcurrentHashMap<>();
+        private final AtomicInteger started = new AtomicInteger();
+        private final LoggedInDrivers loggedInDrivers;
+        private volatile RuntimeException browserUnavailable;
+
+        private Sessions() {
+            DriverProvider provider = DriverProvider.fromOptions(DriverProfile.LEAN);
+            this.loggedInDrivers = new LoggedInDrivers(() -> {
+                try {
+                    WebDriver driver = provider.create();
+                    started.incrementAndGet();
+                    return driver;
+                } catch (RuntimeException e) {
+                    if (started.get() == 0) {
+                        browserUnavailable = e;
+                    }
+                    throw e;
+                }
+            }, stepStats);
+        }
+
+        private WebDriver get() {
+            if (browserUnavailable != null) {
+                Assumptions.abort("No browser could be started: " + browserUnavailable.getMessage());
+            }
+            WebDriver driver = drivers.get(Thread.currentThread());
+            if (driver == null) {
+                try {
+                    driver = loggedInDrivers.get();
+                } catch (RuntimeException e) {
+                    if (browserUnavailable != null) {
+                        logger.warn("Skipping the UI tests, no browser could be started: {}", e.getMessage());
+                        Assumptions.abort("No browser could be started: " + e.getMessage());
+                    }
+                    throw e;
+                }
+                drivers.put(Thread.currentThread(), driver);
+            }
+            return driver;
+        }
+
+        private void invalidate(String testName) {
+            WebDriver driver = drivers.remove(Thread.currentThread());
+            if (driver != null) {
+                artifacts.onFailure(driver, testName);
+                quit(driver);
+            }
+        }
+
+        // A driver that died already must not keep the others open or lose the artifacts and metrics
+        private static void quit(WebDriver driver) {
+            try {
+                driver.quit();
+            } catch (RuntimeException e) {
+                logger.warn("Could not quit a driver: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() {
+            drivers.values().forEach(Sessions::quit);
+            drivers.clear();
+            artifacts.close();
+            if (started.get() == 0) {
+                return;
+            }
+            stepStats.report(logger);
+            try {
+                StepMetrics.global().writeJson(Paths.get(RunOptions.METRICS_FILE));
+                logger.info("Step metrics written to {}", RunOptions.METRICS_FILE);
+            } catch (IOException e) {
+                logger.warn("Could not write step metrics: {}", e.getMessage());
+            }
+        }
+    }
+}
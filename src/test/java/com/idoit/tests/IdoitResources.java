@@ -0,0 +1,16 @@
+package com.idoit.tests;
+
+/**
+ * Names of the i-doit state that tests share, for {@link org.junit.jupiter.api.parallel.ResourceLock}.
+ */
+final class IdoitResources {
+    /**
+     * The Client object list. Tests that create Clients lock it in READ mode, as they can run side by side;
+     * tests that page through the list lock it in READ_WRITE mode, so that no new rows shift the pages
+     * while they read.
+     */
+    static final String CLIENT_LIST = "idoit.clientList";
+
+    private IdoitResources() {
+    }
+}
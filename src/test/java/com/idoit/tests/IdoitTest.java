@@ -0,0 +1,78 @@
+package com.idoit.tests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+
+import com.idoit.data.ObjectData;
+import com.idoit.data.TestDataGenerator;
+import com.idoit.navigation.NavigationMode;
+import com.idoit.navigation.NewObjectNavigator;
+import com.idoit.pages.DashboardPage;
+import com.idoit.pages.NewObjectPage;
+import com.idoit.pages.ObjectPage;
+import com.idoit.recovery.Recovery;
+import com.idoit.recovery.RetryPolicy;
+import com.idoit.runner.StepStats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The login, navigation and Client creation flow, each scenario on the logged in driver of its worker.
+ */
+@ExtendWith(BrowserSessionExtension.class)
+class IdoitTest {
+
+    @Test
+    void dashboardIsLoadedAfterLogin(WebDriver driver, StepStats stepStats) {
+        DashboardPage dashboardPage = new DashboardPage(driver).navigateTo();
+        stepStats.time("dashboardReady", dashboardPage::waitUntilLoaded);
+
+        assertTrue(dashboardPage.isDashboardLoaded(), "Dashboard is not loaded");
+    }
+
+    @Test
+    void hardwareTreeShowsClientType(WebDriver driver, StepStats stepStats) {
+        String objectTypeId = stepStats.time("navigateToHardware", new DashboardPage(driver).navigateTo()::navigateToHardware)
+                .getClientObjectTypeId();
+
+        assertNotNull(objectTypeId, "Client node has no object-type ID");
+    }
+
+    @ParameterizedTest
+    @EnumSource(NavigationMode.class)
+    void newClientFormOpens(NavigationMode mode, WebDriver driver, StepStats stepStats) {
+        NewObjectPage newObjectPage = new NewObjectNavigator(mode, stepStats).openNewClientForm(driver);
+
+        assertTrue(newObjectPage.waitUntilLoaded().isLoaded(), "New object form is not loaded");
+    }
+
+    @ParameterizedTest
+    @EnumSource(NewObjectPage.FillMode.class)
+    @ResourceLock(value = IdoitResources.CLIENT_LIST, mode = ResourceAccessMode.READ)
+    void createdClientShowsSubmittedValues(NewObjectPage.FillMode fillMode, WebDriver driver, StepStats stepStats) {
+        NewObjectNavigator navigator = new NewObjectNavigator(NavigationMode.DIRECT, stepStats);
+        // A failed transition is retried from the dashboard instead of failing the test
+        Recovery recovery = new Recovery();
+        String title = TestDataGenerator.uniqueTitle("test");
+        NewObjectPage newObjectPage = recovery.run("createNewObject", RetryPolicy.objectCreation(), driver, d -> {
+            NewObjectPage page = recovery.run("openNewClientForm", RetryPolicy.navigation(), d,
+                    navigator::openNewClientForm).withFillMode(fillMode);
+            return stepStats.time("createNewObject", () -> page.createNewObject(ObjectData.random(title)));
+        });
+        stepStats.record("fillForm(" + fillMode + ")", newObjectPage.getLastFillNanos());
+
+        ObjectData submitted = newObjectPage.getLastSubmitted();
+        assertEquals(title, submitted.getTitle());
+        assertEquals(List.of(), new ObjectPage(driver).missingValues(submitted),
+                "Values missing on the object page");
+    }
+}
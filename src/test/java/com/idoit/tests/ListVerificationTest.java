@@ -0,0 +1,43 @@
+package com.idoit.tests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.openqa.selenium.WebDriver;
+
+import com.idoit.config.RunOptions;
+import com.idoit.data.ObjectData;
+import com.idoit.data.TestDataGenerator;
+import com.idoit.navigation.NavigationMode;
+import com.idoit.navigation.NewObjectNavigator;
+import com.idoit.pages.NewObjectPage;
+import com.idoit.runner.StepStats;
+import com.idoit.verify.ListVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that created Clients show up in the Client list with their values.
+ */
+@ExtendWith(BrowserSessionExtension.class)
+class ListVerificationTest {
+    private static final int OBJECTS = 3;
+
+    @Test
+    @ResourceLock(value = IdoitResources.CLIENT_LIST, mode = ResourceAccessMode.READ_WRITE)
+    void createdClientsMatchTheList(WebDriver driver, StepStats stepStats) {
+        NewObjectNavigator navigator = new NewObjectNavigator(NavigationMode.DIRECT, stepStats);
+        ListVerifier listVerifier = new ListVerifier("Hardware", "Client");
+        for (int i = 0; i < OBJECTS; i++) {
+            NewObjectPage newObjectPage = navigator.openNewClientForm(driver)
+                    .withFillMode(NewObjectPage.FillMode.valueOf(RunOptions.FILL_MODE))
+                    .createNewObject(ObjectData.random(TestDataGenerator.uniqueTitle("verify")));
+            listVerifier.record(newObjectPage.getLastSubmitted());
+        }
+
+        int problems = stepStats.time("verifyList", () -> listVerifier.verify(driver));
+
+        assertEquals(0, problems, "Created Clients missing from the list or showing other values");
+    }
+}
@@ -0,0 +1,50 @@
+package com.idoit.tests;
+
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+import com.idoit.config.RunOptions;
+import com.idoit.data.TestDataGenerator;
+import com.idoit.navigation.NavigationMode;
+import com.idoit.navigation.NewObjectNavigator;
+import com.idoit.pages.NewObjectPage;
+import com.idoit.pages.ObjectPage;
+import com.idoit.runner.StepStats;
+import com.idoit.workflow.StepPlan;
+import com.idoit.workflow.WorkflowDefinition;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Creates one object with every workflow of the workflow file, the workflows running side by side.
+ */
+@ExtendWith(BrowserSessionExtension.class)
+class WorkflowTest {
+
+    static Stream<Named<WorkflowDefinition>> workflows() throws IOException {
+        return WorkflowDefinition.load(RunOptions.WORKFLOW_FILE).stream()
+                .map(workflow -> Named.of(workflow.getName(), workflow));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("workflows")
+    // The default workflows include Clients
+    @ResourceLock(value = IdoitResources.CLIENT_LIST, mode = ResourceAccessMode.READ)
+    void workflowCreatesObject(WorkflowDefinition workflow, WebDriver driver, StepStats stepStats) {
+        StepPlan plan = StepPlan.compile(workflow, NewObjectPage.FillMode.valueOf(RunOptions.FILL_MODE));
+        String title = TestDataGenerator.uniqueTitle(workflow.getName());
+
+        plan.run(driver, new NewObjectNavigator(NavigationMode.DIRECT, stepStats), title, TestDataGenerator.current());
+
+        assertTrue(new ObjectPage(driver).getVisibleText().contains(title),
+                "Saved " + workflow.getObjectType() + " does not show its title " + title);
+    }
+}
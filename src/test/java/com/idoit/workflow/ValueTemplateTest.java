@@ -0,0 +1,64 @@
+package com.idoit.workflow;
+
+import org.junit.jupiter.api.Test;
+
+import com.idoit.data.TestDataGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parsing and filling in the value templates of workflows.
+ */
+class ValueTemplateTest {
+
+    @Test
+    void literalIsKept() {
+        assertEquals("Rack 4, row B", ValueTemplate.parse("Rack 4, row B").render("title", TestDataGenerator.forObject(1)));
+        assertEquals("", ValueTemplate.parse("").render("title", TestDataGenerator.forObject(1)));
+    }
+
+    @Test
+    void titleIsFilledIn() {
+        ValueTemplate template = ValueTemplate.parse("Client {title} of {title}");
+
+        assertEquals("Client pc_1 of pc_1", template.render("pc_1", TestDataGenerator.forObject(1)));
+    }
+
+    @Test
+    void generatedValuesFollowTheirPatterns() {
+        TestDataGenerator generator = TestDataGenerator.forObject(7);
+
+        assertTrue(ValueTemplate.parse("{alphanumeric:12}").render("t", generator).matches("[A-Za-z0-9]{12}"));
+        assertTrue(ValueTemplate.parse("SN-{pattern:AA-####}").render("t", generator).matches("SN-[A-Z]{2}-[0-9]{4}"));
+        assertTrue(ValueTemplate.parse("{serial}|{serviceTag}|{productId}|{firmware}").render("t", generator)
+                .matches("[^|{}]+\\|[^|{}]+\\|[^|{}]+\\|[^|{}]+"));
+    }
+
+    @Test
+    void sameObjectGetsTheSameValues() {
+        ValueTemplate template = ValueTemplate.parse("{title}-{serial}-{alphanumeric:8}");
+
+        assertEquals(template.render("t", TestDataGenerator.forObject(42)),
+                template.render("t", TestDataGenerator.forObject(42)));
+    }
+
+    @Test
+    void unclosedBraceIsLiteral() {
+        assertEquals("a {title", ValueTemplate.parse("a {title").render("t", TestDataGenerator.forObject(1)));
+    }
+
+    @Test
+    void unknownPlaceholderFailsWhenParsed() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ValueTemplate.parse("{title}-{hostname}"));
+
+        assertTrue(e.getMessage().contains("{hostname}"), e.getMessage());
+    }
+
+    @Test
+    void sourceIsKept() {
+        assertEquals("{title} {serial}", ValueTemplate.parse("{title} {serial}").toString());
+    }
+}